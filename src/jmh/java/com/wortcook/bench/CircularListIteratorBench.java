@@ -0,0 +1,72 @@
+package com.wortcook.bench;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.wortcook.util.CircularListIterator;
+import com.wortcook.util.CircularListIterator.Backing;
+
+/**
+ * Single-threaded cost of moving a CircularListIteratorImpl and of changing the list under it.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CircularListIteratorBench {
+
+    @Param({"16", "1024", "65536"})
+    public int size;
+
+    @Param({"ARRAY", "GAP_BUFFER"})
+    public Backing backing;
+
+    private CircularListIterator<Integer> iterator;
+
+    @Setup(Level.Iteration)
+    public void setup() {
+        final List<Integer> elements = new ArrayList<>(size);
+        for(int i = 0; i < size; i++) {
+            elements.add(i);
+        }
+        iterator = new CircularListIterator.Builder<Integer>().using(elements).withBacking(backing).build();
+    }
+
+    @Benchmark
+    public Integer next() {
+        return iterator.next();
+    }
+
+    @Benchmark
+    public Integer previous() {
+        return iterator.previous();
+    }
+
+    /**
+     * Inserts after the current element and removes it again so the list size stays at the parameter.
+     */
+    @Benchmark
+    public Integer addNextRemove() {
+        final Integer current = iterator.next();
+        iterator.addNext(current);
+        iterator.next();
+        iterator.remove();
+        return current;
+    }
+}
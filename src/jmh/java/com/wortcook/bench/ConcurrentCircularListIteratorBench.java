@@ -0,0 +1,135 @@
+package com.wortcook.bench;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.wortcook.util.CircularListIterator;
+import com.wortcook.util.CircularListIterator.Concurrency;
+
+/**
+ * Throughput of next() on one iterator shared by 1 to 64 threads, for each of the thread-safe flavours, and of the
+ * small reads when readers far outnumber the thread moving the iterator.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ConcurrentCircularListIteratorBench {
+
+    @Param({"LOCKING", "LOCK_FREE", "SNAPSHOT", "OPTIMISTIC"})
+    public Concurrency concurrency;
+
+    @Param({"1024"})
+    public int size;
+
+    private static final int BATCH = 64;
+
+    private CircularListIterator<Integer> iterator;
+
+    @State(Scope.Thread)
+    public static class Batch {
+        final Integer[] elements = new Integer[BATCH];
+    }
+
+    @Setup(Level.Iteration)
+    public void setup() {
+        final List<Integer> elements = new ArrayList<>(size);
+        for(int i = 0; i < size; i++) {
+            elements.add(i);
+        }
+        iterator = new CircularListIterator.Builder<Integer>().using(elements).withConcurrency(concurrency).build();
+        iterator.next(); //so that at() has a current element
+    }
+
+    @Benchmark
+    @Threads(1)
+    public Integer next1() {
+        return iterator.next();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Integer next4() {
+        return iterator.next();
+    }
+
+    @Benchmark
+    @Threads(16)
+    public Integer next16() {
+        return iterator.next();
+    }
+
+    @Benchmark
+    @Threads(64)
+    public Integer next64() {
+        return iterator.next();
+    }
+
+    /**
+     * Sixteen threads claiming 64 elements at a time, compare against next16 scaled by the batch size.
+     */
+    @Benchmark
+    @Threads(16)
+    @OperationsPerInvocation(BATCH)
+    public int nextBatch16(final Batch batch) {
+        return iterator.nextBatch(batch.elements, BATCH);
+    }
+
+    /**
+     * Four threads calling next() while a fifth keeps inserting after its current element and removing it again.
+     */
+    @Benchmark
+    @Group("churn")
+    @GroupThreads(4)
+    public Integer churnNext() {
+        return iterator.next();
+    }
+
+    @Benchmark
+    @Group("churn")
+    @GroupThreads(1)
+    public Integer churnAddNextRemove() {
+        final Integer current = iterator.next();
+        iterator.addNext(current);
+        iterator.next();
+        iterator.remove();
+        return current;
+    }
+
+    /**
+     * Fifteen threads reading the current element while one thread moves the iterator.
+     */
+    @Benchmark
+    @Group("readMostly")
+    @GroupThreads(15)
+    public Integer readMostlyAt() {
+        return iterator.at();
+    }
+
+    @Benchmark
+    @Group("readMostly")
+    @GroupThreads(1)
+    public Integer readMostlyNext() {
+        return iterator.next();
+    }
+}
@@ -0,0 +1,125 @@
+package com.wortcook.bench;
+
+import static com.wortcook.Wort.withLock;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.wortcook.util.AtomicCounter;
+import com.wortcook.util.Counter;
+import com.wortcook.util.IntCounter;
+import com.wortcook.util.LongCounter;
+import com.wortcook.util.StripedCounter;
+
+/**
+ * Cost of Counter.count() followed by a limit check, for the plain counters on one thread and for the thread-safe
+ * counters shared by several threads.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CounterBench {
+
+    /**
+     * The anonymous counter Counter.of(int) returned before IntCounter, kept as the boxed baseline.
+     */
+    static Counter<Integer> boxed(final int theLimit) {
+        return new Counter<Integer>() {
+            private int count = 0;
+            private int limit = theLimit;
+
+            @Override
+            public Integer getCount() {
+                return count;
+            }
+
+            @Override
+            public Integer getLimit() {
+                return limit;
+            }
+
+            @Override
+            public void resetCount() {
+                count = 0;
+            }
+
+            @Override
+            public void count() {
+                count++;
+            }
+        };
+    }
+
+    @State(Scope.Thread)
+    public static class Local {
+        final Counter<Integer> boxed = boxed(Integer.MAX_VALUE);
+        final IntCounter ints = Counter.of(Integer.MAX_VALUE);
+        final LongCounter longs = Counter.of(Long.MAX_VALUE);
+    }
+
+    @State(Scope.Benchmark)
+    public static class Shared {
+        final ReentrantLock lock = new ReentrantLock();
+        final LongCounter locked = Counter.of(Long.MAX_VALUE);
+        final AtomicCounter atomic = Counter.atomic(Long.MAX_VALUE);
+        final StripedCounter striped = Counter.concurrent(Long.MAX_VALUE);
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+    // Single thread
+    ///////////////////////////////////////////////////////////////////////////
+    @Benchmark
+    public boolean boxed(final Local state) {
+        state.boxed.count();
+        return state.boxed.isUnder();
+    }
+
+    @Benchmark
+    public boolean intCounter(final Local state) {
+        state.ints.count();
+        return state.ints.isUnder();
+    }
+
+    @Benchmark
+    public boolean longCounter(final Local state) {
+        state.longs.count();
+        return state.longs.isUnder();
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+    // Shared by 4 threads
+    ///////////////////////////////////////////////////////////////////////////
+    @Benchmark
+    @Threads(4)
+    public boolean locked(final Shared state) {
+        withLock(state.lock, state.locked::count);
+        return state.locked.isUnder();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public boolean atomic(final Shared state) {
+        state.atomic.count();
+        return state.atomic.isUnder();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public boolean striped(final Shared state) {
+        state.striped.count();
+        return state.striped.isUnder();
+    }
+}
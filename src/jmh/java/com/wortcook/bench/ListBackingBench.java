@@ -0,0 +1,82 @@
+package com.wortcook.bench;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.wortcook.util.CircularListIterator;
+import com.wortcook.util.CircularListIterator.Backing;
+
+/**
+ * Where ChunkedList overtakes ArrayList as the backing of an iterator. Each operation splices a run of elements in
+ * after the cursor and takes it out again, so the list stays at the parameter size, or reads the list through.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ListBackingBench {
+
+    @Param({"1000", "10000", "100000", "1000000", "4000000"})
+    public int size;
+
+    @Param({"ARRAY", "CHUNKED"})
+    public Backing backing;
+
+    @Param({"1", "64"})
+    public int run;
+
+    private CircularListIterator<Integer> iterator;
+    private List<Integer> batch;
+
+    @Setup(Level.Iteration)
+    public void setup() {
+        final List<Integer> elements = new ArrayList<>(size);
+        for(int i = 0; i < size; i++) {
+            elements.add(i);
+        }
+        iterator = new CircularListIterator.Builder<Integer>().using(elements).withBacking(backing).startingAt(size / 3).build();
+        final Integer[] values = new Integer[run];
+        Arrays.fill(values, -1);
+        batch = Arrays.asList(values);
+    }
+
+    @Benchmark
+    public Integer addAllNextRemove() {
+        final Integer current = iterator.next();
+        iterator.addAllNext(batch);
+        final List<Integer> elements = iterator.elements();
+        final int from = iterator.nextIndex();
+        elements.subList(from, from + run).clear();
+        //walk the cursor about the ring so that inserts do not always land on the same spot
+        for(int i = 0; i < 7; i++) {
+            iterator.next();
+        }
+        return current;
+    }
+
+    @Benchmark
+    public long scan() {
+        long sum = 0;
+        for(Integer value : iterator.elements()) {
+            sum += value;
+        }
+        return sum;
+    }
+}
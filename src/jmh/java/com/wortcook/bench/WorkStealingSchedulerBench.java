@@ -0,0 +1,100 @@
+package com.wortcook.bench;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.wortcook.util.WorkStealingScheduler;
+
+/**
+ * Time per job for a batch of jobs on the ring based WorkStealingScheduler and on a ForkJoinPool with as many
+ * workers. UNIFORM submits equal jobs from outside the pool. SKEWED has one job fan the whole batch out from a single
+ * worker, every 16th job costing 32 times the rest, so the other workers only get work by stealing.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class WorkStealingSchedulerBench {
+
+    public enum Scheduler { RINGS, FORK_JOIN }
+
+    public enum Workload { UNIFORM, SKEWED }
+
+    @Param({"RINGS", "FORK_JOIN"})
+    public Scheduler scheduler;
+
+    @Param({"UNIFORM", "SKEWED"})
+    public Workload workload;
+
+    @Param({"4"})
+    public int workers;
+
+    private static final int JOBS = 4096;
+    private static final int TOKENS = 200;
+
+    private Executor executor;
+    private Runnable shutdown;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        if (Scheduler.RINGS == scheduler) {
+            final WorkStealingScheduler rings = WorkStealingScheduler.builder().withWorkers(workers).build();
+            executor = rings;
+            shutdown = rings::shutdown;
+        } else {
+            final ForkJoinPool pool = new ForkJoinPool(workers);
+            executor = pool;
+            shutdown = pool::shutdown;
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        shutdown.run();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(JOBS)
+    public void batch() throws InterruptedException {
+        final CountDownLatch done = new CountDownLatch(JOBS);
+        if (Workload.UNIFORM == workload) {
+            for (int i = 0; i < JOBS; i++) {
+                executor.execute(() -> {
+                    Blackhole.consumeCPU(TOKENS);
+                    done.countDown();
+                });
+            }
+        } else {
+            executor.execute(() -> {
+                for (int i = 0; i < JOBS; i++) {
+                    final long tokens = (0 == i % 16) ? TOKENS * 32 : TOKENS;
+                    executor.execute(() -> {
+                        Blackhole.consumeCPU(tokens);
+                        done.countDown();
+                    });
+                }
+            });
+        }
+        done.await();
+    }
+}
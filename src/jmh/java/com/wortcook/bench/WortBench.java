@@ -0,0 +1,41 @@
+package com.wortcook.bench;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.wortcook.Wort;
+
+/**
+ * Cost of Wort.tryOptional when the supplier returns and when it throws.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class WortBench {
+
+    public String number = "42";
+    public String notANumber = "forty-two";
+
+    @Benchmark
+    public Optional<Integer> tryOptionalSuccess() {
+        return Wort.tryOptional(() -> Integer.valueOf(number));
+    }
+
+    @Benchmark
+    public Optional<Integer> tryOptionalFailure() {
+        return Wort.tryOptional(() -> Integer.valueOf(notANumber));
+    }
+}
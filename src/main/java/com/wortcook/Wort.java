@@ -2,6 +2,7 @@ package com.wortcook;
 
 import java.util.Optional;
 import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.StampedLock;
 import java.util.function.BiFunction;
 import java.util.function.Function;
 import java.util.function.Supplier;
@@ -70,4 +71,26 @@ public class Wort {
             lock.unlock();
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Runs the supplier under an optimistic read stamp and returns its result if no write came in between, otherwise
+     * runs it again holding the read lock. The supplier may see the state half way through a write so it must only
+     * read; an exception it throws is rethrown only if the stamp is still valid.
+     */
+    public static <T> T withOptimisticRead(final StampedLock lock, final Supplier<T> supplier) {
+        final long stamp = lock.tryOptimisticRead();
+        if (0 != stamp) {
+            try {
+                final T result = supplier.get();
+                if (lock.validate(stamp)) {
+                    return result;
+                }
+            } catch (RuntimeException e) {
+                if (lock.validate(stamp)) {
+                    throw e;
+                }
+            }
+        }
+        return withLock(lock.asReadLock(), supplier);
+    }
+}
@@ -0,0 +1,92 @@
+package com.wortcook.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * A thread-safe Counter with an exact count. Every increment is a compare-and-set on a single AtomicLong, so this is
+ * slower than StripedCounter under heavy contention but the count and the limit checks are always exact. tryCount()
+ * only counts while under the limit which makes it usable as a permit counter: exactly limit calls will succeed
+ * no matter how many threads race for them.
+ */
+public class AtomicCounter implements Counter<Long>, LongSupplier {
+    private final AtomicLong count = new AtomicLong();
+    private final long limit;
+
+    /**
+     * Creates a counter starting at 0 that counts up to the given limit.
+     * @param limit - The limit of the counter.
+     */
+    public AtomicCounter(final long limit) {
+        this.limit = limit;
+    }
+
+    @Override
+    public void count() {
+        count.incrementAndGet();
+    }
+
+    /**
+     * Counts only if the count is under the limit.
+     * @return true if the count was incremented, false if the limit was already reached.
+     */
+    public boolean tryCount() {
+        long current = count.get();
+        while (current < limit) {
+            if (count.compareAndSet(current, current + 1)) {
+                return true;
+            }
+            current = count.get();
+        }
+        return false;
+    }
+
+    @Override
+    public long getAsLong() {
+        return count.get();
+    }
+
+    public long getLimitAsLong() {
+        return limit;
+    }
+
+    @Override
+    public Long getCount() {
+        return count.get();
+    }
+
+    @Override
+    public Long getLimit() {
+        return limit;
+    }
+
+    @Override
+    public void resetCount() {
+        count.set(0);
+    }
+
+    @Override
+    public boolean isUnder() {
+        return count.get() < limit;
+    }
+
+    @Override
+    public boolean isOver() {
+        return count.get() > limit;
+    }
+
+    @Override
+    public boolean isAt() {
+        return count.get() == limit;
+    }
+
+    @Override
+    public boolean isAtOrUnder() {
+        return count.get() <= limit;
+    }
+
+    @Override
+    public boolean isAtOrOver() {
+        return count.get() >= limit;
+    }
+}
@@ -0,0 +1,47 @@
+package com.wortcook.util;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A thread-safe CircularListIterator that consumers can wait on rather than poll while it has nothing to hand out,
+ * e.g. a ring of workers that starts empty and is filled as they register. A waiting thread parks until an element is
+ * added or the step count is reset, it does not spin.
+ * <br><br>
+ * The ring is not a queue, elements stay in the list after they are handed out. Once the ring has an element every
+ * waiting consumer is woken and handed the next element in turn.
+ */
+public interface BlockingCircularIterator<T> extends CircularListIterator<T> {
+
+    /**
+     * Returns the next element, waiting while there is none, i.e. while the list is empty or the maximum number of
+     * steps has been reached.
+     * @return The next element in the list.
+     * @throws InterruptedException - If the thread is interrupted while waiting.
+     */
+    T take() throws InterruptedException;
+
+    /**
+     * Returns the next element, waiting up to the passed time while there is none.
+     * @param timeout - How long to wait.
+     * @param unit - The unit of the timeout.
+     * @return The next element in the list, or null if there was none before the timeout.
+     * @throws InterruptedException - If the thread is interrupted while waiting.
+     */
+    T poll(long timeout, TimeUnit unit) throws InterruptedException;
+
+    /**
+     * Returns a future completed with the next element, at once if there is one, otherwise when there is. Futures are
+     * completed in the order they were asked for and outside the lock, so actions chained on them never run while it
+     * is held. A future cancelled while it waits is passed over and takes no step.
+     * @return A future of the next element in the list.
+     */
+    CompletableFuture<T> nextAsync();
+
+    /**
+     * Adds the element to the end of the list. Unlike add() and addNext() this works on an iterator that has not been
+     * moved yet, so it is the way to fill a ring that starts out empty.
+     * @param t - The element to add.
+     */
+    void offer(T t);
+}
@@ -0,0 +1,361 @@
+package com.wortcook.util;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.RandomAccess;
+
+/**
+ * A List made of fixed size chunks held in a tree indexed by position, in the manner of a rope. Positional get, set,
+ * insert and remove are O(log n) plus a copy within one chunk, and inserting or removing a run of m elements is
+ * O(log n + m) however far from the end it lands, where an ArrayList has to shift the whole tail.
+ * The chunk of the last lookup is remembered so walking the list in order reads each chunk's array straight through.
+ * <br><br>
+ * The tree is an implicit treap: each node holds one chunk and the number of elements under it, and random node
+ * priorities keep it balanced without any rotations. Chunks that become empty are dropped but chunks are not merged
+ * back together, so a list that shrinks a lot after growing can hold partly filled chunks.
+ * The list is not thread-safe.
+ * @param <T> - The type of elements in the list.
+ */
+public class ChunkedList<T> extends AbstractList<T> implements RandomAccess {
+    private static final int DEFAULT_CHUNK_SIZE = 512;
+
+    private static final class Chunk {
+        final Object[] items;
+        final int priority;
+        int count;
+        int total; //elements in this chunk and both subtrees
+        Chunk left;
+        Chunk right;
+
+        Chunk(final int capacity, final int priority) {
+            this.items = new Object[capacity];
+            this.priority = priority;
+        }
+    }
+
+    private final int chunkSize;
+    private Chunk root = null;
+    private int seed = 0x9E3779B9;
+
+    //the chunk found by the last lookup, valid while modCount is unchanged
+    private Chunk finger = null;
+    private int fingerStart = 0;
+    private int fingerMod = -1;
+
+    //outputs of split, kept as fields so that splitting does not allocate
+    private Chunk splitLeft;
+    private Chunk splitRight;
+
+    public ChunkedList() {
+        this(DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * @param chunkSize - The number of elements each chunk can hold. Larger chunks make lookups cheaper and inserts
+     *                    dearer.
+     */
+    public ChunkedList(final int chunkSize) {
+        assert chunkSize > 1 : "Chunk size must be greater than 1.";
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Creates a list holding the passed elements in the order of the collection's iterator.
+     * @param elements - The elements to copy into the list.
+     */
+    public ChunkedList(final Collection<? extends T> elements) {
+        this(DEFAULT_CHUNK_SIZE);
+        assert null != elements : "Elements cannot be null.";
+        addAll(elements);
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+    // List methods
+    ///////////////////////////////////////////////////////////////////////////
+    @Override
+    public int size() {
+        return total(root);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T get(final int index) {
+        checkIndex(index);
+        final Chunk chunk = chunkAt(index);
+        return (T) chunk.items[index - fingerStart];
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T set(final int index, final T element) {
+        checkIndex(index);
+        final Chunk chunk = chunkAt(index);
+        final T old = (T) chunk.items[index - fingerStart];
+        chunk.items[index - fingerStart] = element;
+        return old;
+    }
+
+    @Override
+    public void add(final int index, final T element) {
+        checkPosition(index);
+        modCount++;
+        if (null == root) {
+            root = newChunk();
+        } else {
+            //cut a full chunk in two where it is, the tree can change shape so an index on the boundary between two
+            //chunks may then lead to the neighbour, which could be full as well
+            while (chunkFor(index).count == chunkSize) {
+                split(root, fingerStart + chunkSize / 2);
+                root = merge(splitLeft, splitRight);
+            }
+        }
+        root = insert(root, index, element);
+    }
+
+    @Override
+    public boolean add(final T element) {
+        add(size(), element);
+        return true;
+    }
+
+    /**
+     * Inserts the elements at the passed index. Elements that do not fit in the chunk at the index are packed into new
+     * chunks which are joined into the tree at the index, so the rest of the list is not copied.
+     */
+    @Override
+    public boolean addAll(final int index, final Collection<? extends T> elements) {
+        checkPosition(index);
+        final Object[] items = elements.toArray();
+        if (0 == items.length) {
+            return false;
+        }
+        modCount++;
+
+        Chunk run = null;
+        //fill new chunks three quarters full so inserts among them do not have to cut them straight away
+        final int fill = Math.max(1, chunkSize - chunkSize / 4);
+        for (int from = 0; from < items.length; from += fill) {
+            final Chunk chunk = newChunk();
+            chunk.count = Math.min(fill, items.length - from);
+            chunk.total = chunk.count;
+            System.arraycopy(items, from, chunk.items, 0, chunk.count);
+            run = merge(run, chunk);
+        }
+
+        split(root, index);
+        final Chunk after = splitRight;
+        root = merge(merge(splitLeft, run), after);
+        return true;
+    }
+
+    @Override
+    public boolean addAll(final Collection<? extends T> elements) {
+        return addAll(size(), elements);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T remove(final int index) {
+        checkIndex(index);
+        modCount++;
+        final Chunk chunk = chunkAt(index);
+        final T old = (T) chunk.items[index - fingerStart];
+        root = remove(root, index);
+        return old;
+    }
+
+    /**
+     * Cuts the range out of the tree in O(log n), the chunks in it are dropped rather than emptied one at a time.
+     */
+    @Override
+    protected void removeRange(final int fromIndex, final int toIndex) {
+        if (fromIndex >= toIndex) {
+            return;
+        }
+        modCount++;
+        split(root, toIndex);
+        final Chunk after = splitRight;
+        split(splitLeft, fromIndex);
+        root = merge(splitLeft, after);
+    }
+
+    @Override
+    public void clear() {
+        modCount++;
+        root = null;
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+    // Tree
+    ///////////////////////////////////////////////////////////////////////////
+    private static int total(final Chunk chunk) {
+        return (null == chunk) ? 0 : chunk.total;
+    }
+
+    private static void update(final Chunk chunk) {
+        chunk.total = total(chunk.left) + chunk.count + total(chunk.right);
+    }
+
+    private Chunk newChunk() {
+        //xorshift, the priorities only need to be spread out, not unpredictable
+        seed ^= seed << 13;
+        seed ^= seed >>> 17;
+        seed ^= seed << 5;
+        return new Chunk(chunkSize, seed);
+    }
+
+    /**
+     * Finds the chunk holding the element at the passed index and leaves its first index in fingerStart.
+     */
+    private Chunk chunkAt(int index) {
+        if (fingerMod == modCount && index >= fingerStart && index < fingerStart + finger.count) {
+            return finger;
+        }
+        final int absolute = index;
+        Chunk chunk = root;
+        while (true) {
+            final int leftTotal = total(chunk.left);
+            if (index < leftTotal) {
+                chunk = chunk.left;
+            } else if (index < leftTotal + chunk.count) {
+                finger = chunk;
+                fingerStart = absolute - (index - leftTotal);
+                fingerMod = modCount;
+                return chunk;
+            } else {
+                index -= leftTotal + chunk.count;
+                chunk = chunk.right;
+            }
+        }
+    }
+
+    /**
+     * Finds the chunk insert() will put an element at the passed index into and leaves its first index in fingerStart.
+     * This follows the same path as insert(), where an index falls between two chunks it takes whichever is nearer
+     * the root.
+     */
+    private Chunk chunkFor(int index) {
+        final int absolute = index;
+        Chunk chunk = root;
+        while (true) {
+            final int leftTotal = total(chunk.left);
+            if (index < leftTotal) {
+                chunk = chunk.left;
+            } else if (index <= leftTotal + chunk.count) {
+                fingerStart = absolute - (index - leftTotal);
+                return chunk;
+            } else {
+                index -= leftTotal + chunk.count;
+                chunk = chunk.right;
+            }
+        }
+    }
+
+    /**
+     * Inserts the element into the chunk chunkFor() picks, which must have room for it.
+     */
+    private Chunk insert(final Chunk chunk, final int index, final Object element) {
+        final int leftTotal = total(chunk.left);
+        if (index < leftTotal) {
+            chunk.left = insert(chunk.left, index, element);
+        } else if (index <= leftTotal + chunk.count) {
+            final int at = index - leftTotal;
+            System.arraycopy(chunk.items, at, chunk.items, at + 1, chunk.count - at);
+            chunk.items[at] = element;
+            chunk.count++;
+        } else {
+            chunk.right = insert(chunk.right, index - leftTotal - chunk.count, element);
+        }
+        chunk.total++;
+        return chunk;
+    }
+
+    private Chunk remove(final Chunk chunk, final int index) {
+        final int leftTotal = total(chunk.left);
+        if (index < leftTotal) {
+            chunk.left = remove(chunk.left, index);
+        } else if (index < leftTotal + chunk.count) {
+            final int at = index - leftTotal;
+            System.arraycopy(chunk.items, at + 1, chunk.items, at, chunk.count - at - 1);
+            chunk.items[--chunk.count] = null;
+            if (0 == chunk.count) {
+                return merge(chunk.left, chunk.right);
+            }
+        } else {
+            chunk.right = remove(chunk.right, index - leftTotal - chunk.count);
+        }
+        chunk.total--;
+        return chunk;
+    }
+
+    /**
+     * Joins two trees, every element of the left tree coming before every element of the right one.
+     */
+    private static Chunk merge(final Chunk left, final Chunk right) {
+        if (null == left) {
+            return right;
+        }
+        if (null == right) {
+            return left;
+        }
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            update(left);
+            return left;
+        }
+        right.left = merge(left, right.left);
+        update(right);
+        return right;
+    }
+
+    /**
+     * Splits the tree into the elements before the passed index, left in splitLeft, and the rest, left in splitRight.
+     * A chunk the index falls inside of is cut in two.
+     */
+    private void split(final Chunk chunk, final int index) {
+        if (null == chunk) {
+            splitLeft = null;
+            splitRight = null;
+            return;
+        }
+        final int leftTotal = total(chunk.left);
+        if (index <= leftTotal) {
+            split(chunk.left, index);
+            chunk.left = splitRight;
+            update(chunk);
+            splitRight = chunk;
+        } else if (index >= leftTotal + chunk.count) {
+            split(chunk.right, index - leftTotal - chunk.count);
+            chunk.right = splitLeft;
+            update(chunk);
+            splitLeft = chunk;
+        } else {
+            final int at = index - leftTotal;
+            final Chunk tail = newChunk();
+            tail.count = chunk.count - at;
+            tail.total = tail.count;
+            System.arraycopy(chunk.items, at, tail.items, 0, tail.count);
+            Arrays.fill(chunk.items, at, chunk.count, null);
+            chunk.count = at;
+
+            final Chunk right = chunk.right;
+            chunk.right = null;
+            update(chunk);
+            splitLeft = chunk;
+            splitRight = merge(tail, right);
+        }
+    }
+
+    private void checkIndex(final int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+        }
+    }
+
+    private void checkPosition(final int index) {
+        if (index < 0 || index > size()) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+        }
+    }
+}
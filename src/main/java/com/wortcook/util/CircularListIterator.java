@@ -2,12 +2,24 @@ package com.wortcook.util;
 
 import java.util.List;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.IntFunction;
+import java.util.function.Predicate;
+import java.util.function.ToIntFunction;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import com.wortcook.util.impl.CircularListIteratorImpl;
+import com.wortcook.util.impl.CircularListSpliterator;
 import com.wortcook.util.impl.ConcurrentCircularListIteratorImpl;
+import com.wortcook.util.impl.LockFreeCircularListIteratorImpl;
+import com.wortcook.util.impl.OptimisticCircularListIteratorImpl;
+import com.wortcook.util.impl.SnapshotCircularListIteratorImpl;
 
 /**
  * CircularListIterator is a ListIterator that wraps around a List and allows for circular iteration.
@@ -41,6 +53,140 @@ public interface CircularListIterator<T> extends PositionalListIterator<T>, Coun
      */
     public boolean hasNextNoWrap();
 
+    /**
+     * Moves the iterator forward up to n times and writes the elements passed over into dest, starting at index 0.
+     * The positions are consecutive, wrapping around the end of the list as next() does, and fewer than n are returned
+     * once the maximum number of steps stops the iterator. Implementations claim the whole batch with one update of
+     * the step count and, where thread-safe, with one acquisition of their lock or one atomic operation.
+     * @param dest - The array to write the elements to.
+     * @param n - The number of elements wanted, no more than the length of dest.
+     * @return The number of elements written to dest.
+     */
+    default int nextBatch(final T[] dest, final int n) {
+        assert null != dest : "Destination cannot be null.";
+        assert n >= 0 && n <= dest.length : "Batch size must be between 0 and the length of the destination.";
+        int claimed = 0;
+        while (claimed < n && hasNext()) {
+            dest[claimed++] = next();
+        }
+        return claimed;
+    }
+
+    /**
+     * Moves the iterator forward up to n times and passes the elements passed over to the consumer, the same positions
+     * nextBatch(T[], int) would return. The consumer should not move or change the iterator.
+     * @param consumer - Receives the elements in order.
+     * @param n - The number of elements wanted.
+     * @return The number of elements passed to the consumer.
+     */
+    default int drainTo(final Consumer<? super T> consumer, final int n) {
+        assert null != consumer : "Consumer cannot be null.";
+        assert n >= 0 : "Batch size must be greater than or equal to 0.";
+        int claimed = 0;
+        while (claimed < n && hasNext()) {
+            consumer.accept(next());
+            claimed++;
+        }
+        return claimed;
+    }
+
+    /**
+     * Moves the iterator forward as if next() were called the passed number of times, stopping where next() would
+     * first throw because the maximum number of steps is reached. The implementations work out the new position and
+     * step count arithmetically, so the cost does not depend on the number of steps.
+     * @param steps - The number of steps to move forward.
+     * @return The number of steps taken, less than steps if the iterator stopped.
+     */
+    default long advance(final long steps) {
+        assert steps >= 0 : "Steps must be greater than or equal to 0.";
+        long taken = 0;
+        while (taken < steps && hasNext()) {
+            next();
+            taken++;
+        }
+        return taken;
+    }
+
+    /**
+     * Moves the iterator back as if previous() were called the passed number of times, stopping where previous()
+     * would first throw because the maximum number of steps is reached.
+     * @param steps - The number of steps to move back.
+     * @return The number of steps taken, less than steps if the iterator stopped.
+     */
+    default long rewind(final long steps) {
+        assert steps >= 0 : "Steps must be greater than or equal to 0.";
+        long taken = 0;
+        while (taken < steps && hasPrevious()) {
+            previous();
+            taken++;
+        }
+        return taken;
+    }
+
+    /**
+     * Puts the iterator where it would be after a reset() followed by the passed number of full passes over the list,
+     * so that next() returns the starting element and the step count is epoch times the size of the list. As with
+     * advance(long) the iterator stops early if that goes past the maximum number of steps.
+     * @param epoch - The number of full passes to skip.
+     */
+    default void seekEpoch(final int epoch) {
+        assert epoch >= 0 : "Epoch must be greater than or equal to 0.";
+        reset();
+        advance((long) epoch * elements().size());
+    }
+
+    /**
+     * The thread-safe flavours a Builder can produce, see Builder.withConcurrency(Concurrency).
+     */
+    public enum Concurrency {
+        /**
+         * Every call is guarded by a ReentrantReadWriteLock, see ConcurrentCircularListIteratorImpl.
+         */
+        LOCKING,
+
+        /**
+         * next() claims the next slot with a single atomic fetch-and-add and the elements are held in a copy-on-write
+         * snapshot so changes never block readers, see LockFreeCircularListIteratorImpl.
+         */
+        LOCK_FREE,
+
+        /**
+         * The elements and the position of the iterator are one immutable snapshot swapped in with compare-and-set, so
+         * no move ever blocks or takes a lock and changes copy the elements, see SnapshotCircularListIteratorImpl.
+         * Meant for lists that are read far more often than they change.
+         */
+        SNAPSHOT,
+
+        /**
+         * Moves and changes are guarded by a StampedLock's write lock and the small reads, at(), hasNext(),
+         * nextIndex(), elements() and the like, are optimistic, only taking the read lock when a write came in
+         * between, see OptimisticCircularListIteratorImpl.
+         */
+        OPTIMISTIC
+    }
+
+    /**
+     * The list implementations a Builder can copy the elements into, see Builder.withBacking(Backing).
+     */
+    public enum Backing {
+        /**
+         * An ArrayList, inserts and removes shift the rest of the list.
+         */
+        ARRAY,
+
+        /**
+         * A GapList, inserts and removes at or next to the last edited position are amortised O(1) so edits that
+         * follow the iterator's cursor do not shift the rest of the list.
+         */
+        GAP_BUFFER,
+
+        /**
+         * A ChunkedList, positional reads and writes are O(log n) and inserting a run of elements copies only the
+         * run, which pays off over an ArrayList for very large lists.
+         */
+        CHUNKED
+    }
+
 
     /**
      * Builder class for CircularListIterator. This allows for a more fluent way to create a CircularListIterator.
@@ -48,11 +194,13 @@ public interface CircularListIterator<T> extends PositionalListIterator<T>, Coun
      * @param <T> - The type of elements in the list. 
      */
     public static class Builder<T>{
-        private List<T> elementsList   = Collections.<T>emptyList();
-        private int     startIdx       = 0;
-        private int     maxSteps       = Integer.MAX_VALUE;
-        private int     maxEpochs      = -1;
-        private boolean isConcurrent   = false;
+        private List<T>     elementsList   = Collections.<T>emptyList();
+        private int         startIdx       = 0;
+        private int         maxSteps       = Integer.MAX_VALUE;
+        private int         maxEpochs      = -1;
+        private Concurrency concurrency    = null;
+        private Backing     backing        = null;
+        private boolean     isView         = false;
 
         /*
          * Sets the elements to be iterated over. The iterator returned will be over a List copy of the passed elements
@@ -64,6 +212,7 @@ public interface CircularListIterator<T> extends PositionalListIterator<T>, Coun
         public Builder<T> using(final Collection<T> elements) {
             assert null != elements : "Elements cannot be null.";
             this.elementsList = new ArrayList<T>(elements);
+            this.isView = false;
             return this;
         }
 
@@ -75,7 +224,8 @@ public interface CircularListIterator<T> extends PositionalListIterator<T>, Coun
          */
         public Builder<T> using(final T[] elements) {
             assert null != elements : "Elements cannot be null.";
-            this.elementsList = new ArrayList<T>(List.of(elements));
+            this.elementsList = new ArrayList<T>(Arrays.asList(elements));
+            this.isView = false;
             return this;
         }
 
@@ -88,6 +238,7 @@ public interface CircularListIterator<T> extends PositionalListIterator<T>, Coun
         public Builder<T> using(final List<T> elements) {
             assert null != elements : "Elements cannot be null.";
             this.elementsList = new ArrayList<>(elements);
+            this.isView = false;
             return this;
         }
 
@@ -99,6 +250,46 @@ public interface CircularListIterator<T> extends PositionalListIterator<T>, Coun
         public Builder<T> over(final List<T> elements) {
             assert null != elements : "Elements cannot be null.";
             this.elementsList = elements;
+            this.isView = false;
+            return this;
+        }
+
+        /*
+         * Creates a read-only iterator over a generated sequence, the element at each index being the generator
+         * applied to the index. The elements are worked out as they are read and nothing is stored, so the generator
+         * should be cheap and always give the same element for the same index. Calls to iterator methods such as add,
+         * remove or set throw an UnsupportedOperationException.
+         * @param size - The length of the sequence.
+         * @param generator - Gives the element at each index.
+         */
+        public Builder<T> generating(final int size, final IntFunction<? extends T> generator) {
+            assert size >= 0 : "Size must be greater than or equal to 0.";
+            assert null != generator : "Generator cannot be null.";
+            this.elementsList = new GeneratedList<T>(size, generator);
+            this.isView = true;
+            return this;
+        }
+
+        /*
+         * Creates a read-only iterator over the passed array without copying it. Calls to iterator methods such as
+         * add, remove or set throw an UnsupportedOperationException, elements written to the array later are seen.
+         * @param elements - The array of elements to iterate over.
+         */
+        public Builder<T> view(final T[] elements) {
+            assert null != elements : "Elements cannot be null.";
+            this.elementsList = Collections.unmodifiableList(Arrays.asList(elements));
+            this.isView = true;
+            return this;
+        }
+
+        /*
+         * Creates a read-only iterator over the passed list without copying it, see view(T[]).
+         * @param elements - The list of elements to iterate over.
+         */
+        public Builder<T> view(final List<T> elements) {
+            assert null != elements : "Elements cannot be null.";
+            this.elementsList = Collections.unmodifiableList(elements);
+            this.isView = true;
             return this;
         }
 
@@ -139,11 +330,34 @@ public interface CircularListIterator<T> extends PositionalListIterator<T>, Coun
         }
 
         /**
-         * 
-         * @return
+         * Makes the iterator thread-safe using a ReentrantReadWriteLock, the same as withConcurrency(Concurrency.LOCKING).
+         * @return The builder.
          */
         public Builder<T> withConcurrency() {
-            isConcurrent = true;
+            return withConcurrency(Concurrency.LOCKING);
+        }
+
+        /*
+         * Makes the iterator thread-safe using the passed strategy. LOCKING guards every call with a read or write lock,
+         * LOCK_FREE lets many threads share one iterator without ever waiting on each other in next().
+         * @param concurrency - The strategy used to make the iterator thread-safe.
+         * @return The builder.
+         */
+        public Builder<T> withConcurrency(final Concurrency concurrency) {
+            assert null != concurrency : "Concurrency cannot be null.";
+            this.concurrency = concurrency;
+            return this;
+        }
+
+        /*
+         * Copies the elements into a list of the passed kind when the iterator is built. This applies to elements
+         * given to over() as well, so changes made through the iterator are no longer written to that list.
+         * @param backing - The kind of list the iterator works on.
+         * @return The builder.
+         */
+        public Builder<T> withBacking(final Backing backing) {
+            assert null != backing : "Backing cannot be null.";
+            this.backing = backing;
             return this;
         }
 
@@ -159,25 +373,186 @@ public interface CircularListIterator<T> extends PositionalListIterator<T>, Coun
                 maxSteps = elementsList.size() * maxEpochs;
             }
 
-            if( isConcurrent ) {
-                return new ConcurrentCircularListIteratorImpl<T>(elementsList, startIdx, maxSteps);
+            final List<T> list = backed(elementsList);
+
+            if( Concurrency.LOCK_FREE == concurrency ) {
+                return new LockFreeCircularListIteratorImpl<T>(list, startIdx, maxSteps);
+            }else if( Concurrency.SNAPSHOT == concurrency ) {
+                return new SnapshotCircularListIteratorImpl<T>(list, startIdx, maxSteps);
+            }else if( Concurrency.OPTIMISTIC == concurrency ) {
+                return new OptimisticCircularListIteratorImpl<T>(list, startIdx, maxSteps);
+            }else if( Concurrency.LOCKING == concurrency ) {
+                return new ConcurrentCircularListIteratorImpl<T>(list, startIdx, maxSteps);
             }else{
-                return new CircularListIteratorImpl<T>(elementsList, startIdx, maxSteps);
+                return new CircularListIteratorImpl<T>(list, startIdx, maxSteps);
             }
         }
 
         /*
-         * Builds an Iterable that returns a CircularListIterator when iterator is called.
+         * Switches to building a WeightedCircularIterator over the elements, which hands out each element in
+         * proportion to the weight the passed function gives it. The limit, epochs, concurrency and backing set so far
+         * carry over, an epoch being as many steps as the total weight. The starting index is not used, the first pick
+         * goes to the heaviest element.
+         * @param weights - Gives the weight of each element, must not be negative.
+         * @return A builder for the WeightedCircularIterator.
+         */
+        public WeightedCircularIterator.Builder<T> withWeights(final ToIntFunction<? super T> weights) {
+            assert null != weights : "Weights cannot be null.";
+            return new WeightedCircularIterator.Builder<T>(backed(elementsList), weights, maxSteps, maxEpochs, null != concurrency);
+        }
+
+        /*
+         * Switches to building a ShuffledCircularIterator over the elements, which visits every element once per
+         * epoch in a different pseudo-random order each epoch without copying or shuffling the list. The limit,
+         * epochs and backing set so far carry over. The starting index and concurrency are not used.
+         * @param seed - Chooses the order of every epoch, the same seed always gives the same orders.
+         * @return A builder for the ShuffledCircularIterator.
+         */
+        public ShuffledCircularIterator.Builder<T> shuffledEachEpoch(final long seed) {
+            return new ShuffledCircularIterator.Builder<T>(backed(elementsList), seed, maxSteps, maxEpochs);
+        }
+
+        /*
+         * Switches to building one worker's PartitionedCircularIterator, its share of the pass a CircularListIterator
+         * with the starting index, limit or epochs set so far would make. Workers built with the same settings and
+         * different indexes share out the pass between them without overlapping, with no coordination between them.
+         * Concurrency is not used.
+         * @param workerIndex - The index of this worker, from 0 to workerCount - 1.
+         * @param workerCount - The number of workers sharing the pass.
+         * @return A builder for the PartitionedCircularIterator.
+         */
+        public PartitionedCircularIterator.Builder<T> partition(final int workerIndex, final int workerCount) {
+            assert workerCount > 0 : "Worker count must be greater than 0.";
+            assert workerIndex >= 0 && workerIndex < workerCount : "Worker index must be between 0 and the worker count - 1.";
+            return new PartitionedCircularIterator.Builder<T>(backed(elementsList), workerIndex, workerCount, startIdx, maxSteps, maxEpochs);
+        }
+
+        /*
+         * Switches to building a FilteredCircularIterator over the elements, which skips the elements that are down.
+         * Each element starts up if it passes the filter and can be marked down and up again later. The starting
+         * index, limit, epochs, concurrency and backing set so far carry over, an epoch being as many steps as there
+         * are elements up.
+         * @param filter - Says which elements start up.
+         * @return A builder for the FilteredCircularIterator.
+         */
+        public FilteredCircularIterator.Builder<T> filter(final Predicate<? super T> filter) {
+            assert null != filter : "Filter cannot be null.";
+            return new FilteredCircularIterator.Builder<T>(backed(elementsList), filter, startIdx, maxSteps, maxEpochs, null != concurrency);
+        }
+
+        /*
+         * Builds a BlockingCircularIterator, a CircularListIterator made thread-safe with a ReentrantReadWriteLock as
+         * withConcurrency(Concurrency.LOCKING) does, whose consumers can wait for an element with take(), poll() or
+         * nextAsync(). The concurrency set is not used. A ring that starts empty needs a limit rather than epochs.
+         * @return The BlockingCircularIterator.
+         */
+        public BlockingCircularIterator<T> buildBlocking() {
+            if( maxEpochs > 0 ) {
+                maxSteps = elementsList.size() * maxEpochs;
+            }
+            return new ConcurrentCircularListIteratorImpl<T>(backed(elementsList), startIdx, maxSteps);
+        }
+
+        /*
+         * Builds a SharedRing holding one copy of the elements, which hands out any number of independent cursors with
+         * the limit or epochs set so far. The starting index, concurrency and backing are not used, each cursor starts
+         * at its own staggered position and is meant for one thread.
+         * @return A SharedRing over the elements.
+         */
+        public SharedRing<T> shared() {
+            final int steps = (maxEpochs > 0) ? Math.max(1, elementsList.size() * maxEpochs) : maxSteps;
+            return new SharedRing<T>(elementsList, steps);
+        }
+
+        /*
+         * Builds a CircularPublisher over a SharedRing of the elements, see shared(). Each subscriber gets its own
+         * cursor and is completed when the cursor reaches the limit or epochs set so far.
+         * @return A Flow.Publisher of the elements.
+         */
+        public CircularPublisher<T> publisher() {
+            return new CircularPublisher<T>(shared());
+        }
+
+        /*
+         * Builds the CircularListIterator and returns a builder for a CircularTicker handing its elements to an action
+         * at a fixed rate.
+         * @return A builder for the CircularTicker.
+         */
+        public CircularTicker.Builder<T> ticker() {
+            return CircularTicker.over(build());
+        }
+
+        private List<T> backed(final List<T> elements) {
+            if( Backing.GAP_BUFFER == backing ) {
+                return new GapList<T>(elements);
+            }else if( Backing.CHUNKED == backing ) {
+                return new ChunkedList<T>(elements);
+            }else if( Backing.ARRAY == backing ) {
+                return new ArrayList<T>(elements);
+            }else{
+                return elements;
+            }
+        }
+
+        /*
+         * Builds an Iterable that returns a new CircularListIterator each time iterator is called. The elements are
+         * taken once, when this is called, into a read-only snapshot that every iterator shares, elements given to
+         * view() are used as they are. Each iterator is then a cursor over the snapshot and nothing else is allocated
+         * per loop. The iterators are read-only and, as each serves one loop, not thread-safe whatever the
+         * concurrency set; the backing set with withBacking is not used.
          * @return An Iterable that returns a CircularListIterator when iterator is called.
          */
+        @SuppressWarnings("unchecked")
         public Iterable<T> iterable() {
+            final List<T> snapshot = isView ?
+                elementsList :
+                Collections.unmodifiableList(Arrays.asList((T[]) elementsList.toArray()));
+            final int start = startIdx;
+            final int steps = (maxEpochs > 0) ? snapshot.size() * maxEpochs : maxSteps;
+            assert steps > 0 : "Max steps must be greater than 0.";
             return new Iterable<T>(){
                 @Override
                 public Iterator<T> iterator() {
-                    return build();
+                    return new CircularListIteratorImpl<T>(snapshot, start, steps);
                 }
             };
         }
+
+        /*
+         * Builds a Spliterator over the elements a built iterator would return from a hasNext()/next() loop, read in
+         * place from the list. Its size is exact: the maximum number of steps plus, if the last of those does not end
+         * on the last element, the steps to the end of the list that next() still allows. Splitting halves the run of
+         * steps so passes over the list can be spread across a fork-join pool. The backing set with withBacking is not
+         * used as the list is only read.
+         * @return A SIZED, SUBSIZED and ORDERED Spliterator over the elements.
+         */
+        public Spliterator<T> spliterator() {
+            final int size = elementsList.size();
+            if (0 == size) {
+                return new CircularListSpliterator<T>(elementsList, 0, 0, 0);
+            }
+            final long steps = (maxEpochs > 0) ? (long) size * maxEpochs : maxSteps;
+            final int origin = startIdx % size;
+            //past the limit next() still moves up to the end of the list without wrapping
+            final long last = (origin + steps - 1) % size;
+            return new CircularListSpliterator<T>(elementsList, origin, 0, steps + size - 1 - last);
+        }
+
+        /*
+         * Builds a sequential Stream over the elements, see spliterator().
+         * @return A Stream over the elements a built iterator would return.
+         */
+        public Stream<T> stream() {
+            return StreamSupport.stream(spliterator(), false);
+        }
+
+        /*
+         * Builds a parallel Stream over the elements, see spliterator().
+         * @return A parallel Stream over the elements a built iterator would return.
+         */
+        public Stream<T> parallelStream() {
+            return StreamSupport.stream(spliterator(), true);
+        }
     }
 
     ///////////////////////////////////////////////////////////////////////////
@@ -0,0 +1,152 @@
+package com.wortcook.util;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A Flow.Publisher handing out the elements of a SharedRing, e.g. to feed a round-robin over backends into a reactive
+ * pipeline. Each subscriber gets its own cursor over the ring, so subscribers do not take elements from each other,
+ * and is sent elements only as it requests them. A subscriber is completed once its cursor reaches the limit or the
+ * epochs set on the ring.
+ * <br><br>
+ * The elements requested are claimed from the cursor in batches with nextBatch() rather than one next() at a time.
+ * A request made from within onNext does not recurse, it is added to the demand the running delivery loop is already
+ * working through, so a subscriber asking for one element at a time never grows the stack.
+ * <br><br>
+ * By default elements are delivered on the thread that requests them. Given an Executor, each delivery loop runs as a
+ * task on it instead.
+ * @param <T> - The type of elements in the ring.
+ */
+public class CircularPublisher<T> implements Flow.Publisher<T> {
+    //how many elements are claimed from a cursor at once, bounding the buffer each subscription holds
+    private static final int BATCH = 256;
+
+    private final SharedRing<T> ring;
+    private final Executor executor;
+
+    /**
+     * Creates a publisher delivering on the thread that requests elements.
+     * @param ring - The ring each subscriber gets a cursor over.
+     */
+    public CircularPublisher(final SharedRing<T> ring) {
+        this(ring, Runnable::run);
+    }
+
+    /**
+     * @param ring - The ring each subscriber gets a cursor over.
+     * @param executor - Runs the loops delivering elements to subscribers.
+     */
+    public CircularPublisher(final SharedRing<T> ring, final Executor executor) {
+        assert null != ring : "Ring cannot be null.";
+        assert null != executor : "Executor cannot be null.";
+        this.ring = ring;
+        this.executor = executor;
+    }
+
+    @Override
+    public void subscribe(final Flow.Subscriber<? super T> subscriber) {
+        if (null == subscriber) {
+            throw new NullPointerException("Subscriber cannot be null.");
+        }
+        final CursorSubscription<T> subscription = new CursorSubscription<>(subscriber, ring.cursor(), executor);
+        subscriber.onSubscribe(subscription);
+        //an exhausted cursor completes without waiting for demand
+        subscription.drain();
+    }
+
+    private static final class CursorSubscription<T> implements Flow.Subscription, Runnable {
+        private final Flow.Subscriber<? super T> subscriber;
+        private final CircularListIterator<T> cursor;
+        private final Executor executor;
+        private final AtomicLong demand = new AtomicLong();
+        //counts the calls to drain() not yet seen by the delivery loop, only the caller taking it from 0 runs the loop
+        private final AtomicInteger pending = new AtomicInteger();
+        private volatile boolean cancelled = false;
+        private volatile Throwable invalidRequest = null;
+        private T[] batch = null;
+
+        CursorSubscription(final Flow.Subscriber<? super T> subscriber, final CircularListIterator<T> cursor,
+                           final Executor executor) {
+            this.subscriber = subscriber;
+            this.cursor = cursor;
+            this.executor = executor;
+        }
+
+        @Override
+        public void request(final long n) {
+            if (n <= 0) {
+                invalidRequest = new IllegalArgumentException("Requested " + n + ", must be greater than 0.");
+            } else {
+                demand.getAndAccumulate(n, (current, more) -> (current + more < 0) ? Long.MAX_VALUE : current + more);
+            }
+            drain();
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+        }
+
+        void drain() {
+            if (0 == pending.getAndIncrement()) {
+                executor.execute(this);
+            }
+        }
+
+        /**
+         * Runs the delivery loop, a subscriber throwing from onNext is treated as having cancelled.
+         */
+        @Override
+        public void run() {
+            try {
+                deliver();
+            } catch (RuntimeException | Error e) {
+                cancelled = true;
+                throw e;
+            }
+        }
+
+        /**
+         * The delivery loop, only ever run by one thread at a time.
+         */
+        @SuppressWarnings("unchecked")
+        private void deliver() {
+            int missed = 1;
+            do {
+                if (cancelled) {
+                    return;
+                }
+                if (null != invalidRequest) {
+                    cancelled = true;
+                    subscriber.onError(invalidRequest);
+                    return;
+                }
+                long wanted = demand.get();
+                while (wanted > 0 && !cancelled) {
+                    if (null == batch) {
+                        batch = (T[]) new Object[BATCH];
+                    }
+                    final int asked = (int) Math.min(wanted, BATCH);
+                    final int claimed = cursor.nextBatch(batch, asked);
+                    for (int i = 0; i < claimed && !cancelled; i++) {
+                        final T element = batch[i];
+                        batch[i] = null;
+                        subscriber.onNext(element);
+                    }
+                    wanted = demand.addAndGet(-claimed);
+                    if (claimed < asked) {
+                        break;
+                    }
+                }
+                if (!cancelled && !cursor.hasNext()) {
+                    cancelled = true;
+                    subscriber.onComplete();
+                    return;
+                }
+                missed = pending.addAndGet(-missed);
+            } while (0 != missed);
+        }
+    }
+}
@@ -0,0 +1,295 @@
+package com.wortcook.util;
+
+import java.time.Duration;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+
+/**
+ * Hands the elements of a CircularListIterator to an action at a fixed rate, e.g. to probe one backend of a ring every
+ * 10ms. Tick k is due at the start time plus k periods, every deadline being worked out from the start rather than
+ * from the tick before, so time spent late or in the action is made up on the next tick instead of adding up into
+ * drift.
+ * <br><br>
+ * A tick that runs late finds more than one deadline passed. It then either hands out one element per passed
+ * deadline in one batch, up to the batch size set with withCatchUp(int), or hands out one element and counts the rest
+ * as missed. How late each tick runs, its jitter, is recorded alongside the missed ticks.
+ * <br><br>
+ * An element the action throws a RuntimeException on is counted as failed and the ticker carries on with the next, so
+ * a failing action never stalls the ticks. The ticker stops once the iterator has nothing more to hand out. Time is read from an injectable clock and the
+ * scheduler is optional: without one, calling tick() runs the ticks that are due, which lets tests step the clock by
+ * hand.
+ * @param <T> - The type of elements in the list.
+ */
+public class CircularTicker<T> {
+    private final CircularListIterator<T> source;
+    private final Consumer<T> action;
+    private final long period;
+    private final int maxBatch;
+    private final LongSupplier clock;
+    private final ScheduledExecutorService scheduler;
+
+    private long start = 0;
+    //the number of the next tick to come due
+    private long next = 0;
+    private ScheduledFuture<?> scheduled = null;
+    private volatile boolean running = false;
+
+    //metrics, only written by the thread running tick() and read from any
+    private volatile long ticks = 0;
+    private volatile long delivered = 0;
+    private volatile long missed = 0;
+    private volatile long failed = 0;
+    private volatile long lastJitter = 0;
+    private volatile long maxJitter = 0;
+    private volatile long totalJitter = 0;
+
+    CircularTicker(final CircularListIterator<T> source, final Consumer<? super T> action, final long period,
+                   final int maxBatch, final LongSupplier clock, final ScheduledExecutorService scheduler) {
+        this.source = source;
+        this.action = element -> {
+            try {
+                action.accept(element);
+            } catch (RuntimeException e) {
+                failed++;
+            }
+        };
+        this.period = period;
+        this.maxBatch = maxBatch;
+        this.clock = clock;
+        this.scheduler = scheduler;
+    }
+
+    /**
+     * Creates a builder for a ticker over the passed iterator.
+     * @param source - The iterator handing out the elements.
+     * @return The builder.
+     */
+    public static <T> Builder<T> over(final CircularListIterator<T> source) {
+        assert null != source : "Source cannot be null.";
+        return new Builder<T>(source);
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+    // Running
+    ///////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Starts the ticker, the first tick is due now. With a scheduler it is run straight away on the scheduler.
+     * @return This ticker.
+     */
+    public synchronized CircularTicker<T> start() {
+        assert !running : "Ticker already started.";
+        start = clock.getAsLong();
+        next = 0;
+        running = true;
+        if (null != scheduler) {
+            scheduled = scheduler.schedule(this::tick, 0, TimeUnit.NANOSECONDS);
+        }
+        return this;
+    }
+
+    /**
+     * Stops the ticker, a tick already running is let finish.
+     */
+    public synchronized void stop() {
+        running = false;
+        if (null != scheduled) {
+            scheduled.cancel(false);
+            scheduled = null;
+        }
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Runs the ticks that are due by the clock, handing their elements to the action, and with a scheduler schedules
+     * the run for the next deadline. Called by the scheduler, or by hand when there is none.
+     * @return The number of elements handed to the action.
+     */
+    public synchronized int tick() {
+        if (!running) {
+            return 0;
+        }
+        final long elapsed = clock.getAsLong() - start;
+        final long due = (elapsed < 0) ? 0 : elapsed / period + 1 - next;
+        if (due <= 0) {
+            //woken early, the deadline has not come yet
+            reschedule();
+            return 0;
+        }
+
+        final long jitter = elapsed - next * period;
+        final int wanted = (int) Math.min(due, maxBatch);
+        final int sent = source.drainTo(action, wanted);
+
+        next += due;
+        ticks++;
+        delivered += sent;
+        missed += due - wanted;
+        lastJitter = jitter;
+        maxJitter = Math.max(maxJitter, jitter);
+        totalJitter += jitter;
+
+        if (sent < wanted || !source.hasNext()) {
+            stop();
+        } else {
+            reschedule();
+        }
+        return sent;
+    }
+
+    /**
+     * @return The time until the next tick is due, negative if it is overdue.
+     */
+    public synchronized long nanosUntilNextTick() {
+        return start + next * period - clock.getAsLong();
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+    // Metrics
+    ///////////////////////////////////////////////////////////////////////////
+
+    /**
+     * @return The number of times tick() found deadlines passed and ran.
+     */
+    public long getTicks() {
+        return ticks;
+    }
+
+    /**
+     * @return The number of elements handed to the action, including those it threw on.
+     */
+    public long getDelivered() {
+        return delivered;
+    }
+
+    /**
+     * @return The number of deadlines passed that no element was handed out for.
+     */
+    public long getMissed() {
+        return missed;
+    }
+
+    /**
+     * @return The number of elements the action threw an exception on, the ticker carrying on with the next.
+     */
+    public long getFailed() {
+        return failed;
+    }
+
+    /**
+     * @return How late the last tick ran after its deadline.
+     */
+    public long getLastJitterNanos() {
+        return lastJitter;
+    }
+
+    /**
+     * @return The latest any tick ran after its deadline.
+     */
+    public long getMaxJitterNanos() {
+        return maxJitter;
+    }
+
+    /**
+     * @return How late ticks ran after their deadlines on average.
+     */
+    public long getMeanJitterNanos() {
+        final long count = ticks;
+        return (0 == count) ? 0 : totalJitter / count;
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+    // Private utility methods
+    ///////////////////////////////////////////////////////////////////////////
+    private void reschedule() {
+        if (null != scheduler && running) {
+            scheduled = scheduler.schedule(this::tick, Math.max(0, nanosUntilNextTick()), TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Builder for CircularTicker, created with CircularTicker.over(CircularListIterator) or
+     * CircularListIterator.Builder.ticker().
+     * @param <T> - The type of elements in the list.
+     */
+    public static class Builder<T> {
+        private final CircularListIterator<T> source;
+        private long                          period    = -1;
+        private int                           maxBatch  = 1;
+        private LongSupplier                  clock     = System::nanoTime;
+        private ScheduledExecutorService      scheduler = null;
+
+        Builder(final CircularListIterator<T> source) {
+            this.source = source;
+        }
+
+        /*
+         * Sets the time between ticks.
+         * @param period - The time between ticks.
+         */
+        public Builder<T> withPeriod(final Duration period) {
+            assert null != period : "Period cannot be null.";
+            assert !period.isNegative() && !period.isZero() : "Period must be greater than 0.";
+            this.period = period.toNanos();
+            return this;
+        }
+
+        /*
+         * Sets the number of ticks per second.
+         * @param perSecond - The number of ticks per second.
+         */
+        public Builder<T> withRate(final double perSecond) {
+            assert perSecond > 0 : "Rate must be greater than 0.";
+            this.period = Math.max(1, Math.round(TimeUnit.SECONDS.toNanos(1) / perSecond));
+            return this;
+        }
+
+        /*
+         * Lets a late tick hand out one element for each deadline passed, up to the passed number in one batch. By
+         * default a late tick hands out one element and the rest of the deadlines passed are counted as missed.
+         * @param maxBatch - The most elements a tick hands out.
+         */
+        public Builder<T> withCatchUp(final int maxBatch) {
+            assert maxBatch > 0 : "Max batch must be greater than 0.";
+            this.maxBatch = maxBatch;
+            return this;
+        }
+
+        /*
+         * Sets the clock the ticker reads, in nanoseconds, System.nanoTime by default.
+         * @param clock - The clock to read.
+         */
+        public Builder<T> withClock(final LongSupplier clock) {
+            assert null != clock : "Clock cannot be null.";
+            this.clock = clock;
+            return this;
+        }
+
+        /*
+         * Sets the scheduler the ticks are run on. Without one tick() has to be called by hand.
+         * @param scheduler - The scheduler to run the ticks on.
+         */
+        public Builder<T> withScheduler(final ScheduledExecutorService scheduler) {
+            assert null != scheduler : "Scheduler cannot be null.";
+            this.scheduler = scheduler;
+            return this;
+        }
+
+        /*
+         * Builds the ticker, it does not run until start() is called.
+         * @param action - Is handed each element in turn.
+         * @return The CircularTicker.
+         */
+        public CircularTicker<T> build(final Consumer<? super T> action) {
+            assert null != action : "Action cannot be null.";
+            assert period > 0 : "Period or rate must be set.";
+            return new CircularTicker<T>(source, action, period, maxBatch, clock, scheduler);
+        }
+    }
+}
@@ -0,0 +1,227 @@
+package com.wortcook.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * A consistent hash ring mapping keys to nodes. Each node is placed on the ring at a number of points, its virtual
+ * nodes, and a key belongs to the node owning the first point at or clockwise of the key's hash, wrapping past the
+ * top of the ring to the first point as a CircularListIterator wraps past the end of its list. Adding or removing a
+ * node only moves the keys on the arcs in front of that node's points, about 1/n of them.
+ * <br><br>
+ * The points are held in a sorted long[] with the owner of each point alongside, so a lookup is a binary search that
+ * does not allocate. Adding and removing nodes builds new arrays and publishes them in one write, so lookups never
+ * lock and always see a whole ring; updates are serialized with each other.
+ * @param <T> - The type of the nodes, which are told apart with equals and placed using hashCode.
+ */
+public class ConsistentHashRing<T> {
+    private static final int DEFAULT_VIRTUAL_NODES = 160;
+
+    private static final class Ring {
+        final long[] points;
+        final Object[] owners;
+        final List<Object> nodes;
+
+        Ring(final long[] points, final Object[] owners, final List<Object> nodes) {
+            this.points = points;
+            this.owners = owners;
+            this.nodes = nodes;
+        }
+    }
+
+    private final int virtualNodes;
+    private volatile Ring ring = new Ring(new long[0], new Object[0], Collections.emptyList());
+
+    public ConsistentHashRing() {
+        this(DEFAULT_VIRTUAL_NODES);
+    }
+
+    /**
+     * @param virtualNodes - The number of points each node is placed at. More points spread the keys more evenly at
+     *                       the cost of a larger ring.
+     */
+    public ConsistentHashRing(final int virtualNodes) {
+        assert virtualNodes > 0 : "Virtual nodes must be greater than 0.";
+        this.virtualNodes = virtualNodes;
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+    // Lookups
+    ///////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Returns the node the key belongs to, the key is placed on the ring by its hashCode.
+     * @param key - The key to look up.
+     * @return The node owning the key, or null if the ring is empty.
+     */
+    public T nodeFor(final Object key) {
+        assert null != key : "Key cannot be null.";
+        return nodeForHash(Hashing.mix(key.hashCode()));
+    }
+
+    /**
+     * Returns the node owning the passed position on the ring, for keys that already have a well spread 64 bit hash.
+     * The position is used as it is, it is not hashed again as the key passed to nodeFor(Object) is.
+     * @param hash - The position on the ring.
+     * @return The node owning the position, or null if the ring is empty.
+     */
+    @SuppressWarnings("unchecked")
+    public T nodeForHash(final long hash) {
+        final Ring current = ring;
+        if (0 == current.points.length) {
+            return null;
+        }
+        return (T) current.owners[indexOf(current.points, hash)];
+    }
+
+    /**
+     * Returns an iterator over the distinct nodes met walking clockwise from the key's position, starting with the
+     * node the key belongs to. Each node is returned once, so taking the first n gives the key's n replicas. The
+     * iterator works on the ring as it was when this is called.
+     * @param key - The key to start from.
+     * @return A CircularListIterator over every node, limited to one pass.
+     */
+    public CircularListIterator<T> iterator(final Object key) {
+        assert null != key : "Key cannot be null.";
+        return iteratorFromHash(Hashing.mix(key.hashCode()));
+    }
+
+    /**
+     * Returns an iterator over the distinct nodes met walking clockwise from the passed position, see iterator(Object).
+     * As with nodeForHash(long) the position is used as it is.
+     * @param hash - The position on the ring to start from.
+     * @return A CircularListIterator over every node, limited to one pass.
+     */
+    @SuppressWarnings("unchecked")
+    public CircularListIterator<T> iteratorFromHash(final long hash) {
+        final Ring current = ring;
+        final int count = current.nodes.size();
+        final List<T> clockwise = new ArrayList<>(count);
+        //an empty list cannot be limited to a pass, it has no elements to return anyway
+        if (0 == count) {
+            return CircularListIterator.<T>builder().over(clockwise).build();
+        }
+        final Set<Object> seen = new HashSet<>();
+        final int from = indexOf(current.points, hash);
+        for (int i = 0; i < current.points.length && clockwise.size() < count; i++) {
+            final int at = (from + i) % current.points.length;
+            if (seen.add(current.owners[at])) {
+                clockwise.add((T) current.owners[at]);
+            }
+        }
+        return CircularListIterator.<T>builder().over(clockwise).withEpochs(1).build();
+    }
+
+    /**
+     * @return The nodes on the ring in the order they were added.
+     */
+    @SuppressWarnings("unchecked")
+    public List<T> nodes() {
+        return (List<T>) Collections.unmodifiableList(ring.nodes);
+    }
+
+    public int size() {
+        return ring.nodes.size();
+    }
+
+    public boolean isEmpty() {
+        return ring.nodes.isEmpty();
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+    // Membership
+    ///////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Places the node on the ring. The node's points are merged into a copy of the ring which then replaces it.
+     * @param node - The node to add.
+     * @return True if the node was added, false if it was already on the ring.
+     */
+    public synchronized boolean add(final T node) {
+        assert null != node : "Node cannot be null.";
+        final Ring current = ring;
+        if (current.nodes.contains(node)) {
+            return false;
+        }
+        final long[] placed = new long[virtualNodes];
+        final int seed = node.hashCode();
+        for (int i = 0; i < virtualNodes; i++) {
+            placed[i] = Hashing.mix(((long) seed << 32) | i);
+        }
+        Arrays.sort(placed);
+
+        final int total = current.points.length + virtualNodes;
+        final long[] points = new long[total];
+        final Object[] owners = new Object[total];
+        int from = 0;
+        int next = 0;
+        for (int to = 0; to < total; to++) {
+            if (next == virtualNodes || (from < current.points.length && current.points[from] <= placed[next])) {
+                points[to] = current.points[from];
+                owners[to] = current.owners[from++];
+            } else {
+                points[to] = placed[next++];
+                owners[to] = node;
+            }
+        }
+
+        final List<Object> nodes = new ArrayList<>(current.nodes);
+        nodes.add(node);
+        ring = new Ring(points, owners, nodes);
+        return true;
+    }
+
+    /**
+     * Takes the node off the ring, its keys pass to the nodes clockwise of its points.
+     * @param node - The node to remove.
+     * @return True if the node was removed, false if it was not on the ring.
+     */
+    public synchronized boolean remove(final T node) {
+        final Ring current = ring;
+        final int index = current.nodes.indexOf(node);
+        if (index < 0) {
+            return false;
+        }
+        final Object owner = current.nodes.get(index);
+        final int total = current.points.length - virtualNodes;
+        final long[] points = new long[total];
+        final Object[] owners = new Object[total];
+        int to = 0;
+        for (int from = 0; from < current.points.length; from++) {
+            if (owner != current.owners[from]) {
+                points[to] = current.points[from];
+                owners[to++] = current.owners[from];
+            }
+        }
+
+        final List<Object> nodes = new ArrayList<>(current.nodes);
+        nodes.remove(index);
+        ring = new Ring(points, owners, nodes);
+        return true;
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+    // Private utility methods
+    ///////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Returns the index of the first point at or after the passed hash, wrapping to 0 past the last point.
+     */
+    private static int indexOf(final long[] points, final long hash) {
+        int low = 0;
+        int high = points.length;
+        while (low < high) {
+            final int mid = (low + high) >>> 1;
+            if (points[mid] < hash) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return (low == points.length) ? 0 : low;
+    }
+}
@@ -14,30 +14,32 @@ public interface Counter<T extends Comparable<T>> extends Countable<T>{
      * Create a new Integer counter with the given limit.
      * @return
      */
-    public static Counter<Integer> of(final int theLimit) {
-        return new Counter<Integer>() {
-            private int count = 0;
-            private int limit = theLimit;
-
-            @Override
-            public Integer getCount() {
-                return count;
-            }
+    public static IntCounter of(final int theLimit) {
+        return new IntCounter(theLimit);
+    }
 
-            @Override
-            public Integer getLimit() {
-                return limit;
-            }
+    /**
+     * Create a new Long counter with the given limit.
+     * @return
+     */
+    public static LongCounter of(final long theLimit) {
+        return new LongCounter(theLimit);
+    }
 
-            @Override
-            public void resetCount() {
-                count = 0;
-            }
+    /**
+     * Create a thread-safe counter with the given limit that spreads increments across contention cells.
+     * The limit checks are correct within the increments still in flight, see StripedCounter.
+     * @return
+     */
+    public static StripedCounter concurrent(final long theLimit) {
+        return new StripedCounter(theLimit);
+    }
 
-            @Override
-            public void count() {
-                count++;
-            }
-        };
+    /**
+     * Create a thread-safe counter with the given limit that counts exactly using compare-and-set, see AtomicCounter.
+     * @return
+     */
+    public static AtomicCounter atomic(final long theLimit) {
+        return new AtomicCounter(theLimit);
     }
 }
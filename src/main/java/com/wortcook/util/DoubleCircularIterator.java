@@ -0,0 +1,84 @@
+package com.wortcook.util;
+
+import java.util.PrimitiveIterator;
+
+import com.wortcook.util.impl.DoubleCircularIteratorImpl;
+
+/**
+ * A circular iterator over a double[] that follows the same wrap, epoch and step-limit rules as CircularListIterator
+ * without boxing. Once the iterator reaches the end of the array it wraps around to the beginning and vice versa until
+ * the maximum number of steps is reached, after which it behaves like a regular ListIterator. Moving the iterator
+ * with nextDouble() or previousDouble() never allocates.
+ * <br><br>
+ * The iterator is backed by the array passed in, it is not copied, so changes to the array are seen by the iterator
+ * and setDouble() writes to the array.
+ */
+public interface DoubleCircularIterator extends PrimitiveIterator.OfDouble, Countable<Integer> {
+
+    /**
+     * Returns the previous element, wrapping around to the end of the array until the maximum number of steps is reached.
+     * @return The previous element.
+     */
+    double previousDouble();
+
+    /**
+     * Returns the element the iterator currently points to, i.e. the one returned by the last call to nextDouble() or previousDouble().
+     * @return The current element.
+     */
+    double atDouble();
+
+    /**
+     * Replaces the element the iterator currently points to.
+     * @param value - The value to write to the array.
+     */
+    void setDouble(double value);
+
+    boolean hasPrevious();
+
+    /**
+     * The 'traditional' version of hasNext, this will return false at the end of the array.
+     * @return true if there is a next element without wrapping.
+     */
+    boolean hasNextNoWrap();
+
+    /**
+     * The 'traditional' version of hasPrevious, this will return false at the beginning of the array.
+     * @return true if there is a previous element without wrapping.
+     */
+    boolean hasPreviousNoWrap();
+
+    int nextIndex();
+
+    int previousIndex();
+
+    /**
+     * Resets the iterator to the same state as if it were newly created.
+     */
+    void reset();
+
+    ///////////////////////////////////////////////////////////////////////////
+    // Static Utility Methods
+    ///////////////////////////////////////////////////////////////////////////
+    public static DoubleCircularIterator of(final double[] elements) {
+        return of(elements, 0, Integer.MAX_VALUE);
+    }
+
+    public static DoubleCircularIterator of(final double[] elements, final int startIdx) {
+        return of(elements, startIdx, Integer.MAX_VALUE);
+    }
+
+    public static DoubleCircularIterator of(final double[] elements, final int startIdx, final int maxSteps) {
+        return new DoubleCircularIteratorImpl(elements, startIdx, maxSteps);
+    }
+
+    /**
+     * Creates an iterator that passes over the array the given number of times.
+     * @param elements - The array to iterate over.
+     * @param maxEpochs - The number of passes over the array.
+     * @return The iterator.
+     */
+    public static DoubleCircularIterator ofEpochs(final double[] elements, final int maxEpochs) {
+        assert maxEpochs > 0 : "Max epochs must be greater than 0.";
+        return of(elements, 0, elements.length * maxEpochs);
+    }
+}
@@ -0,0 +1,161 @@
+package com.wortcook.util;
+
+import java.util.List;
+import java.util.function.Predicate;
+
+import com.wortcook.util.impl.ConcurrentFilteredCircularIteratorImpl;
+import com.wortcook.util.impl.FilteredCircularIteratorImpl;
+
+/**
+ * An iterator that cycles through a list skipping the elements that are marked down, e.g. to round-robin over only
+ * the healthy backends of a pool. Each element is up or down, starting as the filter predicate says, and can be
+ * marked down and up again by index at any time, from any thread, without taking a lock.
+ * <br><br>
+ * A pick jumps straight to the next element that is up rather than testing the elements in between one at a time, so
+ * it costs about one word read per 64 elements passed over however many of them are down.
+ * <br><br>
+ * As with CircularListIterator a maximum number of steps, i.e. calls to next(), can be set after which hasNext()
+ * returns false; elements that are skipped do not count as steps. The list must not change size while it is iterated.
+ */
+public interface FilteredCircularIterator<T> extends OptionalIterator<T>, Countable<Integer> {
+
+    /**
+     * Returns the element the last call to next() returned. If next() has not been called since the iterator was
+     * created or reset, this will throw an IllegalStateException.
+     * @return The current element.
+     */
+    T at();
+
+    /**
+     * Returns the index of the element the last call to next() returned, e.g. to mark it down after it failed. If
+     * next() has not been called since the iterator was created or reset, this will throw an IllegalStateException.
+     * @return The index of the current element.
+     */
+    int atIndex();
+
+    /**
+     * Marks the element at the index down, next() skips it until it is marked up again.
+     * @param index - The index of the element.
+     * @return True if the element was up.
+     */
+    boolean markDown(int index);
+
+    /**
+     * Marks the element at the index up, next() picks it again in its turn.
+     * @param index - The index of the element.
+     * @return True if the element was down.
+     */
+    boolean markUp(int index);
+
+    /**
+     * @param index - The index of the element.
+     * @return True if the element at the index is up.
+     */
+    boolean isUp(int index);
+
+    /**
+     * @return The number of elements that are up.
+     */
+    int upCount();
+
+    /**
+     * Tests every element with the filter predicate again and marks it up or down by the result, e.g. after a round of
+     * health checks.
+     */
+    void refilter();
+
+    /**
+     * Returns the list of elements being iterated over, up or down.
+     * @return The list of elements.
+     */
+    List<T> elements();
+
+    /**
+     * Resets the iterator to the same state as if it were newly created. Which elements are up is left as it is.
+     */
+    void reset();
+
+    /**
+     * Builder for FilteredCircularIterator, created from CircularListIterator.Builder.filter(Predicate).
+     * @param <T> - The type of elements in the list.
+     */
+    public static class Builder<T> {
+        private final List<T>              elementsList;
+        private final Predicate<? super T> filter;
+        private int                        startIdx;
+        private int                        maxSteps;
+        private int                        maxEpochs;
+        private boolean                    isConcurrent;
+
+        Builder(final List<T> elementsList, final Predicate<? super T> filter, final int startIdx, final int maxSteps,
+                final int maxEpochs, final boolean isConcurrent) {
+            this.elementsList = elementsList;
+            this.filter = filter;
+            this.startIdx = startIdx;
+            this.maxSteps = maxSteps;
+            this.maxEpochs = maxEpochs;
+            this.isConcurrent = isConcurrent;
+        }
+
+        /*
+         * Sets the index of the element to start at, if that element is down the first pick is the next one up.
+         * @param startIdx - The index to start at.
+         */
+        public Builder<T> startingAt(final int startIdx) {
+            assert startIdx >= 0 : "Start index must be greater than or equal to 0.";
+            this.startIdx = startIdx;
+            return this;
+        }
+
+        /*
+         * Sets the maximum number of steps the iterator can take before hasNext() returns false.
+         * @param maxSteps - The maximum number of steps the iterator can take.
+         */
+        public Builder<T> withLimit(final int maxSteps) {
+            assert maxSteps > 0 : "Max steps must be greater than 0.";
+            this.maxSteps = maxSteps;
+            this.maxEpochs = -1;
+            return this;
+        }
+
+        /*
+         * Sets the maximum number of epochs, each as many steps as there are elements up when the iterator is created.
+         * @param maxEpochs - The maximum number of epochs the iterator can take.
+         */
+        public Builder<T> withEpochs(final int maxEpochs) {
+            assert maxEpochs > 0 : "Max epochs must be greater than 0.";
+            this.maxEpochs = maxEpochs;
+            return this;
+        }
+
+        /**
+         * Makes the iterator thread-safe, moves are guarded by a ReentrantLock. Marking elements up and down never
+         * takes the lock.
+         * @return The builder.
+         */
+        public Builder<T> withConcurrency() {
+            this.isConcurrent = true;
+            return this;
+        }
+
+        /*
+         * Builds the FilteredCircularIterator over the list, which is used in place.
+         * @return The FilteredCircularIterator.
+         */
+        public FilteredCircularIterator<T> build() {
+            if( maxEpochs > 0 ) {
+                long up = 0;
+                for(T element : elementsList) {
+                    up += filter.test(element) ? 1 : 0;
+                }
+                maxSteps = (int) Math.max(1, Math.min(Integer.MAX_VALUE, up * maxEpochs));
+            }
+
+            if( isConcurrent ) {
+                return new ConcurrentFilteredCircularIteratorImpl<T>(elementsList, filter, startIdx, maxSteps);
+            }else{
+                return new FilteredCircularIteratorImpl<T>(elementsList, filter, startIdx, maxSteps);
+            }
+        }
+    }
+}
@@ -0,0 +1,282 @@
+package com.wortcook.util;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.RandomAccess;
+
+/**
+ * A List backed by a circular gap buffer. The free space of the backing array is kept as a single gap that follows
+ * the position of the last insert or remove, so repeated edits at or next to the same index are amortised O(1)
+ * instead of shifting the tail of the array as ArrayList does. Moving the gap costs the distance between the old and
+ * new position, measured around the ring, so index 0 and index size() are neighbours; this matches the way a
+ * CircularListIterator appends to the end when it adds before the first element.
+ * Positional get and set are O(1). The list is not thread-safe.
+ * @param <T> - The type of elements in the list.
+ */
+public class GapList<T> extends AbstractList<T> implements RandomAccess {
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private Object[] buffer;
+    private int start = 0;  //physical index of logical element 0, or of the gap when gapAt is 0
+    private int gapAt = 0;  //logical index the gap sits in front of
+    private int size  = 0;
+
+    public GapList() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param capacity - The number of elements the list can hold before it has to grow.
+     */
+    public GapList(final int capacity) {
+        assert capacity >= 0 : "Capacity must be greater than or equal to 0.";
+        this.buffer = new Object[Math.max(1, capacity)];
+    }
+
+    /**
+     * Creates a list holding the passed elements in the order of the collection's iterator.
+     * @param elements - The elements to copy into the list.
+     */
+    public GapList(final Collection<? extends T> elements) {
+        assert null != elements : "Elements cannot be null.";
+        final Object[] items = elements.toArray();
+        this.buffer = Arrays.copyOf(items, Math.max(DEFAULT_CAPACITY, items.length + (items.length >> 1)), Object[].class);
+        this.size = items.length;
+        this.gapAt = items.length;
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+    // List methods
+    ///////////////////////////////////////////////////////////////////////////
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T get(final int index) {
+        checkIndex(index);
+        return (T) buffer[physical(index)];
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T set(final int index, final T element) {
+        checkIndex(index);
+        final int at = physical(index);
+        final T old = (T) buffer[at];
+        buffer[at] = element;
+        return old;
+    }
+
+    @Override
+    public void add(final int index, final T element) {
+        checkPosition(index);
+        ensureCapacity(size + 1);
+        moveGapTo(index);
+        buffer[wrap(start + gapAt)] = element;
+        gapAt++;
+        size++;
+        modCount++;
+    }
+
+    @Override
+    public boolean add(final T element) {
+        add(size, element);
+        return true;
+    }
+
+    /**
+     * Inserts the elements at the passed index. The cost is the distance the gap moves plus the number of elements
+     * inserted, the rest of the list is not touched.
+     */
+    @Override
+    public boolean addAll(final int index, final Collection<? extends T> elements) {
+        checkPosition(index);
+        final Object[] items = elements.toArray();
+        if (0 == items.length) {
+            return false;
+        }
+        ensureCapacity(size + items.length);
+        moveGapTo(index);
+        final int to = wrap(start + gapAt);
+        final int head = Math.min(items.length, buffer.length - to);
+        System.arraycopy(items, 0, buffer, to, head);
+        System.arraycopy(items, head, buffer, 0, items.length - head);
+        gapAt += items.length;
+        size += items.length;
+        modCount++;
+        return true;
+    }
+
+    @Override
+    public boolean addAll(final Collection<? extends T> elements) {
+        return addAll(size, elements);
+    }
+
+    /**
+     * Removes the element at the passed index. The gap is grown from whichever side of the element it is already on
+     * so that removing a run of elements in either direction does not move any other element.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public T remove(final int index) {
+        checkIndex(index);
+        final int at;
+        if (gapAt > index) {
+            moveGapTo(index + 1);
+            gapAt--;
+            at = wrap(start + gapAt);
+        } else {
+            moveGapTo(index);
+            at = wrap(start + gapAt + gap());
+        }
+        final T old = (T) buffer[at];
+        buffer[at] = null;
+        size--;
+        modCount++;
+        return old;
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(buffer, null);
+        start = 0;
+        gapAt = 0;
+        size = 0;
+        modCount++;
+    }
+
+    /**
+     * Grows the backing array, if needed, so that it can hold the passed number of elements without growing again.
+     * @param capacity - The number of elements the list should be able to hold.
+     */
+    public void ensureCapacity(final int capacity) {
+        if (capacity <= buffer.length) {
+            return;
+        }
+        final Object[] grown = new Object[Math.max(capacity, buffer.length + (buffer.length >> 1) + 1)];
+        final int tail = size - gapAt;
+        copyOut(start, grown, 0, gapAt);
+        copyOut(wrap(start + gapAt + gap()), grown, grown.length - tail, tail);
+        buffer = grown;
+        start = 0;
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+    // Gap bookkeeping
+    ///////////////////////////////////////////////////////////////////////////
+    private int gap() {
+        return buffer.length - size;
+    }
+
+    private int wrap(final int index) {
+        return (index >= buffer.length) ? index - buffer.length : index;
+    }
+
+    private int physical(final int index) {
+        return wrap((index < gapAt) ? start + index : start + index + gap());
+    }
+
+    /**
+     * Moves the gap so that it sits in front of the passed logical index, going whichever way around the ring is
+     * shorter. Index 0 and index size() are the same place on the ring, crossing it only renames the gap's position.
+     */
+    private void moveGapTo(final int index) {
+        if (index == gapAt) {
+            return;
+        }
+        final int direct = Math.abs(index - gapAt);
+        final int around = size - direct;
+        if (direct <= around) {
+            shift(index - gapAt);
+        } else if (index > gapAt) {
+            shift(-gapAt);
+            gapAt = size;
+            start = wrap(start + buffer.length - size);
+            shift(index - size);
+        } else {
+            shift(size - gapAt);
+            gapAt = 0;
+            start = wrap(start + size);
+            shift(index);
+        }
+    }
+
+    /**
+     * Moves the gap by the passed number of elements, forward when positive. The elements crossed are copied to the
+     * other side of the gap and the slots they leave are cleared so the list does not hold on to them.
+     */
+    private void shift(final int count) {
+        final int gap = gap();
+        if (0 == count || 0 == gap) {
+            gapAt += count;
+            return;
+        }
+        if (count > 0) {
+            final int from = wrap(start + gapAt + gap);
+            copyForward(from, wrap(start + gapAt), count);
+            final int cleared = Math.min(count, gap);
+            fill(wrap(from + count - cleared), cleared);
+        } else {
+            final int from = wrap(start + gapAt + count);
+            copyBackward(from, wrap(from + gap), -count);
+            fill(from, Math.min(-count, gap));
+        }
+        gapAt += count;
+    }
+
+    private void copyForward(int from, int to, int length) {
+        while (length > 0) {
+            final int chunk = Math.min(length, Math.min(buffer.length - from, buffer.length - to));
+            System.arraycopy(buffer, from, buffer, to, chunk);
+            from = wrap(from + chunk);
+            to = wrap(to + chunk);
+            length -= chunk;
+        }
+    }
+
+    private void copyBackward(final int from, final int to, int length) {
+        int fromEnd = (from + length) % buffer.length;
+        int toEnd = (to + length) % buffer.length;
+        while (length > 0) {
+            if (0 == fromEnd) {
+                fromEnd = buffer.length;
+            }
+            if (0 == toEnd) {
+                toEnd = buffer.length;
+            }
+            final int chunk = Math.min(length, Math.min(fromEnd, toEnd));
+            System.arraycopy(buffer, fromEnd - chunk, buffer, toEnd - chunk, chunk);
+            fromEnd -= chunk;
+            toEnd -= chunk;
+            length -= chunk;
+        }
+    }
+
+    private void fill(final int from, final int length) {
+        final int head = Math.min(length, buffer.length - from);
+        Arrays.fill(buffer, from, from + head, null);
+        Arrays.fill(buffer, 0, length - head, null);
+    }
+
+    private void copyOut(final int from, final Object[] dest, final int destPos, final int length) {
+        final int head = Math.min(length, buffer.length - from);
+        System.arraycopy(buffer, from, dest, destPos, head);
+        System.arraycopy(buffer, 0, dest, destPos + head, length - head);
+    }
+
+    private void checkIndex(final int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+
+    private void checkPosition(final int index) {
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.wortcook.util;
+
+import java.util.AbstractList;
+import java.util.RandomAccess;
+import java.util.function.IntFunction;
+
+/**
+ * A read-only list whose elements are worked out from their index when they are read, e.g. index to shard or index
+ * to port offset. Nothing is stored, the function is called on every get(), so it should be cheap and always give the
+ * same element for the same index.
+ * @param <T> - The type of elements in the list.
+ */
+final class GeneratedList<T> extends AbstractList<T> implements RandomAccess {
+    private final int size;
+    private final IntFunction<? extends T> generator;
+
+    GeneratedList(final int size, final IntFunction<? extends T> generator) {
+        assert size >= 0 : "Size must be greater than or equal to 0.";
+        assert null != generator : "Generator cannot be null.";
+        this.size = size;
+        this.generator = generator;
+    }
+
+    @Override
+    public T get(final int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + size);
+        }
+        return generator.apply(index);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+}
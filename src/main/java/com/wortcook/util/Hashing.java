@@ -0,0 +1,29 @@
+package com.wortcook.util;
+
+/**
+ * The bit mixing shared by the rings and iterators that place or order elements by hash.
+ */
+public final class Hashing {
+    /**
+     * 2^64 divided by the golden ratio. Multiplying by it gives the fractional part of k * phi in the top bits, and
+     * adding multiples of it steps through well spread seeds.
+     */
+    public static final long GOLDEN = 0x9E3779B97F4A7C15L;
+
+    private Hashing() {
+    }
+
+    /**
+     * The 64 bit finalizer of MurmurHash3, spreads every bit of the input over the whole result.
+     * @param h - The value to mix.
+     * @return The mixed value.
+     */
+    public static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
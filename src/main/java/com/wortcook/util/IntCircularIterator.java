@@ -0,0 +1,112 @@
+package com.wortcook.util;
+
+import java.util.PrimitiveIterator;
+import java.util.function.IntUnaryOperator;
+
+import com.wortcook.util.impl.GeneratedIntCircularIteratorImpl;
+import com.wortcook.util.impl.IntCircularIteratorImpl;
+
+/**
+ * A circular iterator over a int[] that follows the same wrap, epoch and step-limit rules as CircularListIterator
+ * without boxing. Once the iterator reaches the end of the array it wraps around to the beginning and vice versa until
+ * the maximum number of steps is reached, after which it behaves like a regular ListIterator. Moving the iterator
+ * with nextInt() or previousInt() never allocates.
+ * <br><br>
+ * The iterator is backed by the array passed in, it is not copied, so changes to the array are seen by the iterator
+ * and setInt() writes to the array.
+ */
+public interface IntCircularIterator extends PrimitiveIterator.OfInt, Countable<Integer> {
+
+    /**
+     * Returns the previous element, wrapping around to the end of the array until the maximum number of steps is reached.
+     * @return The previous element.
+     */
+    int previousInt();
+
+    /**
+     * Returns the element the iterator currently points to, i.e. the one returned by the last call to nextInt() or previousInt().
+     * @return The current element.
+     */
+    int atInt();
+
+    /**
+     * Replaces the element the iterator currently points to.
+     * @param value - The value to write to the array.
+     */
+    void setInt(int value);
+
+    boolean hasPrevious();
+
+    /**
+     * The 'traditional' version of hasNext, this will return false at the end of the array.
+     * @return true if there is a next element without wrapping.
+     */
+    boolean hasNextNoWrap();
+
+    /**
+     * The 'traditional' version of hasPrevious, this will return false at the beginning of the array.
+     * @return true if there is a previous element without wrapping.
+     */
+    boolean hasPreviousNoWrap();
+
+    int nextIndex();
+
+    int previousIndex();
+
+    /**
+     * Resets the iterator to the same state as if it were newly created.
+     */
+    void reset();
+
+    ///////////////////////////////////////////////////////////////////////////
+    // Static Utility Methods
+    ///////////////////////////////////////////////////////////////////////////
+    public static IntCircularIterator of(final int[] elements) {
+        return of(elements, 0, Integer.MAX_VALUE);
+    }
+
+    public static IntCircularIterator of(final int[] elements, final int startIdx) {
+        return of(elements, startIdx, Integer.MAX_VALUE);
+    }
+
+    public static IntCircularIterator of(final int[] elements, final int startIdx, final int maxSteps) {
+        return new IntCircularIteratorImpl(elements, startIdx, maxSteps);
+    }
+
+    /**
+     * Creates an iterator that passes over the array the given number of times.
+     * @param elements - The array to iterate over.
+     * @param maxEpochs - The number of passes over the array.
+     * @return The iterator.
+     */
+    public static IntCircularIterator ofEpochs(final int[] elements, final int maxEpochs) {
+        assert maxEpochs > 0 : "Max epochs must be greater than 0.";
+        return of(elements, 0, elements.length * maxEpochs);
+    }
+
+    /**
+     * Creates an iterator over the sequence the generator gives for the indexes 0 to size - 1, worked out as the
+     * iterator moves rather than stored. setInt() is not supported.
+     * @param size - The length of the sequence.
+     * @param generator - Gives the element at each index.
+     * @param startIdx - The index to start at.
+     * @param maxSteps - The maximum number of steps.
+     * @return The iterator.
+     */
+    public static IntCircularIterator generating(final int size, final IntUnaryOperator generator, final int startIdx, final int maxSteps) {
+        return new GeneratedIntCircularIteratorImpl(size, generator, startIdx, maxSteps);
+    }
+
+    /**
+     * Creates an iterator that passes over the generated sequence the given number of times, see generating(int,
+     * IntUnaryOperator, int, int).
+     * @param size - The length of the sequence.
+     * @param generator - Gives the element at each index.
+     * @param maxEpochs - The number of passes over the sequence.
+     * @return The iterator.
+     */
+    public static IntCircularIterator generatingEpochs(final int size, final IntUnaryOperator generator, final int maxEpochs) {
+        assert maxEpochs > 0 : "Max epochs must be greater than 0.";
+        return generating(size, generator, 0, size * maxEpochs);
+    }
+}
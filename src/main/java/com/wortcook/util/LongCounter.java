@@ -0,0 +1,92 @@
+package com.wortcook.util;
+
+import java.util.function.LongSupplier;
+
+/**
+ * A long Counter that keeps its count and limit as primitives. getCount() and getLimit() still box to satisfy the
+ * Countable interface but count(), getAsLong() and the limit checks never do, so this is the counter to use on hot paths.
+ * This counter is not thread-safe.
+ */
+public class LongCounter implements Counter<Long>, LongSupplier {
+    private final long limit;
+    private long count = 0;
+
+    /**
+     * Creates a counter starting at 0 that counts up to the given limit.
+     * @param limit - The limit of the counter.
+     */
+    public LongCounter(final long limit) {
+        this.limit = limit;
+    }
+
+    @Override
+    public void count() {
+        count++;
+    }
+
+    /**
+     * Adds the passed number of steps to the count in one update.
+     * @param steps - The number of steps to count, must not be negative.
+     */
+    public void add(final long steps) {
+        assert steps >= 0 : "Steps must be greater than or equal to 0.";
+        count += steps;
+    }
+
+    /**
+     * Returns the current count without boxing.
+     * @return The current count.
+     */
+    @Override
+    public long getAsLong() {
+        return count;
+    }
+
+    /**
+     * Returns the limit without boxing.
+     * @return The limit.
+     */
+    public long getLimitAsLong() {
+        return limit;
+    }
+
+    @Override
+    public Long getCount() {
+        return count;
+    }
+
+    @Override
+    public Long getLimit() {
+        return limit;
+    }
+
+    @Override
+    public void resetCount() {
+        count = 0;
+    }
+
+    @Override
+    public boolean isUnder() {
+        return count < limit;
+    }
+
+    @Override
+    public boolean isOver() {
+        return count > limit;
+    }
+
+    @Override
+    public boolean isAt() {
+        return count == limit;
+    }
+
+    @Override
+    public boolean isAtOrUnder() {
+        return count <= limit;
+    }
+
+    @Override
+    public boolean isAtOrOver() {
+        return count >= limit;
+    }
+}
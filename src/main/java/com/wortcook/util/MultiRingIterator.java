@@ -0,0 +1,137 @@
+package com.wortcook.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.ToIntFunction;
+
+import com.wortcook.util.impl.ConcurrentMultiRingIteratorImpl;
+import com.wortcook.util.impl.MultiRingIteratorImpl;
+
+/**
+ * An iterator that interleaves several CircularListIterators, e.g. one ring per tenant, taking turns between the
+ * rings before moving on within any one of them. Each ring gets a quantum and the rings are served by deficit
+ * round-robin: on its turn a ring is credited its quantum and hands out elements while its credit covers their cost,
+ * anything left over carrying to its next turn. With every quantum and cost 1 this is plain round-robin, one element
+ * per ring per turn; with a cost function, e.g. the size of a request, each ring gets a share of the total cost in
+ * proportion to its quantum however its costs are spread.
+ * <br><br>
+ * A ring with no next element, because it is empty or has reached its limit, is dropped from the rotation when its
+ * turn comes, without holding up the others, and can be added again later. Rings can be added and removed at any
+ * time.
+ */
+public interface MultiRingIterator<T> extends OptionalIterator<T> {
+
+    /**
+     * Adds the ring to the end of the rotation with a quantum of 1.
+     * @param ring - The ring to add.
+     */
+    void addRing(CircularListIterator<T> ring);
+
+    /**
+     * Adds the ring to the end of the rotation.
+     * @param ring - The ring to add.
+     * @param quantum - The credit the ring is given each turn.
+     */
+    void addRing(CircularListIterator<T> ring, int quantum);
+
+    /**
+     * Takes the ring out of the rotation.
+     * @param ring - The ring to remove.
+     * @return True if the ring was in the rotation.
+     */
+    boolean removeRing(CircularListIterator<T> ring);
+
+    /**
+     * @return The number of rings in the rotation, rings found to have no next element are no longer counted.
+     */
+    int ringCount();
+
+    /**
+     * Returns the element the last call to next() returned. If next() has not been called, this will throw an
+     * IllegalStateException.
+     * @return The current element.
+     */
+    T at();
+
+    /**
+     * Returns the ring the last call to next() took its element from. If next() has not been called, this will throw
+     * an IllegalStateException.
+     * @return The ring of the current element.
+     */
+    CircularListIterator<T> atRing();
+
+    /**
+     * Builder for MultiRingIterator.
+     * @param <T> - The type of elements in the rings.
+     */
+    public static class Builder<T> {
+        private final List<CircularListIterator<T>> rings    = new ArrayList<>();
+        private final List<Integer>                 quanta   = new ArrayList<>();
+        private ToIntFunction<? super T>            cost     = null;
+        private boolean                             isConcurrent = false;
+
+        /*
+         * Adds the ring to the rotation with a quantum of 1.
+         * @param ring - The ring to add.
+         */
+        public Builder<T> add(final CircularListIterator<T> ring) {
+            return add(ring, 1);
+        }
+
+        /*
+         * Adds the ring to the rotation.
+         * @param ring - The ring to add.
+         * @param quantum - The credit the ring is given each turn.
+         */
+        public Builder<T> add(final CircularListIterator<T> ring, final int quantum) {
+            assert null != ring : "Ring cannot be null.";
+            assert quantum > 0 : "Quantum must be greater than 0.";
+            this.rings.add(ring);
+            this.quanta.add(quantum);
+            return this;
+        }
+
+        /*
+         * Sets the cost of each element charged against its ring's credit, by default every element costs 1.
+         * @param cost - Gives the cost of an element, must be greater than 0.
+         */
+        public Builder<T> withCost(final ToIntFunction<? super T> cost) {
+            assert null != cost : "Cost cannot be null.";
+            this.cost = cost;
+            return this;
+        }
+
+        /**
+         * Makes the iterator thread-safe, every call is guarded by a ReentrantLock.
+         * @return The builder.
+         */
+        public Builder<T> withConcurrency() {
+            this.isConcurrent = true;
+            return this;
+        }
+
+        /*
+         * Builds the MultiRingIterator over the rings added so far.
+         * @return The MultiRingIterator.
+         */
+        public MultiRingIterator<T> build() {
+            final MultiRingIterator<T> iterator;
+            if( isConcurrent ) {
+                iterator = new ConcurrentMultiRingIteratorImpl<T>(cost);
+            }else{
+                iterator = new MultiRingIteratorImpl<T>(cost);
+            }
+            for(int i = 0; i < rings.size(); i++) {
+                iterator.addRing(rings.get(i), quanta.get(i));
+            }
+            return iterator;
+        }
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+    // Static Utility Methods
+    ///////////////////////////////////////////////////////////////////////////
+    public static <T> Builder<T> builder() {
+        return new Builder<T>();
+    }
+}
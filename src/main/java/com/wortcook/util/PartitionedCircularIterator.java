@@ -0,0 +1,145 @@
+package com.wortcook.util;
+
+import java.util.List;
+
+import com.wortcook.util.impl.PartitionedCircularIteratorImpl;
+
+/**
+ * One worker's share of a circular pass over a list that several workers, e.g. separate JVMs, make together without
+ * overlapping. The pass is the sequence of steps a single CircularListIterator with the same start and limit would
+ * take, numbered from 0, and each worker is handed a fixed subset of those steps worked out from its index and the
+ * number of workers alone, so nothing has to be shared between the workers at run time.
+ * <br><br>
+ * By default the steps are dealt out in a stride, worker w taking steps w, w + n, w + 2n and so on for n workers, so
+ * the workers move through each epoch together. With inBlocks() each worker instead takes one contiguous run of steps.
+ * Either way the epoch of a step, the step divided by the size of the list, is the same for every worker, and the
+ * maximum number of steps is that of the whole pass.
+ * <br><br>
+ * Unlike CircularListIterator a worker does not move on past its last step to the end of the list, as those elements
+ * belong to other workers.
+ */
+public interface PartitionedCircularIterator<T> extends OptionalIterator<T>, Countable<Integer> {
+
+    /**
+     * Returns the element the last call to next() returned. If next() has not been called since the iterator was
+     * created or reset, this will throw an IllegalStateException.
+     * @return The current element.
+     */
+    T at();
+
+    /**
+     * Returns the index in the list of the element the last call to next() returned. If next() has not been called
+     * since the iterator was created or reset, this will throw an IllegalStateException.
+     * @return The index of the current element.
+     */
+    int atIndex();
+
+    /**
+     * Returns the number of the step of the whole pass the last call to next() took. If next() has not been called
+     * since the iterator was created or reset, this will throw an IllegalStateException.
+     * @return The step of the whole pass, counting from 0.
+     */
+    long atStep();
+
+    /**
+     * @return The epoch of the whole pass the next call to next() is in, counting from 0.
+     */
+    int epoch();
+
+    /**
+     * @return The index of this worker, from 0 to the number of workers - 1.
+     */
+    int worker();
+
+    /**
+     * @return The number of workers sharing the pass.
+     */
+    int workerCount();
+
+    /**
+     * Returns the list of elements being iterated over.
+     * @return The list of elements.
+     */
+    List<T> elements();
+
+    /**
+     * Resets the iterator to the same state as if it were newly created.
+     */
+    void reset();
+
+    /**
+     * Builder for PartitionedCircularIterator, created from CircularListIterator.Builder.partition(int, int).
+     * @param <T> - The type of elements in the list.
+     */
+    public static class Builder<T> {
+        private final List<T> elementsList;
+        private final int     worker;
+        private final int     workerCount;
+        private int           startIdx;
+        private int           maxSteps;
+        private int           maxEpochs;
+        private boolean       inBlocks = false;
+
+        Builder(final List<T> elementsList, final int worker, final int workerCount, final int startIdx,
+                final int maxSteps, final int maxEpochs) {
+            this.elementsList = elementsList;
+            this.worker = worker;
+            this.workerCount = workerCount;
+            this.startIdx = startIdx;
+            this.maxSteps = maxSteps;
+            this.maxEpochs = maxEpochs;
+        }
+
+        /*
+         * Sets the index of the element the whole pass starts at.
+         * @param startIdx - The index to start at.
+         */
+        public Builder<T> startingAt(final int startIdx) {
+            assert startIdx >= 0 : "Start index must be greater than or equal to 0.";
+            this.startIdx = startIdx;
+            return this;
+        }
+
+        /*
+         * Sets the maximum number of steps of the whole pass.
+         * @param maxSteps - The maximum number of steps of the whole pass.
+         */
+        public Builder<T> withLimit(final int maxSteps) {
+            assert maxSteps > 0 : "Max steps must be greater than 0.";
+            this.maxSteps = maxSteps;
+            this.maxEpochs = -1;
+            return this;
+        }
+
+        /*
+         * Sets the maximum number of epochs of the whole pass.
+         * @param maxEpochs - The maximum number of epochs of the whole pass.
+         */
+        public Builder<T> withEpochs(final int maxEpochs) {
+            assert maxEpochs > 0 : "Max epochs must be greater than 0.";
+            this.maxEpochs = maxEpochs;
+            return this;
+        }
+
+        /*
+         * Gives each worker one contiguous run of the steps of the whole pass rather than every n-th step, e.g. so
+         * that each worker reads a contiguous range of a file. The runs differ in length by at most one step.
+         */
+        public Builder<T> inBlocks() {
+            this.inBlocks = true;
+            return this;
+        }
+
+        /*
+         * Builds this worker's PartitionedCircularIterator over the list, which is used in place. Every worker must
+         * build with the same list, start, limit or epochs, and partitioning.
+         * @return The PartitionedCircularIterator.
+         */
+        public PartitionedCircularIterator<T> build() {
+            if( maxEpochs > 0 ) {
+                maxSteps = (int) Math.min(Integer.MAX_VALUE, (long) elementsList.size() * maxEpochs);
+            }
+            return new PartitionedCircularIteratorImpl<T>(elementsList, worker, workerCount, startIdx, maxSteps, inBlocks);
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.wortcook.util;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.wortcook.util.impl.CircularListIteratorImpl;
+
+/**
+ * One read-only copy of a list shared by any number of independent cursors, e.g. worker threads that each want their
+ * own round-robin position over the same ring of backends. The elements are copied once when the ring is created and
+ * every cursor reads that copy in place, so handing out a cursor costs a small iterator object rather than a copy of
+ * the list.
+ * <br><br>
+ * Each cursor is a plain CircularListIterator with its own position and step count and nothing shared that changes,
+ * so iterating takes no lock and no atomic operation. A cursor is not itself thread-safe; it is meant to be used by
+ * one thread, see forThread(). Cursors that would change the list throw an UnsupportedOperationException.
+ * <br><br>
+ * Cursors start at staggered positions so that threads starting together do not all pick the same element. The k-th
+ * cursor starts at the fractional part of k times the golden ratio scaled to the size of the list, which spreads any
+ * number of cursors evenly around the ring without knowing how many there will be.
+ * @param <T> - The type of elements in the ring.
+ */
+public class SharedRing<T> {
+    private final List<T> elements;
+    private final int maxSteps;
+    private final AtomicInteger cursors = new AtomicInteger();
+    private final ThreadLocal<CircularListIterator<T>> perThread = ThreadLocal.withInitial(this::cursor);
+
+    /**
+     * @param elements - The elements of the ring, copied once.
+     * @param maxSteps - The maximum number of steps each cursor can take, see CircularListIterator.
+     */
+    @SuppressWarnings("unchecked")
+    public SharedRing(final Collection<? extends T> elements, final int maxSteps) {
+        assert null != elements : "Elements cannot be null.";
+        assert maxSteps > 0 : "Max steps must be greater than 0.";
+        this.elements = Collections.unmodifiableList(Arrays.asList((T[]) elements.toArray()));
+        this.maxSteps = maxSteps;
+    }
+
+    /**
+     * Hands out a new cursor starting at the next staggered position.
+     * @return A CircularListIterator over the ring with its own position and step count.
+     */
+    public CircularListIterator<T> cursor() {
+        return cursor(cursors.getAndIncrement());
+    }
+
+    /**
+     * Returns a cursor starting at the staggered position of the passed cursor number, e.g. the index of a worker,
+     * so that a worker that is restarted picks up at the same place in the ring.
+     * @param k - The number of the cursor.
+     * @return A CircularListIterator over the ring with its own position and step count.
+     */
+    public CircularListIterator<T> cursor(final int k) {
+        assert k >= 0 : "Cursor number must be greater than or equal to 0.";
+        return new CircularListIteratorImpl<T>(elements, startOf(k), maxSteps);
+    }
+
+    /**
+     * Returns the calling thread's cursor, handing one out the first time a thread asks.
+     * @return The calling thread's CircularListIterator over the ring.
+     */
+    public CircularListIterator<T> forThread() {
+        return perThread.get();
+    }
+
+    /**
+     * @return A read-only view of the elements of the ring.
+     */
+    public List<T> elements() {
+        return elements;
+    }
+
+    public int size() {
+        return elements.size();
+    }
+
+    /**
+     * Returns the index the k-th cursor starts at.
+     * @param k - The number of the cursor.
+     * @return The starting index, 0 for an empty ring.
+     */
+    public int startOf(final int k) {
+        final long fraction = (k * Hashing.GOLDEN) >>> 32;
+        return (int) ((fraction * elements.size()) >>> 32);
+    }
+}
@@ -0,0 +1,116 @@
+package com.wortcook.util;
+
+import java.util.List;
+
+import com.wortcook.util.impl.ShuffledCircularIteratorImpl;
+
+/**
+ * An iterator that passes over a list once per epoch visiting every element once, in a different pseudo-random order
+ * each epoch, e.g. for training or replay loops. The orders come from the seed alone so the same seed always gives
+ * the same sequence of epochs.
+ * <br><br>
+ * The list is not copied or shuffled. Each step is mapped to an index through a permutation of the indexes chosen by
+ * the seed and the epoch, so the iterator holds no more than a few numbers whatever the size of the list. The list
+ * must not change size while it is iterated.
+ * <br><br>
+ * As with CircularListIterator a maximum number of steps, i.e. calls to next(), can be set after which hasNext()
+ * returns false. The step count is also the position in the sequence, so resetting it goes back to the first epoch.
+ */
+public interface ShuffledCircularIterator<T> extends OptionalIterator<T>, Countable<Integer> {
+
+    /**
+     * Returns the element the last call to next() returned. If next() has not been called since the iterator was
+     * created or reset, this will throw an IllegalStateException.
+     * @return The current element.
+     */
+    T at();
+
+    /**
+     * Returns the index in the list of the element the last call to next() returned. If next() has not been called
+     * since the iterator was created or reset, this will throw an IllegalStateException.
+     * @return The index of the current element.
+     */
+    int atIndex();
+
+    /**
+     * @return The epoch the next call to next() is in, counting from 0.
+     */
+    int epoch();
+
+    /**
+     * Returns the index of the element visited at the passed position of the passed epoch, without moving the
+     * iterator. For each epoch this is a permutation of the indexes of the list.
+     * @param epoch - The epoch, counting from 0.
+     * @param position - The position within the epoch, from 0 to the size of the list - 1.
+     * @return The index of the element.
+     */
+    int indexOf(int epoch, int position);
+
+    /**
+     * Moves the iterator to the start of the passed epoch, the step count becoming epoch times the size of the list.
+     * The iterator stops early if that goes past the maximum number of steps.
+     * @param epoch - The number of epochs to skip.
+     */
+    void seekEpoch(int epoch);
+
+    /**
+     * Returns the list of elements being iterated over, in their original order.
+     * @return The list of elements.
+     */
+    List<T> elements();
+
+    /**
+     * Resets the iterator to the same state as if it were newly created.
+     */
+    void reset();
+
+    /**
+     * Builder for ShuffledCircularIterator, created from CircularListIterator.Builder.shuffledEachEpoch(long).
+     * @param <T> - The type of elements in the list.
+     */
+    public static class Builder<T> {
+        private final List<T> elementsList;
+        private final long    seed;
+        private int           maxSteps;
+        private int           maxEpochs;
+
+        Builder(final List<T> elementsList, final long seed, final int maxSteps, final int maxEpochs) {
+            this.elementsList = elementsList;
+            this.seed = seed;
+            this.maxSteps = maxSteps;
+            this.maxEpochs = maxEpochs;
+        }
+
+        /*
+         * Sets the maximum number of steps the iterator can take before hasNext() returns false.
+         * @param maxSteps - The maximum number of steps the iterator can take.
+         */
+        public Builder<T> withLimit(final int maxSteps) {
+            assert maxSteps > 0 : "Max steps must be greater than 0.";
+            this.maxSteps = maxSteps;
+            this.maxEpochs = -1;
+            return this;
+        }
+
+        /*
+         * Sets the maximum number of epochs, each a pass over every element of the list.
+         * @param maxEpochs - The maximum number of epochs the iterator can take.
+         */
+        public Builder<T> withEpochs(final int maxEpochs) {
+            assert maxEpochs > 0 : "Max epochs must be greater than 0.";
+            this.maxEpochs = maxEpochs;
+            return this;
+        }
+
+        /*
+         * Builds the ShuffledCircularIterator over the list, which is used in place.
+         * @return The ShuffledCircularIterator.
+         */
+        public ShuffledCircularIterator<T> build() {
+            if( maxEpochs > 0 ) {
+                maxSteps = (int) Math.max(1, Math.min(Integer.MAX_VALUE, (long) elementsList.size() * maxEpochs));
+            }
+            return new ShuffledCircularIteratorImpl<T>(elementsList, seed, maxSteps);
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.wortcook.util;
+
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * A thread-safe Counter meant for counting across many threads, e.g. requests handled by a pool of workers. Increments
+ * are spread across the contention cells of a LongAdder so threads rarely touch the same cache line and count() stays
+ * cheap no matter how many threads call it.
+ * <br><br>
+ * Reading the count sums the cells, which is not an atomic snapshot. While other threads are counting the value read
+ * may miss the increments in flight, at most one per counting thread, so the limit checks are correct within that
+ * bound. Once isAtOrOver() has seen the limit it keeps returning true, without summing the cells again, until
+ * resetCount() is called. Use AtomicCounter when the limit must be exact.
+ */
+public class StripedCounter implements Counter<Long>, LongSupplier {
+    private final LongAdder cells = new LongAdder();
+    private final long limit;
+    private volatile boolean reached = false;
+
+    /**
+     * Creates a counter starting at 0 that counts up to the given limit.
+     * @param limit - The limit of the counter.
+     */
+    public StripedCounter(final long limit) {
+        this.limit = limit;
+    }
+
+    @Override
+    public void count() {
+        cells.increment();
+    }
+
+    /**
+     * Returns the sum of the cells.
+     * @return The current count.
+     */
+    @Override
+    public long getAsLong() {
+        return cells.sum();
+    }
+
+    public long getLimitAsLong() {
+        return limit;
+    }
+
+    @Override
+    public Long getCount() {
+        return cells.sum();
+    }
+
+    @Override
+    public Long getLimit() {
+        return limit;
+    }
+
+    /**
+     * Resets the count to 0. Increments made by other threads while resetting may or may not be kept.
+     */
+    @Override
+    public void resetCount() {
+        cells.reset();
+        reached = false;
+    }
+
+    @Override
+    public boolean isAtOrOver() {
+        if (reached) {
+            return true;
+        }
+        if (cells.sum() >= limit) {
+            reached = true;
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public boolean isUnder() {
+        return !isAtOrOver();
+    }
+
+    @Override
+    public boolean isOver() {
+        return cells.sum() > limit;
+    }
+
+    @Override
+    public boolean isAt() {
+        return cells.sum() == limit;
+    }
+
+    @Override
+    public boolean isAtOrUnder() {
+        return cells.sum() <= limit;
+    }
+}
@@ -0,0 +1,136 @@
+package com.wortcook.util;
+
+import java.util.List;
+import java.util.function.ToIntFunction;
+
+import com.wortcook.util.impl.ConcurrentWeightedCircularIteratorImpl;
+import com.wortcook.util.impl.WeightedCircularIteratorImpl;
+
+/**
+ * An iterator that cycles through a list handing out each element in proportion to its weight, e.g. to spread
+ * requests over backends of different sizes without repeating elements in the list. The picks are interleaved
+ * smoothly: with weights 3 and 1 the sequence is A A B A rather than A A A B. An element with a weight of 0 is kept in
+ * the list but not picked until it is given a positive weight.
+ * <br><br>
+ * As with CircularListIterator a maximum number of steps, i.e. calls to next(), can be set after which hasNext()
+ * returns false. One epoch is as many steps as the total weight of the elements, so each element is picked as many
+ * times as its weight. The elements are expected to be distinct.
+ */
+public interface WeightedCircularIterator<T> extends OptionalIterator<T>, Countable<Integer> {
+
+    /**
+     * Returns the element the last call to next() returned. If next() has not been called since the iterator was
+     * created, reset, or the element removed, this will throw an IllegalStateException.
+     * @return The current element.
+     */
+    T at();
+
+    /**
+     * Returns the weight the passed element is picked with.
+     * @param element - An element of the list.
+     * @return The weight of the element.
+     */
+    int weightOf(T element);
+
+    /**
+     * Changes the weight of the passed element. The new weight applies from the next pick on without disturbing the
+     * interleaving of the other elements.
+     * @param element - An element of the list.
+     * @param weight - The new weight, 0 to stop picking the element.
+     */
+    void setWeight(T element, int weight);
+
+    /**
+     * Asks the weight function for the weight of every element again, e.g. after the capacities it reads from changed.
+     */
+    void reweigh();
+
+    /**
+     * Adds the element to the end of the list with the weight the weight function gives it.
+     * @param element - The element to add.
+     */
+    void add(T element);
+
+    /**
+     * Returns the list of elements being iterated over.
+     * @return The list of elements.
+     */
+    List<T> elements();
+
+    /**
+     * Resets the iterator to the same state as if it were newly created.
+     */
+    void reset();
+
+    /**
+     * Builder for WeightedCircularIterator, created from CircularListIterator.Builder.withWeights(ToIntFunction).
+     * @param <T> - The type of elements in the list.
+     */
+    public static class Builder<T> {
+        private final List<T>                  elementsList;
+        private final ToIntFunction<? super T> weights;
+        private int                            maxSteps;
+        private int                            maxEpochs;
+        private boolean                        isConcurrent;
+
+        Builder(final List<T> elementsList, final ToIntFunction<? super T> weights, final int maxSteps,
+                final int maxEpochs, final boolean isConcurrent) {
+            this.elementsList = elementsList;
+            this.weights = weights;
+            this.maxSteps = maxSteps;
+            this.maxEpochs = maxEpochs;
+            this.isConcurrent = isConcurrent;
+        }
+
+        /*
+         * Sets the maximum number of steps the iterator can take before hasNext() returns false.
+         * @param maxSteps - The maximum number of steps the iterator can take.
+         */
+        public Builder<T> withLimit(final int maxSteps) {
+            assert maxSteps > 0 : "Max steps must be greater than 0.";
+            this.maxSteps = maxSteps;
+            this.maxEpochs = -1;
+            return this;
+        }
+
+        /*
+         * Sets the maximum number of epochs, each as many steps as the total weight of the elements when the iterator
+         * is created.
+         * @param maxEpochs - The maximum number of epochs the iterator can take.
+         */
+        public Builder<T> withEpochs(final int maxEpochs) {
+            assert maxEpochs > 0 : "Max epochs must be greater than 0.";
+            this.maxEpochs = maxEpochs;
+            return this;
+        }
+
+        /**
+         * Makes the iterator thread-safe, every call is guarded by a ReentrantLock.
+         * @return The builder.
+         */
+        public Builder<T> withConcurrency() {
+            this.isConcurrent = true;
+            return this;
+        }
+
+        /*
+         * Builds the WeightedCircularIterator over the list, which is used in place.
+         * @return The WeightedCircularIterator.
+         */
+        public WeightedCircularIterator<T> build() {
+            if( maxEpochs > 0 ) {
+                long totalWeight = 0;
+                for(T element : elementsList) {
+                    totalWeight += weights.applyAsInt(element);
+                }
+                maxSteps = (int) Math.max(1, Math.min(Integer.MAX_VALUE, totalWeight * maxEpochs));
+            }
+
+            if( isConcurrent ) {
+                return new ConcurrentWeightedCircularIteratorImpl<T>(elementsList, weights, maxSteps);
+            }else{
+                return new WeightedCircularIteratorImpl<T>(elementsList, weights, maxSteps);
+            }
+        }
+    }
+}
@@ -0,0 +1,435 @@
+package com.wortcook.util;
+
+import static com.wortcook.Wort.withLock;
+
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Runs jobs on a fixed set of worker threads, each worker owning a CircularListIterator of its pending jobs. A worker
+ * takes its jobs oldest first, and once its ring is empty it steals from the worker with the deepest ring, taking in
+ * one go the half of that ring its owner would reach last, rather than a job at a time. This keeps every worker busy
+ * when the jobs land unevenly, e.g. when one job fans out into many more.
+ * <br><br>
+ * A job submitted from one of the workers goes on that worker's ring, a job submitted from any other thread goes on
+ * the rings in turn, or on the ring given to execute(int, Runnable). Workers with nothing to take or steal wait until
+ * a job is submitted. The steals, the jobs they moved and the depth of each ring are kept as metrics.
+ * <br><br>
+ * Each ring runs over a LinkedList under the ring's own lock, the owner taking from the front and new jobs going on
+ * the back, both O(1), and a steal moving the back half of the list with one sublist copy and clear.
+ */
+public class WorkStealingScheduler implements Executor {
+    private final Lane[] lanes;
+    private final Thread[] workers;
+    private final ThreadLocal<Lane> ownLane = new ThreadLocal<>();
+    private final AtomicInteger nextLane = new AtomicInteger();
+
+    //the number of jobs waiting on the rings, not counting those running
+    private final AtomicInteger pending = new AtomicInteger();
+    private final AtomicInteger idle = new AtomicInteger();
+    private final ReentrantLock idleLock = new ReentrantLock();
+    private final Condition work = idleLock.newCondition();
+    private volatile boolean shutdown = false;
+
+    WorkStealingScheduler(final int workerCount, final ThreadFactory threadFactory) {
+        this.lanes = new Lane[workerCount];
+        this.workers = new Thread[workerCount];
+        for (int i = 0; i < workerCount; i++) {
+            lanes[i] = new Lane(i);
+        }
+        for (int i = 0; i < workerCount; i++) {
+            final Lane lane = lanes[i];
+            workers[i] = threadFactory.newThread(() -> runWorker(lane));
+        }
+        for (Thread worker : workers) {
+            worker.start();
+        }
+    }
+
+    /**
+     * Creates a builder for a scheduler.
+     * @return The builder.
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+    // Submitting
+    ///////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Puts the job on the submitting worker's ring, or when called from any other thread on the next ring in turn.
+     * @param job - The job to run.
+     * @throws RejectedExecutionException if the scheduler has been shut down.
+     */
+    @Override
+    public void execute(final Runnable job) {
+        final Lane own = ownLane.get();
+        if( null != own ) {
+            submit(own, job);
+        }else{
+            submit(lanes[Math.floorMod(nextLane.getAndIncrement(), lanes.length)], job);
+        }
+    }
+
+    /**
+     * Puts the job on the passed worker's ring.
+     * @param worker - The index of the worker, from 0 to getWorkerCount() - 1.
+     * @param job - The job to run.
+     * @throws RejectedExecutionException if the scheduler has been shut down.
+     */
+    public void execute(final int worker, final Runnable job) {
+        assert worker >= 0 && worker < lanes.length : "Worker must be between 0 and the worker count - 1.";
+        submit(lanes[worker], job);
+    }
+
+    /**
+     * Stops the scheduler taking new jobs. The jobs already submitted are still run, after which the workers end.
+     */
+    public void shutdown() {
+        shutdown = true;
+        withLock(idleLock, work::signalAll);
+    }
+
+    /**
+     * @return True once shutdown() has been called.
+     */
+    public boolean isShutdown() {
+        return shutdown;
+    }
+
+    /**
+     * Waits for the workers to end after a shutdown.
+     * @param timeout - The longest time to wait.
+     * @param unit - The unit of the timeout.
+     * @return True if every worker has ended, false if the time ran out first.
+     * @throws InterruptedException if interrupted while waiting.
+     */
+    public boolean awaitTermination(final long timeout, final TimeUnit unit) throws InterruptedException {
+        final long deadline = System.nanoTime() + unit.toNanos(timeout);
+        for (Thread worker : workers) {
+            final long remaining = deadline - System.nanoTime();
+            if (remaining > 0) {
+                TimeUnit.NANOSECONDS.timedJoin(worker, remaining);
+            }
+            if (worker.isAlive()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+    // Metrics
+    ///////////////////////////////////////////////////////////////////////////
+
+    /**
+     * @return The number of workers.
+     */
+    public int getWorkerCount() {
+        return lanes.length;
+    }
+
+    /**
+     * @return The number of jobs waiting on all the rings, not counting those running.
+     */
+    public int getPending() {
+        return pending.get();
+    }
+
+    /**
+     * @param worker - The index of the worker.
+     * @return The number of jobs waiting on the worker's ring.
+     */
+    public int queueDepth(final int worker) {
+        return lanes[worker].depth;
+    }
+
+    /**
+     * @return The number of jobs waiting on each worker's ring, by worker index.
+     */
+    public int[] queueDepths() {
+        final int[] depths = new int[lanes.length];
+        for (int i = 0; i < lanes.length; i++) {
+            depths[i] = lanes[i].depth;
+        }
+        return depths;
+    }
+
+    /**
+     * @param worker - The index of the worker.
+     * @return The number of times the worker stole from another worker's ring.
+     */
+    public long getSteals(final int worker) {
+        return lanes[worker].steals;
+    }
+
+    /**
+     * @return The number of steals by all the workers.
+     */
+    public long getSteals() {
+        long steals = 0;
+        for (Lane lane : lanes) {
+            steals += lane.steals;
+        }
+        return steals;
+    }
+
+    /**
+     * @return The number of jobs moved between rings by all the steals.
+     */
+    public long getStolen() {
+        long stolen = 0;
+        for (Lane lane : lanes) {
+            stolen += lane.stolen;
+        }
+        return stolen;
+    }
+
+    /**
+     * @return The number of jobs run, including those that threw.
+     */
+    public long getCompleted() {
+        long completed = 0;
+        for (Lane lane : lanes) {
+            completed += lane.completed;
+        }
+        return completed;
+    }
+
+    /**
+     * @return The number of jobs that threw an exception, the worker carrying on with its next job.
+     */
+    public long getFailed() {
+        long failed = 0;
+        for (Lane lane : lanes) {
+            failed += lane.failed;
+        }
+        return failed;
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+    // Workers
+    ///////////////////////////////////////////////////////////////////////////
+    private void submit(final Lane lane, final Runnable job) {
+        assert null != job : "Job cannot be null.";
+        if (shutdown) {
+            throw new RejectedExecutionException("Scheduler has been shut down.");
+        }
+        lane.push(job);
+        pending.incrementAndGet();
+        if (idle.get() > 0) {
+            withLock(idleLock, work::signal);
+        }
+    }
+
+    private void runWorker(final Lane lane) {
+        ownLane.set(lane);
+        try {
+            while (true) {
+                Runnable job = lane.take();
+                if (null == job && steal(lane)) {
+                    job = lane.take();
+                }
+                if (null != job) {
+                    pending.decrementAndGet();
+                    run(lane, job);
+                } else if (!awaitWork()) {
+                    return;
+                }
+            }
+        } finally {
+            ownLane.remove();
+        }
+    }
+
+    private void run(final Lane lane, final Runnable job) {
+        try {
+            job.run();
+        } catch (RuntimeException e) {
+            lane.failed++;
+        } finally {
+            lane.completed++;
+        }
+    }
+
+    /**
+     * Moves the back half of the deepest other ring on to the thief's ring.
+     * @return True if anything was moved.
+     */
+    private boolean steal(final Lane thief) {
+        Lane victim = null;
+        int deepest = 0;
+        for (int i = 1; i < lanes.length; i++) {
+            final Lane lane = lanes[(thief.index + i) % lanes.length];
+            final int depth = lane.depth;
+            if (depth > deepest) {
+                victim = lane;
+                deepest = depth;
+            }
+        }
+        if (null == victim) {
+            return false;
+        }
+        final List<Runnable> half = victim.split();
+        if (half.isEmpty()) {
+            return false;
+        }
+        thief.splice(half);
+        thief.steals++;
+        thief.stolen += half.size();
+        return true;
+    }
+
+    /**
+     * Waits until a job is pending somewhere.
+     * @return False if the worker should end, the scheduler being shut down with nothing left to run.
+     */
+    private boolean awaitWork() {
+        idleLock.lock();
+        idle.incrementAndGet();
+        try {
+            while (0 == pending.get()) {
+                if (shutdown) {
+                    return false;
+                }
+                work.await();
+            }
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } finally {
+            idle.decrementAndGet();
+            idleLock.unlock();
+        }
+    }
+
+    /**
+     * A worker's ring of jobs. The ring is only moved under its lock, and between calls it is never positioned, so
+     * its next element is always the front of the list.
+     */
+    private static final class Lane {
+        final int index;
+        final ReentrantLock lock = new ReentrantLock();
+        final List<Runnable> jobs = new LinkedList<>();
+        final CircularListIterator<Runnable> ring = CircularListIterator.<Runnable>builder().over(jobs).build();
+
+        //depth is written under the lock, the counters only by the owning worker, all read from any thread
+        volatile int depth = 0;
+        volatile long steals = 0;
+        volatile long stolen = 0;
+        volatile long completed = 0;
+        volatile long failed = 0;
+
+        Lane(final int index) {
+            this.index = index;
+        }
+
+        void push(final Runnable job) {
+            withLock(lock, () -> {
+                jobs.add(job);
+                depth = jobs.size();
+            });
+        }
+
+        /**
+         * Takes the job at the front of the ring, the step count is reset each time so the ring never reaches its
+         * limit.
+         * @return The job, or null if the ring is empty.
+         */
+        Runnable take() {
+            return withLock(lock, () -> {
+                if (!ring.hasNext()) {
+                    return null;
+                }
+                final Runnable job = ring.next();
+                ring.remove();
+                ring.resetCount();
+                depth = jobs.size();
+                return job;
+            });
+        }
+
+        /**
+         * Removes the back half of the ring, rounded up, the jobs the owner would reach last.
+         * @return The jobs removed, in the order they were in.
+         */
+        List<Runnable> split() {
+            return withLock(lock, () -> {
+                final int size = jobs.size();
+                final List<Runnable> back = jobs.subList(size / 2, size);
+                final List<Runnable> half = new ArrayList<>(back);
+                back.clear();
+                depth = jobs.size();
+                return half;
+            });
+        }
+
+        void splice(final List<Runnable> half) {
+            withLock(lock, () -> {
+                jobs.addAll(half);
+                depth = jobs.size();
+            });
+        }
+    }
+
+    /**
+     * Builder for WorkStealingScheduler.
+     */
+    public static class Builder {
+        private int workerCount = Runtime.getRuntime().availableProcessors();
+        private ThreadFactory threadFactory = null;
+
+        Builder() {
+        }
+
+        /*
+         * Sets the number of workers, by default the number of available processors.
+         * @param workerCount - The number of workers.
+         */
+        public Builder withWorkers(final int workerCount) {
+            assert workerCount > 0 : "Worker count must be greater than 0.";
+            this.workerCount = workerCount;
+            return this;
+        }
+
+        /*
+         * Sets the factory the worker threads are made with, by default they are daemon threads.
+         * @param threadFactory - The factory for the worker threads.
+         */
+        public Builder withThreadFactory(final ThreadFactory threadFactory) {
+            assert null != threadFactory : "Thread factory cannot be null.";
+            this.threadFactory = threadFactory;
+            return this;
+        }
+
+        /*
+         * Builds the scheduler and starts its workers.
+         * @return The scheduler.
+         */
+        public WorkStealingScheduler build() {
+            final ThreadFactory factory;
+            if( null != threadFactory ) {
+                factory = threadFactory;
+            }else{
+                final AtomicInteger made = new AtomicInteger();
+                factory = runnable -> {
+                    final Thread thread = new Thread(runnable, "work-stealing-" + made.getAndIncrement());
+                    thread.setDaemon(true);
+                    return thread;
+                };
+            }
+            return new WorkStealingScheduler(workerCount, factory);
+        }
+    }
+}
@@ -0,0 +1,189 @@
+package com.wortcook.util.impl;
+
+import java.util.NoSuchElementException;
+
+import com.wortcook.util.Countable;
+import com.wortcook.util.Counter;
+import com.wortcook.util.IntCounter;
+
+/**
+ * The index and step bookkeeping shared by the primitive circular iterators. It follows the same wrap, epoch and
+ * step-limit rules as CircularListIteratorImpl but keeps the index in primitive fields and counts steps with an
+ * IntCounter so that moving the iterator never allocates. Subclasses only hold the array and read the element at the index returned by advance() or retreat().
+ */
+public abstract class AbstractPrimitiveCircularIterator implements Countable<Integer> {
+    private static final int NOT_INITIALIZED = -1;
+
+    private final int size;
+    private final IntCounter stepCount;
+    private int starterIdx;
+    private int currentIndex = NOT_INITIALIZED;
+
+    /**
+     * @param size - The number of elements being iterated over.
+     * @param index - The index to start at, taken modulo the size.
+     * @param maxSteps - The maximum number of steps the iterator can take before hasNext() and hasPrevious() return false.
+     */
+    protected AbstractPrimitiveCircularIterator(final int size, final int index, final int maxSteps) {
+        assert size >= 0 : "Size must be greater than or equal to 0.";
+        assert index >= 0 : "Index must be greater than or equal to 0.";
+        assert maxSteps > 0 : "Max steps must be greater than 0.";
+
+        this.size = size;
+        this.stepCount = Counter.of(maxSteps);
+        this.starterIdx = (0 == size)?0:(index % size);
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+    // Iteration
+    ///////////////////////////////////////////////////////////////////////////
+    public boolean hasNext() {
+        return 0 != size && //empty arrays always return false
+                (stepCount.isUnder() || hasNextNoWrap());
+    }
+
+    public boolean hasPrevious() {
+        return 0 != size && (stepCount.isUnder() || hasPreviousNoWrap());
+    }
+
+    /**
+     * The 'traditional' version of hasNext for an iterator. If the iterator is at the end of the array, this will return false.
+     * @return true if there is a next element, false otherwise, false if the array is empty.
+     */
+    public boolean hasNextNoWrap() {
+        return (NOT_INITIALIZED == currentIndex) ? 0 != size : currentIndex < size - 1;
+    }
+
+    /**
+     * The 'traditional' version of hasPrevious for an iterator. If the iterator is at the beginning of the array, this will return false.
+     * @return true if there is a previous element, false otherwise, false if the array is empty.
+     */
+    public boolean hasPreviousNoWrap() {
+        return (NOT_INITIALIZED == currentIndex) ? false : currentIndex > 0;
+    }
+
+    /**
+     * Returns the index of the next element. If the maximum number of steps is reached and the iterator is at the end of
+     * the array, this will return the size of the array per the ListIterator spec.
+     * @return The index of the next element.
+     */
+    public int nextIndex() {
+        return (NOT_INITIALIZED == currentIndex) ?
+            starterIdx % size
+            :
+            (stepCount.isUnder()) ?
+                (currentIndex + 1) % size :
+                (currentIndex < size - 1) ?
+                    currentIndex + 1 :
+                    size;
+    }
+
+    /**
+     * Returns the index of the previous element. If the maximum number of steps is reached and the iterator is at the
+     * beginning of the array, this will return -1 per the ListIterator spec.
+     * @return The index of the previous element.
+     */
+    public int previousIndex() {
+        return (NOT_INITIALIZED == currentIndex) ?
+            (0 == starterIdx) ?
+                size - 1
+                :
+                (starterIdx - 1) % size
+            :
+            (0 == currentIndex) ?
+                (stepCount.isUnder()) ?
+                    size - 1 :
+                    -1
+                :
+                currentIndex - 1;
+    }
+
+    /**
+     * Resets the iterator to the same state as if it were newly created.
+     */
+    public void reset() {
+        currentIndex = NOT_INITIALIZED;
+        stepCount.resetCount();
+    }
+
+    /**
+     * Moves the iterator forward and returns the index of the element it now points to.
+     * @return The index of the next element.
+     */
+    protected int advance() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        currentIndex = nextIndex();
+        stepCount.count();
+        return currentIndex;
+    }
+
+    /**
+     * Moves the iterator back and returns the index of the element it now points to.
+     * @return The index of the previous element.
+     */
+    protected int retreat() {
+        if (!hasPrevious()) {
+            throw new NoSuchElementException();
+        }
+        currentIndex = previousIndex();
+        stepCount.count();
+        return currentIndex;
+    }
+
+    /**
+     * Returns the index of the current element. If the iterator is not initialized by calling next or previous first,
+     * this will throw an IllegalStateException.
+     * @return The index of the current element.
+     */
+    protected int currentIndex() {
+        if (NOT_INITIALIZED == currentIndex) {
+            throw new IllegalStateException("Iterator not initialized, call next or previous first.");
+        }
+        return currentIndex;
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+    // Countable methods
+    ///////////////////////////////////////////////////////////////////////////
+    @Override
+    public Integer getCount() {
+        return stepCount.getCount();
+    }
+
+    @Override
+    public Integer getLimit() {
+        return stepCount.getLimit();
+    }
+
+    @Override
+    public void resetCount() {
+        stepCount.resetCount();
+    }
+
+    @Override
+    public boolean isUnder() {
+        return stepCount.isUnder();
+    }
+
+    @Override
+    public boolean isOver() {
+        return stepCount.isOver();
+    }
+
+    @Override
+    public boolean isAt() {
+        return stepCount.isAt();
+    }
+
+    @Override
+    public boolean isAtOrUnder() {
+        return stepCount.isAtOrUnder();
+    }
+
+    @Override
+    public boolean isAtOrOver() {
+        return stepCount.isAtOrOver();
+    }
+}
@@ -3,18 +3,22 @@ package com.wortcook.util.impl;
 import java.util.Collection;
 import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.function.Consumer;
 
 import com.wortcook.util.CircularListIterator;
 import com.wortcook.util.Counter;
+import com.wortcook.util.IntCounter;
 
 /**
  * An implementation of the CircularListIterator interface that provides methods for iterating over a list of elements.
  */
 public class CircularListIteratorImpl<T> implements CircularListIterator<T>{
+    private static final int NOT_INITIALIZED = -1;
+
     private final List<T> elements;
-    private Integer currentIndex = null;
+    private int currentIndex = NOT_INITIALIZED;
     private int starterIdx;
-    private final Counter<Integer> stepCount;
+    private final IntCounter stepCount;
 
     /////////////////////////////////////////////////////////////////
     // Constructors
@@ -48,7 +52,7 @@ public class CircularListIteratorImpl<T> implements CircularListIterator<T>{
      */
     @Override
     public boolean hasNextNoWrap(){
-        return (null == currentIndex) ? !elements.isEmpty() : currentIndex < elements.size() - 1;
+        return (NOT_INITIALIZED == currentIndex) ? !elements.isEmpty() : currentIndex < elements.size() - 1;
     }
 
     /**
@@ -57,7 +61,7 @@ public class CircularListIteratorImpl<T> implements CircularListIterator<T>{
      */
     @Override
     public boolean hasPreviousNoWrap() {
-        return (null == currentIndex) ? false : currentIndex > 0;
+        return (NOT_INITIALIZED == currentIndex) ? false : currentIndex > 0;
     }
 
 
@@ -87,6 +91,67 @@ public class CircularListIteratorImpl<T> implements CircularListIterator<T>{
                 (isUnder() || hasNextNoWrap());
     }
 
+    /**
+     * Claims the batch with one update of the step count, see claimable(long) for how many are claimed.
+     */
+    @Override
+    public int nextBatch(final T[] dest, final int n) {
+        assert null != dest : "Destination cannot be null.";
+        assert n >= 0 && n <= dest.length : "Batch size must be between 0 and the length of the destination.";
+
+        final int claimed = (int) claimable(n);
+        int index = claim(claimed);
+        final int size = elements.size();
+        for (int i = 0; i < claimed; i++) {
+            dest[i] = elements.get(index);
+            index = (index == size - 1) ? 0 : index + 1;
+        }
+        return claimed;
+    }
+
+    /**
+     * Claims the batch with one update of the step count before the consumer sees any of it.
+     */
+    @Override
+    public int drainTo(final Consumer<? super T> consumer, final int n) {
+        assert null != consumer : "Consumer cannot be null.";
+        assert n >= 0 : "Batch size must be greater than or equal to 0.";
+
+        final int claimed = (int) claimable(n);
+        int index = claim(claimed);
+        final int size = elements.size();
+        for (int i = 0; i < claimed; i++) {
+            consumer.accept(elements.get(index));
+            index = (index == size - 1) ? 0 : index + 1;
+        }
+        return claimed;
+    }
+
+    /**
+     * Moves the index and the step count in one go, see claimable(long) for where the iterator stops.
+     */
+    @Override
+    public long advance(final long steps) {
+        assert steps >= 0 : "Steps must be greater than or equal to 0.";
+        final long taken = claimable(steps);
+        claim(taken);
+        return taken;
+    }
+
+    /**
+     * Moves the index and the step count in one go, see rewindable(long) for where the iterator stops.
+     */
+    @Override
+    public long rewind(final long steps) {
+        assert steps >= 0 : "Steps must be greater than or equal to 0.";
+        final long taken = rewindable(steps);
+        if (0 != taken) {
+            currentIndex = (int) Math.floorMod(previousIndex() - taken + 1, (long) elements.size());
+            stepCount.add((int) taken);
+        }
+        return taken;
+    }
+
     /**
      * Removes the current element from the list. If the iterator is not initialized by either calling next(), previous(),
      * nextElement(), or previousElement() first, this will throw an IllegalStateException.
@@ -108,9 +173,9 @@ public class CircularListIteratorImpl<T> implements CircularListIterator<T>{
     @Override
     public void remove() {
         checkIndex();
-        elements.remove((int)currentIndex);
+        elements.remove(currentIndex);
         starterIdx = currentIndex; //reset the starter index to the current index that way next/prev will work as expected.
-        currentIndex = null; //iterator is no longer initialized, we have a "hole" in the list where the iterator was pointing.
+        currentIndex = NOT_INITIALIZED; //iterator is no longer initialized, we have a "hole" in the list where the iterator was pointing.
     }
 
 
@@ -140,7 +205,7 @@ public class CircularListIteratorImpl<T> implements CircularListIterator<T>{
      */
     @Override
     public int nextIndex() {
-        return (null == currentIndex) ? //if the iterator is not initialized
+        return (NOT_INITIALIZED == currentIndex) ? //if the iterator is not initialized
             starterIdx % elements.size() // then start at starterIdx modulo the size of the list
             :
             (stepCount.isUnder()) ? //else if the max steps has not been reached
@@ -192,7 +257,7 @@ public class CircularListIteratorImpl<T> implements CircularListIterator<T>{
      */
     @Override
     public int previousIndex() {
-        return (null == currentIndex) ? //if the iterator is not initialized
+        return (NOT_INITIALIZED == currentIndex) ? //if the iterator is not initialized
             (0 == starterIdx)? //and the starter index is 0
                 elements.size() - 1 //then the previous index is the last index, wrap around
                 : 
@@ -314,6 +379,86 @@ public class CircularListIteratorImpl<T> implements CircularListIterator<T>{
         }
     }
 
+    /**
+     * Returns how many of the next n calls to next() would succeed. Until the maximum number of steps is reached next()
+     * wraps around the list, after that it only moves up to the end of the list. The step count is never taken past
+     * Integer.MAX_VALUE.
+     * @param n - The number of steps wanted.
+     * @return The number of steps the iterator can take forward, at most n.
+     */
+    protected long claimable(final long n) {
+        if (n <= 0 || !hasNext()) {
+            return 0;
+        }
+        return claimable(n, elements.size(), nextIndex(), NOT_INITIALIZED != currentIndex,
+                         (long) stepCount.getLimitAsInt() - stepCount.getAsInt(), stepCount.getAsInt());
+    }
+
+    /**
+     * The rule behind claimable(long), shared with SnapshotCircularListIteratorImpl. Only called when next() would
+     * succeed.
+     * @param n - The number of steps wanted.
+     * @param size - The size of the list.
+     * @param nextIndex - The index next() would return.
+     * @param initialized - False if the iterator is on no element, as after a remove().
+     * @param left - The steps left under the limit, negative once past it.
+     * @param steps - The step count.
+     * @return The number of steps the iterator can take forward, at most n.
+     */
+    static long claimable(final long n, final int size, final int nextIndex, final boolean initialized,
+                          final long left, final int steps) {
+        final long under = Math.max(0L, left);
+        final long room = (long) Integer.MAX_VALUE - steps;
+        if (n <= under) {
+            return Math.min(n, room);
+        }
+        final long past;
+        if (0 == under && !initialized) {
+            //on a hole left by remove() next() still returns the element at the next index and moves on to the end
+            past = size - nextIndex;
+        } else {
+            //the index reached by the last step under the limit, or the current index if there are none left
+            final long lastUnder = (nextIndex + under - 1) % size;
+            past = size - 1 - lastUnder;
+        }
+        return Math.min(Math.min(n, under + past), room);
+    }
+
+    /**
+     * Returns how many of the next n calls to previous() would succeed, the counterpart of claimable(long). After the
+     * maximum number of steps is reached previous() only moves back to the start of the list.
+     * @param n - The number of steps wanted.
+     * @return The number of steps the iterator can take back, at most n.
+     */
+    protected long rewindable(final long n) {
+        if (n <= 0 || !hasPrevious()) {
+            return 0;
+        }
+        final long under = Math.max(0L, (long) stepCount.getLimitAsInt() - stepCount.getAsInt());
+        final long room = (long) Integer.MAX_VALUE - stepCount.getAsInt();
+        if (n <= under) {
+            return Math.min(n, room);
+        }
+        final int size = elements.size();
+        //the index reached by the last step under the limit, or the current index if there are none left
+        final long lastUnder = Math.floorMod(previousIndex() - under + 1, (long) size);
+        return Math.min(Math.min(n, under + lastUnder), room);
+    }
+
+    /**
+     * Moves the iterator forward by the passed number of steps, which must be claimable, and returns the index of the
+     * first element passed over.
+     */
+    private int claim(final long steps) {
+        if (0 == steps) {
+            return 0;
+        }
+        final int first = nextIndex();
+        currentIndex = (int) ((first + steps - 1) % elements.size());
+        stepCount.add((int) steps);
+        return first;
+    }
+
     /**
      * Returns the list of elements that the iterator is iterating over. This is a reference to the list passed in the constructor
      * so changes to the list will be reflected in the iterator.
@@ -330,7 +475,7 @@ public class CircularListIteratorImpl<T> implements CircularListIterator<T>{
      */
     @Override
     public void reset() {
-        currentIndex = null;
+        currentIndex = NOT_INITIALIZED;
         stepCount.resetCount();
     }
 
@@ -365,6 +510,32 @@ public class CircularListIteratorImpl<T> implements CircularListIterator<T>{
         stepCount.resetCount();
     }
 
+    //The limit checks go straight to the primitive counter rather than comparing the boxed count and limit.
+    @Override
+    public boolean isUnder() {
+        return stepCount.isUnder();
+    }
+
+    @Override
+    public boolean isOver() {
+        return stepCount.isOver();
+    }
+
+    @Override
+    public boolean isAt() {
+        return stepCount.isAt();
+    }
+
+    @Override
+    public boolean isAtOrUnder() {
+        return stepCount.isAtOrUnder();
+    }
+
+    @Override
+    public boolean isAtOrOver() {
+        return stepCount.isAtOrOver();
+    }
+
     ///////////////////////////////////////////////////////////////////////////
     // Protected utility methods
     ///////////////////////////////////////////////////////////////////////////
@@ -373,7 +544,7 @@ public class CircularListIteratorImpl<T> implements CircularListIterator<T>{
      * nextElement(), or previousElement() first, this will throw an IllegalStateException.
      */
     protected void checkIndex() {
-        if(null == currentIndex) {
+        if(NOT_INITIALIZED == currentIndex) {
             throw new IllegalStateException("Iterator not initialized, call next or previous first.");
         }
     }
@@ -0,0 +1,84 @@
+package com.wortcook.util.impl;
+
+import java.util.List;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * A Spliterator over a bounded run of circular positions in a list. Position p is the element at index
+ * (origin + p) modulo the size of the list, so a run longer than the list wraps around it as a CircularListIterator
+ * does. The list is read in place, never copied, and splitting halves the run of positions so the parts stay balanced
+ * however many times the run wraps. Reading is by index so the list should be RandomAccess and must not be changed
+ * structurally while the spliterator is in use.
+ */
+public class CircularListSpliterator<T> implements Spliterator<T> {
+    private final List<T> elements;
+    private final int size;
+    private final int origin;
+    private long position;
+    private final long end;
+
+    /**
+     * @param elements - The list to read the elements from.
+     * @param origin - The index of the element at position 0.
+     * @param from - The first position, inclusive.
+     * @param to - The last position, exclusive.
+     */
+    public CircularListSpliterator(final List<T> elements, final int origin, final long from, final long to) {
+        assert null != elements : "Elements cannot be null.";
+        assert from >= 0 && from <= to : "From must be between 0 and to.";
+        assert elements.size() > 0 || from == to : "Positions cannot be read from an empty list.";
+
+        this.elements = elements;
+        this.size = elements.size();
+        this.origin = (0 == size) ? 0 : origin % size;
+        this.position = from;
+        this.end = to;
+    }
+
+    @Override
+    public boolean tryAdvance(final Consumer<? super T> action) {
+        if (position >= end) {
+            return false;
+        }
+        action.accept(elements.get((int) ((origin + position++) % size)));
+        return true;
+    }
+
+    /**
+     * Walks the indexes directly, wrapping at the end of the list, rather than working out each one.
+     */
+    @Override
+    public void forEachRemaining(final Consumer<? super T> action) {
+        if (position >= end) {
+            return;
+        }
+        int index = (int) ((origin + position) % size);
+        for (long p = position; p < end; p++) {
+            action.accept(elements.get(index));
+            index = (index == size - 1) ? 0 : index + 1;
+        }
+        position = end;
+    }
+
+    @Override
+    public Spliterator<T> trySplit() {
+        final long mid = position + (end - position) / 2;
+        if (mid == position) {
+            return null;
+        }
+        final Spliterator<T> prefix = new CircularListSpliterator<>(elements, origin, position, mid);
+        position = mid;
+        return prefix;
+    }
+
+    @Override
+    public long estimateSize() {
+        return end - position;
+    }
+
+    @Override
+    public int characteristics() {
+        return ORDERED | SIZED | SUBSIZED;
+    }
+}
@@ -2,17 +2,33 @@ package com.wortcook.util.impl;
 
 import static com.wortcook.Wort.withLock;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+import com.wortcook.util.BlockingCircularIterator;
 
 /**
  * A thread-safe implementation of the CircularListIterator interface. This implementation uses a ReentrantReadWriteLock
  * to ensure that the iterator is thread-safe. This implementation is a wrapper around the CircularListIteratorImpl class.
  * All methods are sychronized using either a read lock or a write lock.
+ * <br><br>
+ * Threads waiting in take() or poll() park on a Condition of the write lock, which is signalled by the methods that
+ * add elements or reset the step count. Futures from nextAsync() wait in a queue guarded by the same lock and are
+ * completed by those methods after the lock is released.
  */
-public class ConcurrentCircularListIteratorImpl<T> extends CircularListIteratorImpl<T> {
+public class ConcurrentCircularListIteratorImpl<T> extends CircularListIteratorImpl<T> implements BlockingCircularIterator<T> {
     private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Condition populated = lock.writeLock().newCondition();
+    private final ArrayDeque<CompletableFuture<T>> waiting = new ArrayDeque<>();
 
     public ConcurrentCircularListIteratorImpl(final List<T> elements, final int index, final int step) {
         super(elements, index, step);
@@ -62,6 +78,53 @@ public class ConcurrentCircularListIteratorImpl<T> extends CircularListIteratorI
         return withLock(lock.readLock(), super::hasNext);
     }
 
+    /**
+     * Claims the whole batch under a single acquisition of the write lock.
+     */
+    @Override
+    public int nextBatch(final T[] dest, final int n) {
+        return withLock(lock.writeLock(), () -> super.nextBatch(dest, n));
+    }
+
+    /**
+     * Claims the whole batch and copies it out under a single acquisition of the write lock, the consumer is called
+     * after the lock is released.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public int drainTo(final Consumer<? super T> consumer, final int n) {
+        assert null != consumer : "Consumer cannot be null.";
+        assert n >= 0 : "Batch size must be greater than or equal to 0.";
+
+        final T[] batch = withLock(lock.writeLock(), () -> {
+            final T[] claimed = (T[]) new Object[(int) claimable(n)];
+            super.nextBatch(claimed, claimed.length);
+            return claimed;
+        });
+        for (T element : batch) {
+            consumer.accept(element);
+        }
+        return batch.length;
+    }
+
+    @Override
+    public long advance(final long steps) {
+        return withLock(lock.writeLock(), () -> super.advance(steps));
+    }
+
+    @Override
+    public long rewind(final long steps) {
+        return withLock(lock.writeLock(), () -> super.rewind(steps));
+    }
+
+    /**
+     * Resets and moves the iterator under a single acquisition of the write lock.
+     */
+    @Override
+    public void seekEpoch(final int epoch) {
+        populate(() -> super.seekEpoch(epoch));
+    }
+
     /**
      * Removes the current element from the list. If the iterator is not initialized by either calling next(), previous(),
      * nextElement(), or previousElement() first, this will throw an IllegalStateException.
@@ -91,7 +154,7 @@ public class ConcurrentCircularListIteratorImpl<T> extends CircularListIteratorI
     /////////////////////////////////////////////////////////////////
     @Override
     public void add(final T t) {
-        withLock(lock.writeLock(), () -> super.add(t));
+        populate(() -> super.add(t));
     }
 
     /**
@@ -175,7 +238,7 @@ public class ConcurrentCircularListIteratorImpl<T> extends CircularListIteratorI
      */
     @Override
     public void addNext(final T t) {
-        withLock(lock.writeLock(), () -> super.addNext(t));
+        populate(() -> super.addNext(t));
     }
 
     /**
@@ -187,7 +250,7 @@ public class ConcurrentCircularListIteratorImpl<T> extends CircularListIteratorI
      */
     @Override
     public void addAllNext(final Collection<T> c) {
-        withLock(lock.writeLock(), () -> super.addAllNext(c));
+        populate(() -> super.addAllNext(c));
     }
 
     /**
@@ -198,7 +261,7 @@ public class ConcurrentCircularListIteratorImpl<T> extends CircularListIteratorI
      */
     @Override
     public void addPrevious(final T element) {
-        withLock(lock.writeLock(), () -> super.addPrevious(element));
+        populate(() -> super.addPrevious(element));
     }
 
     /**
@@ -212,7 +275,7 @@ public class ConcurrentCircularListIteratorImpl<T> extends CircularListIteratorI
      */
     @Override
     public void addAllPrevious(final Collection<T> c) {
-        withLock(lock.writeLock(), () -> super.addAllPrevious(c));
+        populate(() -> super.addAllPrevious(c));
     }
 
     /**
@@ -231,7 +294,7 @@ public class ConcurrentCircularListIteratorImpl<T> extends CircularListIteratorI
      */
     @Override
     public void reset() {
-        withLock(lock.writeLock(), super::reset);
+        populate(super::reset);
     }
 
     ///////////////////////////////////////////////////////////////////////////
@@ -267,6 +330,126 @@ public class ConcurrentCircularListIteratorImpl<T> extends CircularListIteratorI
      */
     @Override
     public void resetCount() {
-        withLock(lock.writeLock(), super::resetCount);
+        populate(super::resetCount);
+    }
+
+    @Override
+    public boolean isUnder() {
+        return withLock(lock.readLock(), super::isUnder);
+    }
+
+    @Override
+    public boolean isOver() {
+        return withLock(lock.readLock(), super::isOver);
+    }
+
+    @Override
+    public boolean isAt() {
+        return withLock(lock.readLock(), super::isAt);
+    }
+
+    @Override
+    public boolean isAtOrUnder() {
+        return withLock(lock.readLock(), super::isAtOrUnder);
+    }
+
+    @Override
+    public boolean isAtOrOver() {
+        return withLock(lock.readLock(), super::isAtOrOver);
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+    // BlockingCircularIterator methods
+    ///////////////////////////////////////////////////////////////////////////
+    @Override
+    public T take() throws InterruptedException {
+        final Lock writeLock = lock.writeLock();
+        writeLock.lockInterruptibly();
+        try {
+            while (!super.hasNext()) {
+                populated.await();
+            }
+            return super.next();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public T poll(final long timeout, final TimeUnit unit) throws InterruptedException {
+        long nanos = unit.toNanos(timeout);
+        final Lock writeLock = lock.writeLock();
+        writeLock.lockInterruptibly();
+        try {
+            while (!super.hasNext()) {
+                if (nanos <= 0) {
+                    return null;
+                }
+                nanos = populated.awaitNanos(nanos);
+            }
+            return super.next();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public CompletableFuture<T> nextAsync() {
+        return withLock(lock.writeLock(), () -> {
+            if (waiting.isEmpty() && super.hasNext()) {
+                return CompletableFuture.completedFuture(super.next());
+            }
+            final CompletableFuture<T> future = new CompletableFuture<>();
+            waiting.add(future);
+            return future;
+        });
+    }
+
+    /**
+     * Appends the element to the list and wakes any consumers waiting for one.
+     */
+    @Override
+    public void offer(final T t) {
+        populate(() -> super.elements().add(t));
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+    // Private utility methods
+    ///////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Makes the change under the write lock, wakes the threads waiting in take() or poll() and hands the next elements
+     * to the futures waiting from nextAsync(), which are completed once the lock is released. A change made from
+     * within another, e.g. the reset in seekEpoch(), leaves the handing out to the outer one.
+     */
+    private void populate(final Runnable change) {
+        if (lock.isWriteLockedByCurrentThread()) {
+            change.run();
+            populated.signalAll();
+            return;
+        }
+        final List<Runnable> completions = withLock(lock.writeLock(), () -> {
+            change.run();
+            populated.signalAll();
+            return handOut();
+        });
+        for (Runnable completion : completions) {
+            completion.run();
+        }
+    }
+
+    private List<Runnable> handOut() {
+        if (waiting.isEmpty()) {
+            return Collections.emptyList();
+        }
+        final List<Runnable> completions = new ArrayList<>();
+        while (!waiting.isEmpty() && super.hasNext()) {
+            final CompletableFuture<T> future = waiting.poll();
+            if (!future.isDone()) {
+                final T element = super.next();
+                completions.add(() -> future.complete(element));
+            }
+        }
+        return completions;
     }
 }
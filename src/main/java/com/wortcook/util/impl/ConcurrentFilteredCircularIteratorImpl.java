@@ -0,0 +1,95 @@
+package com.wortcook.util.impl;
+
+import static com.wortcook.Wort.withLock;
+
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
+
+/**
+ * A thread-safe implementation of the FilteredCircularIterator interface. The cursor and step count are guarded by a
+ * single ReentrantLock. Marking elements up or down, refilter() and the other reads of the bitset already work on
+ * atomic words and do not take the lock, so a health checker never waits on the threads picking elements.
+ */
+public class ConcurrentFilteredCircularIteratorImpl<T> extends FilteredCircularIteratorImpl<T> {
+    private final ReentrantLock lock = new ReentrantLock();
+
+    public ConcurrentFilteredCircularIteratorImpl(final List<T> elements, final Predicate<? super T> filter,
+                                                  final int index, final int maxSteps) {
+        super(elements, filter, index, maxSteps);
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+    // Iterator methods
+    ///////////////////////////////////////////////////////////////////////////
+    @Override
+    public boolean hasNext() {
+        return withLock(lock, super::hasNext);
+    }
+
+    @Override
+    public T next() {
+        return withLock(lock, super::next);
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+    // FilteredCircularIterator methods
+    ///////////////////////////////////////////////////////////////////////////
+    @Override
+    public T at() {
+        return withLock(lock, super::at);
+    }
+
+    @Override
+    public int atIndex() {
+        return withLock(lock, super::atIndex);
+    }
+
+    @Override
+    public void reset() {
+        withLock(lock, () -> super.reset());
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+    // Countable methods
+    ///////////////////////////////////////////////////////////////////////////
+    @Override
+    public Integer getCount() {
+        return withLock(lock, super::getCount);
+    }
+
+    @Override
+    public Integer getLimit() {
+        return withLock(lock, super::getLimit);
+    }
+
+    @Override
+    public void resetCount() {
+        withLock(lock, () -> super.resetCount());
+    }
+
+    @Override
+    public boolean isUnder() {
+        return withLock(lock, super::isUnder);
+    }
+
+    @Override
+    public boolean isOver() {
+        return withLock(lock, super::isOver);
+    }
+
+    @Override
+    public boolean isAt() {
+        return withLock(lock, super::isAt);
+    }
+
+    @Override
+    public boolean isAtOrUnder() {
+        return withLock(lock, super::isAtOrUnder);
+    }
+
+    @Override
+    public boolean isAtOrOver() {
+        return withLock(lock, super::isAtOrOver);
+    }
+}
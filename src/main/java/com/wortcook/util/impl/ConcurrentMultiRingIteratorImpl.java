@@ -0,0 +1,62 @@
+package com.wortcook.util.impl;
+
+import static com.wortcook.Wort.withLock;
+
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.ToIntFunction;
+
+import com.wortcook.util.CircularListIterator;
+
+/**
+ * A thread-safe implementation of the MultiRingIterator interface for several dispatcher threads sharing one
+ * rotation. Every pick moves the rotation so all methods are synchronized using a single ReentrantLock. The child
+ * rings are only moved under the lock but are not locked themselves, they should not be moved by anything else.
+ */
+public class ConcurrentMultiRingIteratorImpl<T> extends MultiRingIteratorImpl<T> {
+    private final ReentrantLock lock = new ReentrantLock();
+
+    public ConcurrentMultiRingIteratorImpl(final ToIntFunction<? super T> cost) {
+        super(cost);
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+    // Iterator methods
+    ///////////////////////////////////////////////////////////////////////////
+    @Override
+    public boolean hasNext() {
+        return withLock(lock, super::hasNext);
+    }
+
+    @Override
+    public T next() {
+        return withLock(lock, super::next);
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+    // MultiRingIterator methods
+    ///////////////////////////////////////////////////////////////////////////
+    @Override
+    public void addRing(final CircularListIterator<T> ring, final int quantum) {
+        withLock(lock, () -> super.addRing(ring, quantum));
+    }
+
+    @Override
+    public boolean removeRing(final CircularListIterator<T> ring) {
+        return withLock(lock, () -> super.removeRing(ring));
+    }
+
+    @Override
+    public int ringCount() {
+        return withLock(lock, super::ringCount);
+    }
+
+    @Override
+    public T at() {
+        return withLock(lock, super::at);
+    }
+
+    @Override
+    public CircularListIterator<T> atRing() {
+        return withLock(lock, super::atRing);
+    }
+}
@@ -0,0 +1,119 @@
+package com.wortcook.util.impl;
+
+import static com.wortcook.Wort.withLock;
+
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.ToIntFunction;
+
+/**
+ * A thread-safe implementation of the WeightedCircularIterator interface. Every pick moves the picked element within
+ * the heap so there is nothing to gain from a read-write lock, all methods are synchronized using a single
+ * ReentrantLock. A pick holds the lock for O(log n).
+ */
+public class ConcurrentWeightedCircularIteratorImpl<T> extends WeightedCircularIteratorImpl<T> {
+    private final ReentrantLock lock = new ReentrantLock();
+
+    public ConcurrentWeightedCircularIteratorImpl(final List<T> elements, final ToIntFunction<? super T> weights, final int maxSteps) {
+        super(elements, weights, maxSteps);
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+    // Iterator methods
+    ///////////////////////////////////////////////////////////////////////////
+    @Override
+    public boolean hasNext() {
+        return withLock(lock, super::hasNext);
+    }
+
+    @Override
+    public T next() {
+        return withLock(lock, super::next);
+    }
+
+    @Override
+    public void remove() {
+        withLock(lock, super::remove);
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+    // WeightedCircularIterator methods
+    ///////////////////////////////////////////////////////////////////////////
+    @Override
+    public T at() {
+        return withLock(lock, super::at);
+    }
+
+    @Override
+    public int weightOf(final T element) {
+        return withLock(lock, () -> super.weightOf(element));
+    }
+
+    @Override
+    public void setWeight(final T element, final int weight) {
+        withLock(lock, () -> super.setWeight(element, weight));
+    }
+
+    @Override
+    public void reweigh() {
+        withLock(lock, () -> super.reweigh());
+    }
+
+    @Override
+    public void add(final T element) {
+        withLock(lock, () -> super.add(element));
+    }
+
+    @Override
+    public List<T> elements() {
+        return withLock(lock, super::elements);
+    }
+
+    @Override
+    public void reset() {
+        withLock(lock, () -> super.reset());
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+    // Countable methods
+    ///////////////////////////////////////////////////////////////////////////
+    @Override
+    public Integer getCount() {
+        return withLock(lock, super::getCount);
+    }
+
+    @Override
+    public Integer getLimit() {
+        return withLock(lock, super::getLimit);
+    }
+
+    @Override
+    public void resetCount() {
+        withLock(lock, () -> super.resetCount());
+    }
+
+    @Override
+    public boolean isUnder() {
+        return withLock(lock, super::isUnder);
+    }
+
+    @Override
+    public boolean isOver() {
+        return withLock(lock, super::isOver);
+    }
+
+    @Override
+    public boolean isAt() {
+        return withLock(lock, super::isAt);
+    }
+
+    @Override
+    public boolean isAtOrUnder() {
+        return withLock(lock, super::isAtOrUnder);
+    }
+
+    @Override
+    public boolean isAtOrOver() {
+        return withLock(lock, super::isAtOrOver);
+    }
+}
@@ -0,0 +1,47 @@
+package com.wortcook.util.impl;
+
+import com.wortcook.util.DoubleCircularIterator;
+
+/**
+ * An implementation of DoubleCircularIterator backed by a double[]. See AbstractPrimitiveCircularIterator for the index and
+ * step bookkeeping.
+ */
+public class DoubleCircularIteratorImpl extends AbstractPrimitiveCircularIterator implements DoubleCircularIterator {
+    private final double[] elements;
+
+    /**
+     * Creates an iterator that starts at the specified index of the passed array.
+     * @param elements - The array to iterate through, it is not copied.
+     * @param index - The index to start at.
+     * @param maxSteps - The maximum number of steps the iterator can take before hasNext() and hasPrevious() return false.
+     */
+    public DoubleCircularIteratorImpl(final double[] elements, final int index, final int maxSteps) {
+        super(lengthOf(elements), index, maxSteps);
+        this.elements = elements;
+    }
+
+    @Override
+    public double nextDouble() {
+        return elements[advance()];
+    }
+
+    @Override
+    public double previousDouble() {
+        return elements[retreat()];
+    }
+
+    @Override
+    public double atDouble() {
+        return elements[currentIndex()];
+    }
+
+    @Override
+    public void setDouble(final double value) {
+        elements[currentIndex()] = value;
+    }
+
+    private static int lengthOf(final double[] elements) {
+        assert null != elements : "Elements cannot be null.";
+        return elements.length;
+    }
+}
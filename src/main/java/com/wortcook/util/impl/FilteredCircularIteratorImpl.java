@@ -0,0 +1,234 @@
+package com.wortcook.util.impl;
+
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Predicate;
+
+import com.wortcook.util.Counter;
+import com.wortcook.util.FilteredCircularIterator;
+import com.wortcook.util.IntCounter;
+
+/**
+ * An implementation of FilteredCircularIterator keeping which elements are up in a bitset, one bit per element packed
+ * 64 to a word of an AtomicLongArray. A pick masks off the bits behind the cursor and takes the lowest bit left with
+ * Long.numberOfTrailingZeros, moving on a word at a time and wrapping to the start of the bitset, so a run of 64
+ * elements that are down is passed over with one read.
+ * <br><br>
+ * Marking an element up or down sets or clears its bit with a compare-and-set on its word, which any thread can do
+ * while another is picking. The cursor itself is not thread-safe, see ConcurrentFilteredCircularIteratorImpl.
+ */
+public class FilteredCircularIteratorImpl<T> implements FilteredCircularIterator<T> {
+    private static final int NOT_INITIALIZED = -1;
+
+    private final List<T> elements;
+    private final Predicate<? super T> filter;
+    private final AtomicLongArray up;
+    private final AtomicInteger upCount = new AtomicInteger();
+    private final int size;
+    private final int starterIdx;
+    private final IntCounter stepCount;
+    private int currentIndex = NOT_INITIALIZED;
+
+    /////////////////////////////////////////////////////////////////
+    // Constructors
+    /////////////////////////////////////////////////////////////////
+
+    /**
+     * Creates a FilteredCircularIterator over the passed list, which is used in place.
+     * @param elements - The list of elements to pick from.
+     * @param filter - Says which elements start up.
+     * @param index - The index to start at, if that element is down the first pick is the next one up.
+     * @param maxSteps - The maximum number of steps the iterator can take before hasNext() returns false.
+     */
+    public FilteredCircularIteratorImpl(final List<T> elements, final Predicate<? super T> filter, final int index,
+                                        final int maxSteps) {
+        assert null != elements : "Elements cannot be null.";
+        assert null != filter : "Filter cannot be null.";
+        assert index >= 0 : "Index must be greater than or equal to 0.";
+        assert maxSteps > 0 : "Max steps must be greater than 0.";
+
+        this.elements = elements;
+        this.filter = filter;
+        this.size = elements.size();
+        this.up = new AtomicLongArray((size + 63) >>> 6);
+        this.starterIdx = (0 == size) ? 0 : index % size;
+        this.stepCount = Counter.of(maxSteps);
+        refilter();
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+    // Iterator methods
+    ///////////////////////////////////////////////////////////////////////////
+    @Override
+    public boolean hasNext() {
+        return 0 != upCount.get() && stepCount.isUnder();
+    }
+
+    /**
+     * Picks the next element that is up, wrapping around the list.
+     * @return The next element.
+     */
+    @Override
+    public T next() {
+        if (!stepCount.isUnder()) {
+            throw new NoSuchElementException();
+        }
+        final int from = (NOT_INITIALIZED == currentIndex) ? starterIdx : currentIndex + 1;
+        final int picked = nextUp(from);
+        if (picked < 0) {
+            throw new NoSuchElementException("No element is up.");
+        }
+        currentIndex = picked;
+        stepCount.count();
+        return elements.get(picked);
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+    // FilteredCircularIterator methods
+    ///////////////////////////////////////////////////////////////////////////
+    @Override
+    public T at() {
+        return elements.get(atIndex());
+    }
+
+    @Override
+    public int atIndex() {
+        if (NOT_INITIALIZED == currentIndex) {
+            throw new IllegalStateException("Iterator not initialized, call next first.");
+        }
+        return currentIndex;
+    }
+
+    @Override
+    public boolean markDown(final int index) {
+        checkBounds(index);
+        final long bit = 1L << index;
+        final boolean changed = 0 != (up.getAndAccumulate(index >>> 6, ~bit, (word, mask) -> word & mask) & bit);
+        if (changed) {
+            upCount.decrementAndGet();
+        }
+        return changed;
+    }
+
+    @Override
+    public boolean markUp(final int index) {
+        checkBounds(index);
+        final long bit = 1L << index;
+        final boolean changed = 0 == (up.getAndAccumulate(index >>> 6, bit, (word, mask) -> word | mask) & bit);
+        if (changed) {
+            upCount.incrementAndGet();
+        }
+        return changed;
+    }
+
+    @Override
+    public boolean isUp(final int index) {
+        checkBounds(index);
+        return 0 != (up.get(index >>> 6) & (1L << index));
+    }
+
+    @Override
+    public int upCount() {
+        return upCount.get();
+    }
+
+    @Override
+    public void refilter() {
+        for (int i = 0; i < size; i++) {
+            if (filter.test(elements.get(i))) {
+                markUp(i);
+            } else {
+                markDown(i);
+            }
+        }
+    }
+
+    @Override
+    public List<T> elements() {
+        return elements;
+    }
+
+    @Override
+    public void reset() {
+        currentIndex = NOT_INITIALIZED;
+        stepCount.resetCount();
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+    // Countable methods
+    ///////////////////////////////////////////////////////////////////////////
+    @Override
+    public Integer getCount() {
+        return stepCount.getCount();
+    }
+
+    @Override
+    public Integer getLimit() {
+        return stepCount.getLimit();
+    }
+
+    @Override
+    public void resetCount() {
+        stepCount.resetCount();
+    }
+
+    @Override
+    public boolean isUnder() {
+        return stepCount.isUnder();
+    }
+
+    @Override
+    public boolean isOver() {
+        return stepCount.isOver();
+    }
+
+    @Override
+    public boolean isAt() {
+        return stepCount.isAt();
+    }
+
+    @Override
+    public boolean isAtOrUnder() {
+        return stepCount.isAtOrUnder();
+    }
+
+    @Override
+    public boolean isAtOrOver() {
+        return stepCount.isAtOrOver();
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+    // Private utility methods
+    ///////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Returns the index of the first element that is up at or after the passed index, wrapping past the end of the
+     * list, or -1 if none is up. Each word is read once, the word the search starts in twice when it wraps.
+     */
+    private int nextUp(final int from) {
+        if (0 == size) {
+            return -1;
+        }
+        final int start = (from >= size) ? 0 : from;
+        final int words = up.length();
+        int word = start >>> 6;
+        //the bits behind the start in its own word are only looked at after wrapping
+        long bits = up.get(word) & (-1L << start);
+        for (int i = 0; i <= words; i++) {
+            if (0 != bits) {
+                return (word << 6) + Long.numberOfTrailingZeros(bits);
+            }
+            word = (word + 1 == words) ? 0 : word + 1;
+            bits = up.get(word);
+        }
+        return -1;
+    }
+
+    private void checkBounds(final int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + size);
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.wortcook.util.impl;
+
+import java.util.function.IntUnaryOperator;
+
+import com.wortcook.util.IntCircularIterator;
+
+/**
+ * An implementation of IntCircularIterator over a generated sequence rather than an array, the element at an index is
+ * the generator applied to the index. See AbstractPrimitiveCircularIterator for the index and step bookkeeping.
+ * Nothing is stored so setInt() throws an UnsupportedOperationException.
+ */
+public class GeneratedIntCircularIteratorImpl extends AbstractPrimitiveCircularIterator implements IntCircularIterator {
+    private final IntUnaryOperator generator;
+
+    /**
+     * Creates an iterator that starts at the specified index of the generated sequence.
+     * @param size - The length of the sequence.
+     * @param generator - Gives the element at each index.
+     * @param index - The index to start at.
+     * @param maxSteps - The maximum number of steps the iterator can take before hasNext() and hasPrevious() return false.
+     */
+    public GeneratedIntCircularIteratorImpl(final int size, final IntUnaryOperator generator, final int index, final int maxSteps) {
+        super(size, index, maxSteps);
+        assert null != generator : "Generator cannot be null.";
+        this.generator = generator;
+    }
+
+    @Override
+    public int nextInt() {
+        return generator.applyAsInt(advance());
+    }
+
+    @Override
+    public int previousInt() {
+        return generator.applyAsInt(retreat());
+    }
+
+    @Override
+    public int atInt() {
+        return generator.applyAsInt(currentIndex());
+    }
+
+    @Override
+    public void setInt(final int value) {
+        throw new UnsupportedOperationException("Generated elements cannot be set.");
+    }
+}
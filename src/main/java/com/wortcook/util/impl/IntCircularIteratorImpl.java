@@ -0,0 +1,47 @@
+package com.wortcook.util.impl;
+
+import com.wortcook.util.IntCircularIterator;
+
+/**
+ * An implementation of IntCircularIterator backed by a int[]. See AbstractPrimitiveCircularIterator for the index and
+ * step bookkeeping.
+ */
+public class IntCircularIteratorImpl extends AbstractPrimitiveCircularIterator implements IntCircularIterator {
+    private final int[] elements;
+
+    /**
+     * Creates an iterator that starts at the specified index of the passed array.
+     * @param elements - The array to iterate through, it is not copied.
+     * @param index - The index to start at.
+     * @param maxSteps - The maximum number of steps the iterator can take before hasNext() and hasPrevious() return false.
+     */
+    public IntCircularIteratorImpl(final int[] elements, final int index, final int maxSteps) {
+        super(lengthOf(elements), index, maxSteps);
+        this.elements = elements;
+    }
+
+    @Override
+    public int nextInt() {
+        return elements[advance()];
+    }
+
+    @Override
+    public int previousInt() {
+        return elements[retreat()];
+    }
+
+    @Override
+    public int atInt() {
+        return elements[currentIndex()];
+    }
+
+    @Override
+    public void setInt(final int value) {
+        elements[currentIndex()] = value;
+    }
+
+    private static int lengthOf(final int[] elements) {
+        assert null != elements : "Elements cannot be null.";
+        return elements.length;
+    }
+}
@@ -0,0 +1,752 @@
+package com.wortcook.util.impl;
+
+import static com.wortcook.Wort.withLock;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+import com.wortcook.util.CircularListIterator;
+
+/**
+ * A lock-free implementation of the CircularListIterator interface meant to be shared by many threads, e.g. dispatcher
+ * threads picking the next backend. Calls to next() claim the next slot with a single atomic fetch-and-add on a long
+ * cursor, so threads never wait on each other while iterating.
+ * <br><br>
+ * The cursor packs the step count in its upper 32 bits and the displacement of the iterator, i.e. how far it has
+ * moved since the last change to the list, in its lower 32 bits. The elements are held in an immutable snapshot
+ * published through a volatile field together with the origin the displacement is measured from. Changes made through
+ * the iterator (add, remove, set, ...) are written through to the list passed in, copied into a new snapshot and
+ * published, so they never block readers. Writers are serialized among themselves by a lock. Changes made to the list
+ * other than through the iterator are not seen until the next change made through the iterator.
+ * <br><br>
+ * The maximum number of steps is honoured exactly no matter how many threads race for the last slots; a claim past
+ * the limit is given back. Once the limit is reached the iterator behaves like the other implementations, i.e. like a
+ * regular ListIterator, but those moves are rare so they are made under the writer lock. previous() is not expected
+ * on the hot path and uses a compare-and-set loop.
+ * <br><br>
+ * When a change races with a move the move is made against either the old or the new snapshot, the element returned
+ * is always one that was in the list at the time.
+ */
+public class LockFreeCircularListIteratorImpl<T> implements CircularListIterator<T> {
+    private static final long STEP     = 1L << 32;
+    private static final long BIAS     = 1L << 31;
+    private static final long NEXT     = STEP + 1;
+    private static final long NO_HOLE  = -1;
+    private static final long REBASE_AT = 1L << 30;
+    private static final int  MAX_CLAIM = 1 << 24;
+
+    private final List<T> elements;
+    private final int maxSteps;
+    private final AtomicLong cursor = new AtomicLong(BIAS);
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private volatile Frame frame;
+    private int starterIdx;
+
+    /////////////////////////////////////////////////////////////////
+    // Constructors
+    /////////////////////////////////////////////////////////////////
+
+    /**
+     * Creates a CircularListIterator that starts at the specified index of the passed list.
+     * @param elements - The list of elements to iterate through.
+     * @param index - The index to start at. When next or previous is first called this will be the index of the element returned.
+     * @param maxSteps - The maximum number of steps the iterator can take before hasNext() and hasPrevious() return false defined
+     *                   as calls to next() or previous().
+     */
+    public LockFreeCircularListIteratorImpl(final List<T> elements, final int index, final int maxSteps) {
+        assert null != elements : "Elements cannot be null.";
+        assert index >= 0 : "Index must be greater than or equal to 0.";
+        assert maxSteps > 0 : "Max steps must be greater than 0.";
+
+        this.elements = elements;
+        this.maxSteps = maxSteps;
+        this.starterIdx = elements.isEmpty()?0:(index % elements.size());
+        this.frame = new Frame(elements.toArray(), starterIdx - 1, 0, 0);
+    }
+
+    ///////////////////////////////////////////////////////////////////
+    // CircularListIterator methods
+    ///////////////////////////////////////////////////////////////////
+    /**
+     * The 'traditional' version of hasNext for an iterator. If the iterator is at the end of the list, this will return false.
+     * If the list is empty this will return false.
+     * @return true if there is a next element, false otherwise, false if the list is empty.
+     */
+    @Override
+    public boolean hasNextNoWrap() {
+        return hasNextNoWrap(frame, cursor.get());
+    }
+
+    /**
+     * The 'traditional' version of hasPrevious for an iterator. If the iterator is at the beginning of the list, this will return false.
+     * @return true if there is a previous element, false otherwise, false if the list is empty.
+     */
+    @Override
+    public boolean hasPreviousNoWrap() {
+        return hasPreviousNoWrap(frame, cursor.get());
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////
+    // Iterator methods
+    ///////////////////////////////////////////////////////////////////////////
+    /**
+     * Returns the next element in the list. If hasNext() returns false, this will throw a NoSuchElementException.
+     * Until the maximum number of steps is reached this is a single fetch-and-add on the cursor.
+     * @return The next element in the list.
+     */
+    @Override
+    public T next() {
+        final long claimed = cursor.getAndAdd(NEXT);
+        if (stepsOf(claimed) < maxSteps) {
+            final Frame current = frame;
+            if (0 != current.items.length) {
+                rebaseIfNeeded(claimed);
+                return current.element(displacementOf(claimed) + 1);
+            }
+        }
+        cursor.getAndAdd(-NEXT); //give the slot back, it is past the limit or the list is empty
+        return withLock(writeLock, this::nextPastLimit);
+    }
+
+    @Override
+    public boolean hasNext() {
+        final Frame current = frame;
+        final long state = cursor.get();
+        return 0 != current.items.length && //empty lists always return false
+                (stepsOf(state) < maxSteps || hasNextNoWrap(current, state));
+    }
+
+    /**
+     * Claims the whole batch with a single fetch-and-add on the cursor. Only a batch that reaches the limit takes the
+     * writer lock, to make the moves past it.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public int nextBatch(final T[] dest, final int n) {
+        assert null != dest : "Destination cannot be null.";
+        assert n >= 0 && n <= dest.length : "Batch size must be between 0 and the length of the destination.";
+        return claimNext(n, 0, (i, element) -> dest[i] = (T) element);
+    }
+
+    /**
+     * Claims the whole batch with a single fetch-and-add on the cursor and passes the elements to the consumer from
+     * the snapshot they were claimed in. Only a batch that reaches the limit takes the writer lock, to make the moves
+     * past it, and the consumer is not called while holding it.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public int drainTo(final Consumer<? super T> consumer, final int n) {
+        assert null != consumer : "Consumer cannot be null.";
+        assert n >= 0 : "Batch size must be greater than or equal to 0.";
+        return claimNext(n, 0, (i, element) -> consumer.accept((T) element));
+    }
+
+    /**
+     * Moves forward with a single compare-and-set on the cursor, the displacement only moves by the steps modulo the
+     * size of the list. Moves past the limit are made under the writer lock as for next().
+     */
+    @Override
+    public long advance(final long steps) {
+        assert steps >= 0 : "Steps must be greater than or equal to 0.";
+        long taken = 0;
+        while (taken < steps) {
+            final Frame current = frame;
+            final long state = cursor.get();
+            final int size = current.items.length;
+            if (0 == size) {
+                return taken;
+            }
+            final long remaining = steps - taken;
+            if (stepsOf(state) >= maxSteps) {
+                return taken + withLock(writeLock, () -> movePastLimit(remaining, 1));
+            }
+            final long under = Math.min(remaining, maxSteps - stepsOf(state));
+            if (cursor.compareAndSet(state, state + under * STEP + under % size)) {
+                rebaseIfNeeded(state);
+                taken += under;
+            }
+        }
+        return taken;
+    }
+
+    /**
+     * Moves back with a single compare-and-set on the cursor, see advance(long).
+     */
+    @Override
+    public long rewind(final long steps) {
+        assert steps >= 0 : "Steps must be greater than or equal to 0.";
+        long taken = 0;
+        while (taken < steps) {
+            final Frame current = frame;
+            final long state = cursor.get();
+            final int size = current.items.length;
+            if (0 == size) {
+                return taken;
+            }
+            final long remaining = steps - taken;
+            if (stepsOf(state) >= maxSteps) {
+                return taken + withLock(writeLock, () -> movePastLimit(remaining, -1));
+            }
+            final long under = Math.min(remaining, maxSteps - stepsOf(state));
+            //leaving a hole the first step back lands on the element before it without moving
+            final long moves = isHole(current, state) ? under - 1 : under;
+            if (cursor.compareAndSet(state, state + under * STEP - moves % size)) {
+                rebaseIfNeeded(state);
+                taken += under;
+            }
+        }
+        return taken;
+    }
+
+    /**
+     * Resets and moves the iterator holding the writer lock, so no change to the list comes in between.
+     */
+    @Override
+    public void seekEpoch(final int epoch) {
+        assert epoch >= 0 : "Epoch must be greater than or equal to 0.";
+        withLock(writeLock, () -> {
+            reset();
+            advance((long) epoch * frame.items.length);
+        });
+    }
+
+    /**
+     * Removes the current element from the list. If the iterator is not initialized by either calling next(), previous(),
+     * nextElement(), or previousElement() first, this will throw an IllegalStateException.
+     * After remove is called the iterator is no longer initialized and a call to next(), previous(), nextElement(),
+     * or previousElement() must be made before any further changes can be made; remove(), set(), or add().
+     */
+    @Override
+    public void remove() {
+        withLock(writeLock, () -> {
+            final long state = cursor.get();
+            final int currentIndex = checkIndex(frame, state);
+            elements.remove(currentIndex);
+            starterIdx = currentIndex;
+            //leave a hole where the element was, next() returns the element after it and previous() the one before it
+            publish(state, currentIndex - 1, settledSteps(state) + frame.tail);
+        });
+    }
+
+
+    /////////////////////////////////////////////////////////////////
+    // ListIterator methods
+    /////////////////////////////////////////////////////////////////
+    @Override
+    public void add(final T t) {
+        addPrevious(t);
+    }
+
+    /**
+     * Returns the index of the next element in the list. If the iterator is at the end of the list, this will return 0.
+     * @return The index of the next element in the list.
+     */
+    @Override
+    public int nextIndex() {
+        final Frame current = frame;
+        final long state = cursor.get();
+        final int currentIndex = current.index(settledDisplacement(state));
+        final int size = current.items.length;
+
+        return (isHole(current, state) || stepsOf(state) < maxSteps) ?
+            (currentIndex + 1) % size :
+            (currentIndex < size - 1) ?
+                currentIndex + 1 :
+                size; //we are at the end of the list so return elements.size() per ListIterator spec
+    }
+
+    /**
+     * Returns if there is a previous element in the list. If the maximum number of steps is reached, this will return false
+     * if the iterator is at the beginning of the list. If the list is empty this will return false.
+     * @return true if there is a previous element, false otherwise, false if the list is empty.
+     */
+    @Override
+    public boolean hasPrevious() {
+        final Frame current = frame;
+        final long state = cursor.get();
+        return 0 != current.items.length && (stepsOf(state) < maxSteps || hasPreviousNoWrap(current, state));
+    }
+
+    /**
+     * Returns the previous element in the list. If hasPrevious() returns false, this will throw a NoSuchElementException.
+     * If the iterator is at the beginning of the list, this will return the last element in the list.
+     * @return The previous element in the list.
+     */
+    @Override
+    public T previous() {
+        while (true) {
+            final Frame current = frame;
+            final long state = cursor.get();
+            if (0 == current.items.length) {
+                throw new NoSuchElementException();
+            }
+            if (stepsOf(state) >= maxSteps) {
+                return withLock(writeLock, this::previousPastLimit);
+            }
+
+            //leaving a hole the element before it is returned without moving
+            final long delta = isHole(current, state) ? 0 : -1;
+            if (cursor.compareAndSet(state, state + STEP + delta)) {
+                return current.element(displacementOf(state) + delta);
+            }
+        }
+    }
+
+    /**
+     * Returns the index of the previous element in the list. If the iterator is at the beginning of the list, this will return the last index.
+     * @return The index of the previous element in the list.
+     */
+    @Override
+    public int previousIndex() {
+        final Frame current = frame;
+        if (0 == current.items.length) {
+            return -1; //the last index of an empty list, as the other implementations return
+        }
+        final long state = cursor.get();
+        final int currentIndex = current.index(settledDisplacement(state));
+
+        return isHole(current, state) ?
+            currentIndex
+            :
+            (0 == currentIndex) ?
+                (stepsOf(state) < maxSteps) ?
+                    current.items.length - 1 :
+                    -1 //we are at the beginning of the list so return -1 per ListIterator spec
+                :
+                currentIndex - 1;
+    }
+
+    /**
+     * Sets the current element to the passed element. If the iterator is not initialized by either calling next(), previous(),
+     * nextElement(), or previousElement() first, this will throw an IllegalStateException.
+     * @param t - The element to set the current element to.
+     */
+    @Override
+    public void set(final T t) {
+        withLock(writeLock, () -> {
+            final long state = cursor.get();
+            final int currentIndex = checkIndex(frame, state);
+            elements.set(currentIndex, t);
+            publish(state, currentIndex, NO_HOLE);
+        });
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////
+    // PositionalListIterator methods
+    ///////////////////////////////////////////////////////////////////////////
+    /**
+     * Returns the current element in the list. If the iterator is not initialized by either calling next(), previous(),
+     * nextElement(), or previousElement() first, this will throw an IllegalStateException.
+     * @return The current element in the list.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public T at() {
+        final Frame current = frame;
+        return (T) current.items[checkIndex(current, cursor.get())];
+    }
+
+    @Override
+    public void addNext(final T t) {
+        withLock(writeLock, () -> {
+            final long state = cursor.get();
+            final int currentIndex = checkIndex(frame, state);
+            elements.add(currentIndex + 1, t);
+            publish(state, currentIndex, NO_HOLE);
+        });
+    }
+
+    @Override
+    public void addAllNext(final Collection<T> c) {
+        withLock(writeLock, () -> {
+            final long state = cursor.get();
+            final int currentIndex = checkIndex(frame, state);
+            elements.addAll(currentIndex + 1, c);
+            publish(state, currentIndex, NO_HOLE);
+        });
+    }
+
+    /**
+     * Writes the passed element before the current element. If the iterator is at the beginning of the list
+     * the element is added at the end of the list.
+     * @param element - The element to write before the current element.
+     */
+    @Override
+    public void addPrevious(final T element) {
+        withLock(writeLock, () -> {
+            final long state = cursor.get();
+            final int currentIndex = checkIndex(frame, state);
+            if (0 == currentIndex) {
+                elements.add(element);
+                publish(state, currentIndex, NO_HOLE);
+            } else {
+                elements.add(currentIndex, element);
+                publish(state, currentIndex + 1, NO_HOLE);
+            }
+        });
+    }
+
+    /**
+     * Writes the passed elements before the current element. If the iterator is at the beginning of the list
+     * the elements are added at the end of the list.
+     * @param c - The collection of elements to add to the list.
+     */
+    @Override
+    public void addAllPrevious(final Collection<T> c) {
+        withLock(writeLock, () -> {
+            final long state = cursor.get();
+            final int currentIndex = checkIndex(frame, state);
+            if (0 == currentIndex) {
+                elements.addAll(c);
+                publish(state, currentIndex, NO_HOLE);
+            } else {
+                elements.addAll(currentIndex, c);
+                publish(state, currentIndex + c.size(), NO_HOLE);
+            }
+        });
+    }
+
+    /**
+     * Returns a read-only view of the current snapshot of the elements. Unlike the other implementations this is not
+     * the list passed in, though changes made through the iterator are written through to that list as well.
+     * @return
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<T> elements() {
+        return Collections.unmodifiableList(Arrays.asList((T[]) frame.items));
+    }
+
+    /**
+     * Resets the iterator to the same state as if it were newly created. The iterator will start at the "beginning" of the list
+     * and the step count will be reset to 0.
+     */
+    @Override
+    public void reset() {
+        withLock(writeLock, () -> {
+            final long state = cursor.get();
+            cursor.getAndAdd(-settledSteps(state) * STEP);
+            publish(state, starterIdx - 1, 0, 0);
+        });
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+    // Counter methods
+    ///////////////////////////////////////////////////////////////////////////
+    /**
+     * Returns the current step count, i.e. how many times next(), nextElement(), previous(), or previousElement() has been called.
+     * @return The current step count.
+     */
+    @Override
+    public Integer getCount() {
+        return count();
+    }
+
+    @Override
+    public Integer getLimit() {
+        return maxSteps;
+    }
+
+    /**
+     * Resets the step count to 0 without moving the iterator.
+     */
+    @Override
+    public void resetCount() {
+        withLock(writeLock, () -> {
+            final Frame current = frame;
+            final long state = cursor.get();
+            final int currentIndex = current.index(settledDisplacement(state));
+            final boolean wasHole = isHole(current, state);
+            cursor.getAndAdd(-settledSteps(state) * STEP);
+            publish(state, currentIndex, wasHole ? 0 : NO_HOLE, 0);
+        });
+    }
+
+    @Override
+    public boolean isUnder() {
+        return count() < maxSteps;
+    }
+
+    @Override
+    public boolean isOver() {
+        return count() > maxSteps;
+    }
+
+    @Override
+    public boolean isAt() {
+        return count() == maxSteps;
+    }
+
+    @Override
+    public boolean isAtOrUnder() {
+        return count() <= maxSteps;
+    }
+
+    @Override
+    public boolean isAtOrOver() {
+        return count() >= maxSteps;
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+    // Private utility methods
+    ///////////////////////////////////////////////////////////////////////////
+    private int count() {
+        return (int) (settledSteps(cursor.get()) + frame.tail);
+    }
+
+    private static long stepsOf(final long state) {
+        return state >>> 32;
+    }
+
+    private static long displacementOf(final long state) {
+        return (state & 0xFFFFFFFFL) - BIAS;
+    }
+
+    /**
+     * The step count without the claims past the limit that are still being given back.
+     */
+    private long settledSteps(final long state) {
+        return Math.min(stepsOf(state), maxSteps);
+    }
+
+    /**
+     * The displacement without the claims past the limit that are still being given back. Only next() claims on the
+     * fast path so each of those moved the displacement by one.
+     */
+    private long settledDisplacement(final long state) {
+        return displacementOf(state) - Math.max(0, stepsOf(state) - maxSteps);
+    }
+
+    private boolean isHole(final Frame current, final long state) {
+        return current.hole == settledSteps(state) + current.tail;
+    }
+
+    private boolean hasNextNoWrap(final Frame current, final long state) {
+        return isHole(current, state) ?
+            0 != current.items.length :
+            current.index(settledDisplacement(state)) < current.items.length - 1;
+    }
+
+    private boolean hasPreviousNoWrap(final Frame current, final long state) {
+        return !isHole(current, state) && current.index(settledDisplacement(state)) > 0;
+    }
+
+    /**
+     * Returns the index of the current element or throws an IllegalStateException if the iterator is not initialized.
+     */
+    private int checkIndex(final Frame current, final long state) {
+        if (isHole(current, state)) {
+            throw new IllegalStateException("Iterator not initialized, call next or previous first.");
+        }
+        return current.index(settledDisplacement(state));
+    }
+
+    /**
+     * Receives the elements of a batch along with their position in it.
+     */
+    private interface Sink {
+        void accept(int position, Object element);
+    }
+
+    /**
+     * Claims up to n slots, the first being reported to the sink at the passed position. Claims are made MAX_CLAIM at a
+     * time so that a huge batch cannot overflow the displacement, smaller batches are a single fetch-and-add.
+     */
+    private int claimNext(final int n, final int position, final Sink sink) {
+        int claimed = 0;
+        while (claimed < n) {
+            final int wanted = Math.min(n - claimed, MAX_CLAIM);
+            final long state = cursor.getAndAdd(wanted * NEXT);
+            final Frame current = frame;
+            final int granted = (0 == current.items.length) ? 0 : (int) Math.max(0, Math.min(wanted, maxSteps - stepsOf(state)));
+            if (granted < wanted) {
+                cursor.getAndAdd(-(wanted - granted) * NEXT); //give back the slots past the limit
+            }
+            if (0 != granted) {
+                rebaseIfNeeded(state);
+                final int size = current.items.length;
+                int index = current.index(displacementOf(state) + 1);
+                for (int i = 0; i < granted; i++) {
+                    sink.accept(position + claimed + i, current.items[index]);
+                    index = (index == size - 1) ? 0 : index + 1;
+                }
+                claimed += granted;
+            }
+            if (granted < wanted) {
+                if (0 != current.items.length) {
+                    claimed += pastLimit(n - claimed, position + claimed, sink);
+                }
+                break;
+            }
+        }
+        return claimed;
+    }
+
+    /**
+     * Makes the moves of a batch that reached the limit, taking the writer lock only to work out and publish them so
+     * the sink is called without it.
+     */
+    private int pastLimit(final int n, final int position, final Sink sink) {
+        Frame current;
+        long from = 0;
+        int moves = 0;
+        boolean wasReset = false;
+        writeLock.lock();
+        try {
+            current = frame;
+            final long state = cursor.get();
+            if (stepsOf(state) < maxSteps) { //the count was reset while waiting for the lock
+                wasReset = true;
+            } else if (0 != current.items.length && hasNextNoWrap(current, state)) {
+                from = settledDisplacement(state) + 1;
+                //leaving a hole the first move may still wrap, after that it stops at the end of the list
+                moves = Math.min(n, current.items.length - current.index(from));
+                frame = current.moved(moves);
+            }
+        } finally {
+            writeLock.unlock();
+        }
+        if (wasReset) {
+            return claimNext(n, position, sink);
+        }
+        for (int i = 0; i < moves; i++) {
+            sink.accept(position + i, current.element(from + i));
+        }
+        return moves;
+    }
+
+    /**
+     * Moves up to the passed number of steps in the passed direction once the maximum number of steps is reached, must
+     * be called holding the writer lock. Forward the iterator stops at the end of the list, back at the start.
+     */
+    private long movePastLimit(final long steps, final int direction) {
+        final Frame current = frame;
+        final long state = cursor.get();
+        if (stepsOf(state) < maxSteps) { //the count was reset while waiting for the lock
+            return (direction > 0) ? advance(steps) : rewind(steps);
+        }
+        final long available;
+        if (direction > 0) {
+            available = hasNextNoWrap(current, state) ?
+                current.items.length - current.index(settledDisplacement(state) + 1) : 0;
+        } else {
+            available = hasPreviousNoWrap(current, state) ? current.index(settledDisplacement(state)) : 0;
+        }
+        final int moves = (int) Math.min(steps, available);
+        if (0 != moves) {
+            frame = current.moved(direction * moves);
+        }
+        return moves;
+    }
+
+    /**
+     * Moves forward once the maximum number of steps is reached, must be called holding the writer lock.
+     */
+    private T nextPastLimit() {
+        final Frame current = frame;
+        final long state = cursor.get();
+        if (0 == current.items.length) {
+            throw new NoSuchElementException();
+        }
+        if (stepsOf(state) < maxSteps) { //the count was reset while waiting for the lock
+            return next();
+        }
+        if (!hasNextNoWrap(current, state)) {
+            throw new NoSuchElementException();
+        }
+        frame = current.moved(1);
+        return frame.element(settledDisplacement(state));
+    }
+
+    /**
+     * Moves back once the maximum number of steps is reached, must be called holding the writer lock.
+     */
+    private T previousPastLimit() {
+        final Frame current = frame;
+        final long state = cursor.get();
+        if (stepsOf(state) < maxSteps) { //the count was reset while waiting for the lock
+            return previous();
+        }
+        if (!hasPreviousNoWrap(current, state)) {
+            throw new NoSuchElementException();
+        }
+        frame = current.moved(-1);
+        return frame.element(settledDisplacement(state));
+    }
+
+    /**
+     * Publishes a snapshot of the list, must be called holding the writer lock.
+     * @param state - The cursor the new current index was computed from.
+     * @param currentIndex - The index of the current element in the new snapshot.
+     * @param hole - The step count at which the iterator became uninitialized or NO_HOLE.
+     */
+    private void publish(final long state, final long currentIndex, final long hole) {
+        publish(state, currentIndex, hole, frame.tail);
+    }
+
+    private void publish(final long state, final long currentIndex, final long hole, final int tail) {
+        frame = new Frame(elements.toArray(), currentIndex - settledDisplacement(state), hole, tail);
+    }
+
+    /**
+     * Keeps the displacement well inside its 32 bits by taking a multiple of the list size off it, which does not
+     * change the current index. Skipped if a writer holds the lock, the next claim will try again.
+     */
+    private void rebaseIfNeeded(final long claimed) {
+        if (Math.abs(displacementOf(claimed)) < REBASE_AT || !writeLock.tryLock()) {
+            return;
+        }
+        try {
+            final long state = cursor.get();
+            final long displacement = displacementOf(state);
+            final int size = frame.items.length;
+            if (0 != size && stepsOf(state) < maxSteps && Math.abs(displacement) >= REBASE_AT) {
+                cursor.compareAndSet(state, state - (displacement - displacement % size));
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * An immutable snapshot of the elements along with what is needed to turn the cursor into an index.
+     */
+    private static final class Frame {
+        final Object[] items;
+        //the index of the current element is origin + displacement modulo the size of the list
+        final long origin;
+        //the step count at which the iterator became uninitialized, if the count still matches there is no current element
+        final long hole;
+        //the steps taken past the limit, these move the origin rather than the cursor
+        final int tail;
+
+        Frame(final Object[] items, final long origin, final long hole, final int tail) {
+            this.items = items;
+            this.origin = origin;
+            this.hole = hole;
+            this.tail = tail;
+        }
+
+        int index(final long displacement) {
+            //an emptied list has no index to wrap to, 0 is where the next element added would go
+            return (0 == items.length) ? 0 : (int) Math.floorMod(origin + displacement, (long) items.length);
+        }
+
+        @SuppressWarnings("unchecked")
+        <T> T element(final long displacement) {
+            return (T) items[index(displacement)];
+        }
+
+        Frame moved(final int delta) {
+            return new Frame(items, origin + delta, NO_HOLE, tail + Math.abs(delta));
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.wortcook.util.impl;
+
+import com.wortcook.util.LongCircularIterator;
+
+/**
+ * An implementation of LongCircularIterator backed by a long[]. See AbstractPrimitiveCircularIterator for the index and
+ * step bookkeeping.
+ */
+public class LongCircularIteratorImpl extends AbstractPrimitiveCircularIterator implements LongCircularIterator {
+    private final long[] elements;
+
+    /**
+     * Creates an iterator that starts at the specified index of the passed array.
+     * @param elements - The array to iterate through, it is not copied.
+     * @param index - The index to start at.
+     * @param maxSteps - The maximum number of steps the iterator can take before hasNext() and hasPrevious() return false.
+     */
+    public LongCircularIteratorImpl(final long[] elements, final int index, final int maxSteps) {
+        super(lengthOf(elements), index, maxSteps);
+        this.elements = elements;
+    }
+
+    @Override
+    public long nextLong() {
+        return elements[advance()];
+    }
+
+    @Override
+    public long previousLong() {
+        return elements[retreat()];
+    }
+
+    @Override
+    public long atLong() {
+        return elements[currentIndex()];
+    }
+
+    @Override
+    public void setLong(final long value) {
+        elements[currentIndex()] = value;
+    }
+
+    private static int lengthOf(final long[] elements) {
+        assert null != elements : "Elements cannot be null.";
+        return elements.length;
+    }
+}
@@ -0,0 +1,167 @@
+package com.wortcook.util.impl;
+
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.ToIntFunction;
+
+import com.wortcook.util.CircularListIterator;
+import com.wortcook.util.MultiRingIterator;
+
+/**
+ * An implementation of MultiRingIterator keeping the rotation in an ArrayDeque of lanes, one per ring, the ring whose
+ * turn it is at the head. Ending a turn moves the head to the tail and dropping a ring with no next element polls it
+ * off the head, both O(1). Removing a ring by hand searches the rotation.
+ * <br><br>
+ * With a cost function the cost of a ring's next element is read before it is taken, from the ring's elements at its
+ * next index, so a ring whose credit does not cover it ends its turn without moving.
+ */
+public class MultiRingIteratorImpl<T> implements MultiRingIterator<T> {
+    private final ArrayDeque<Lane<T>> lanes = new ArrayDeque<>();
+    private final ToIntFunction<? super T> cost;
+    private Lane<T> current = null;
+    private T currentElement = null;
+
+    /**
+     * @param cost - Gives the cost of an element, or null for every element to cost 1.
+     */
+    public MultiRingIteratorImpl(final ToIntFunction<? super T> cost) {
+        this.cost = cost;
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+    // Iterator methods
+    ///////////////////////////////////////////////////////////////////////////
+    @Override
+    public boolean hasNext() {
+        while (!lanes.isEmpty()) {
+            if (lanes.peekFirst().ring.hasNext()) {
+                return true;
+            }
+            drop();
+        }
+        return false;
+    }
+
+    /**
+     * Takes the next element from the ring whose turn it is, ending turns until a ring's credit covers its next
+     * element.
+     * @return The next element.
+     */
+    @Override
+    public T next() {
+        while (hasNext()) {
+            final Lane<T> lane = lanes.peekFirst();
+            if (!lane.inTurn) {
+                lane.deficit += lane.quantum;
+                lane.inTurn = true;
+            }
+            final int price = costOfNext(lane.ring);
+            if (price <= lane.deficit) {
+                lane.deficit -= price;
+                final T element = lane.ring.next();
+                current = lane;
+                currentElement = element;
+                if (!lane.ring.hasNext()) {
+                    drop();
+                } else if (0 == lane.deficit) {
+                    endTurn();
+                }
+                return element;
+            }
+            endTurn();
+        }
+        throw new NoSuchElementException();
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+    // MultiRingIterator methods
+    ///////////////////////////////////////////////////////////////////////////
+    @Override
+    public void addRing(final CircularListIterator<T> ring) {
+        addRing(ring, 1);
+    }
+
+    @Override
+    public void addRing(final CircularListIterator<T> ring, final int quantum) {
+        assert null != ring : "Ring cannot be null.";
+        assert quantum > 0 : "Quantum must be greater than 0.";
+        lanes.addLast(new Lane<>(ring, quantum));
+    }
+
+    @Override
+    public boolean removeRing(final CircularListIterator<T> ring) {
+        for (Iterator<Lane<T>> it = lanes.iterator(); it.hasNext();) {
+            if (it.next().ring == ring) {
+                it.remove();
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public int ringCount() {
+        return lanes.size();
+    }
+
+    @Override
+    public T at() {
+        checkCurrent();
+        return currentElement;
+    }
+
+    @Override
+    public CircularListIterator<T> atRing() {
+        checkCurrent();
+        return current.ring;
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+    // Private utility methods
+    ///////////////////////////////////////////////////////////////////////////
+    private int costOfNext(final CircularListIterator<T> ring) {
+        if (null == cost) {
+            return 1;
+        }
+        final int price = cost.applyAsInt(ring.elements().get(ring.nextIndex()));
+        assert price > 0 : "Cost must be greater than 0.";
+        return price;
+    }
+
+    /**
+     * Moves the head lane to the tail, its credit carries over to its next turn.
+     */
+    private void endTurn() {
+        final Lane<T> lane = lanes.pollFirst();
+        lane.inTurn = false;
+        lanes.addLast(lane);
+    }
+
+    /**
+     * Takes the head lane out of the rotation, a ring leaving the rotation loses its credit.
+     */
+    private void drop() {
+        final Lane<T> lane = lanes.pollFirst();
+        lane.deficit = 0;
+        lane.inTurn = false;
+    }
+
+    private void checkCurrent() {
+        if (null == current) {
+            throw new IllegalStateException("Iterator not initialized, call next first.");
+        }
+    }
+
+    private static final class Lane<T> {
+        final CircularListIterator<T> ring;
+        final int quantum;
+        long deficit = 0;
+        boolean inTurn = false;
+
+        Lane(final CircularListIterator<T> ring, final int quantum) {
+            this.ring = ring;
+            this.quantum = quantum;
+        }
+    }
+}
@@ -0,0 +1,255 @@
+package com.wortcook.util.impl;
+
+import static com.wortcook.Wort.withLock;
+import static com.wortcook.Wort.withOptimisticRead;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * A thread-safe implementation of the CircularListIterator interface using a StampedLock, a wrapper around the
+ * CircularListIteratorImpl class in the same way as ConcurrentCircularListIteratorImpl. Moves and changes take the
+ * write lock. The methods that only read, at(), hasNext(), nextIndex(), elements(), the step count and the like, read
+ * under an optimistic stamp without writing to any shared memory, and only take the read lock when a write came in
+ * between. Where readers far outnumber writers they no longer contend on the lock's reader count.
+ * <br><br>
+ * The StampedLock is not reentrant. The CircularListIteratorImpl methods call each other, so the thread holding the
+ * write lock is remembered and its reads and nested writes go straight through.
+ */
+public class OptimisticCircularListIteratorImpl<T> extends CircularListIteratorImpl<T> {
+    private final StampedLock lock = new StampedLock();
+    private final Lock writeLock = lock.asWriteLock();
+    //only ever compared with the current thread, which always sees its own writes
+    private Thread writer = null;
+
+    public OptimisticCircularListIteratorImpl(final List<T> elements, final int index, final int step) {
+        super(elements, index, step);
+    }
+
+    ///////////////////////////////////////////////////////////////////
+    // CircularListIterator methods
+    ///////////////////////////////////////////////////////////////////
+    @Override
+    public boolean hasNextNoWrap(){
+        return read(super::hasNextNoWrap);
+    }
+
+    @Override
+    public boolean hasPreviousNoWrap() {
+        return read(super::hasPreviousNoWrap);
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////
+    // Iterator methods
+    ///////////////////////////////////////////////////////////////////////////
+    @Override
+    public T next() {
+        return write(super::next);
+    }
+
+    @Override
+    public boolean hasNext() {
+        return read(super::hasNext);
+    }
+
+    /**
+     * Claims the whole batch under a single acquisition of the write lock.
+     */
+    @Override
+    public int nextBatch(final T[] dest, final int n) {
+        return write(() -> super.nextBatch(dest, n));
+    }
+
+    /**
+     * Claims the whole batch and copies it out under a single acquisition of the write lock, the consumer is called
+     * after the lock is released.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public int drainTo(final Consumer<? super T> consumer, final int n) {
+        assert null != consumer : "Consumer cannot be null.";
+        assert n >= 0 : "Batch size must be greater than or equal to 0.";
+
+        final T[] batch = write(() -> {
+            final T[] claimed = (T[]) new Object[(int) claimable(n)];
+            super.nextBatch(claimed, claimed.length);
+            return claimed;
+        });
+        for (T element : batch) {
+            consumer.accept(element);
+        }
+        return batch.length;
+    }
+
+    @Override
+    public long advance(final long steps) {
+        return write(() -> super.advance(steps));
+    }
+
+    @Override
+    public long rewind(final long steps) {
+        return write(() -> super.rewind(steps));
+    }
+
+    /**
+     * Resets and moves the iterator under a single acquisition of the write lock.
+     */
+    @Override
+    public void seekEpoch(final int epoch) {
+        write(() -> super.seekEpoch(epoch));
+    }
+
+    @Override
+    public void remove() {
+        write(super::remove);
+    }
+
+
+    /////////////////////////////////////////////////////////////////
+    // ListIterator methods
+    /////////////////////////////////////////////////////////////////
+    @Override
+    public void add(final T t) {
+        write(() -> super.add(t));
+    }
+
+    @Override
+    public int nextIndex() {
+        return read(super::nextIndex);
+    }
+
+    @Override
+    public boolean hasPrevious() {
+        return read(super::hasPrevious);
+    }
+
+    @Override
+    public T previous() {
+        return write(super::previous);
+    }
+
+    @Override
+    public int previousIndex() {
+        return read(super::previousIndex);
+    }
+
+    @Override
+    public void set(final T t) {
+        write(() -> super.set(t));
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////
+    // PositionalListIterator methods
+    ///////////////////////////////////////////////////////////////////////////
+    @Override
+    public T at() {
+        return read(super::at);
+    }
+
+    @Override
+    public void addNext(final T t) {
+        write(() -> super.addNext(t));
+    }
+
+    @Override
+    public void addAllNext(final Collection<T> c) {
+        write(() -> super.addAllNext(c));
+    }
+
+    @Override
+    public void addPrevious(final T element) {
+        write(() -> super.addPrevious(element));
+    }
+
+    @Override
+    public void addAllPrevious(final Collection<T> c) {
+        write(() -> super.addAllPrevious(c));
+    }
+
+    @Override
+    public List<T> elements() {
+        return read(super::elements);
+    }
+
+    @Override
+    public void reset() {
+        write(super::reset);
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+    // Counter methods
+    ///////////////////////////////////////////////////////////////////////////
+    @Override
+    public Integer getCount() {
+        return read(super::getCount);
+    }
+
+    @Override
+    public Integer getLimit() {
+        return read(super::getLimit);
+    }
+
+    @Override
+    public void resetCount() {
+        write(super::resetCount);
+    }
+
+    @Override
+    public boolean isUnder() {
+        return read(super::isUnder);
+    }
+
+    @Override
+    public boolean isOver() {
+        return read(super::isOver);
+    }
+
+    @Override
+    public boolean isAt() {
+        return read(super::isAt);
+    }
+
+    @Override
+    public boolean isAtOrUnder() {
+        return read(super::isAtOrUnder);
+    }
+
+    @Override
+    public boolean isAtOrOver() {
+        return read(super::isAtOrOver);
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+    // Private utility methods
+    ///////////////////////////////////////////////////////////////////////////
+    private <R> R read(final Supplier<R> supplier) {
+        return (Thread.currentThread() == writer) ? supplier.get() : withOptimisticRead(lock, supplier);
+    }
+
+    private <R> R write(final Supplier<R> supplier) {
+        if (Thread.currentThread() == writer) {
+            return supplier.get();
+        }
+        return withLock(writeLock, () -> {
+            writer = Thread.currentThread();
+            try {
+                return supplier.get();
+            } finally {
+                writer = null;
+            }
+        });
+    }
+
+    private void write(final Runnable runnable) {
+        write(() -> {
+            runnable.run();
+            return null;
+        });
+    }
+}
@@ -0,0 +1,191 @@
+package com.wortcook.util.impl;
+
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import com.wortcook.util.Counter;
+import com.wortcook.util.IntCounter;
+import com.wortcook.util.PartitionedCircularIterator;
+
+/**
+ * An implementation of PartitionedCircularIterator. A worker's share of the pass is an arithmetic run of its steps,
+ * the k-th local step being the step first + k * stride of the whole pass, so moving costs one multiply and the
+ * element is read straight from the list at the start plus that step, wrapped. For a stride the first step is the
+ * worker's index and the stride the number of workers; for blocks the first step is the start of the worker's block
+ * and the stride 1.
+ */
+public class PartitionedCircularIteratorImpl<T> implements PartitionedCircularIterator<T> {
+    private static final int NOT_INITIALIZED = -1;
+
+    private final List<T> elements;
+    private final int worker;
+    private final int workerCount;
+    private final int starterIdx;
+    private final long first;
+    private final long stride;
+    private final IntCounter stepCount;
+    private long currentStep = NOT_INITIALIZED;
+
+    /////////////////////////////////////////////////////////////////
+    // Constructors
+    /////////////////////////////////////////////////////////////////
+
+    /**
+     * Creates this worker's share of a pass over the passed list, which is used in place.
+     * @param elements - The list of elements to iterate over.
+     * @param worker - The index of this worker, from 0 to workerCount - 1.
+     * @param workerCount - The number of workers sharing the pass.
+     * @param index - The index the whole pass starts at.
+     * @param maxSteps - The maximum number of steps of the whole pass.
+     * @param inBlocks - True to take one contiguous run of steps rather than every workerCount-th step.
+     */
+    public PartitionedCircularIteratorImpl(final List<T> elements, final int worker, final int workerCount,
+                                           final int index, final int maxSteps, final boolean inBlocks) {
+        assert null != elements : "Elements cannot be null.";
+        assert workerCount > 0 : "Worker count must be greater than 0.";
+        assert worker >= 0 && worker < workerCount : "Worker must be between 0 and the worker count - 1.";
+        assert index >= 0 : "Index must be greater than or equal to 0.";
+        assert maxSteps >= 0 : "Max steps must be greater than or equal to 0.";
+
+        this.elements = elements;
+        this.worker = worker;
+        this.workerCount = workerCount;
+        this.starterIdx = elements.isEmpty() ? 0 : index % elements.size();
+        final int localSteps;
+        if (inBlocks) {
+            this.first = (long) worker * maxSteps / workerCount;
+            this.stride = 1;
+            localSteps = (int) ((long) (worker + 1) * maxSteps / workerCount - first);
+        } else {
+            this.first = worker;
+            this.stride = workerCount;
+            localSteps = (int) Math.max(0, ((long) maxSteps - worker + workerCount - 1) / workerCount);
+        }
+        this.stepCount = Counter.of(localSteps);
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+    // Iterator methods
+    ///////////////////////////////////////////////////////////////////////////
+    @Override
+    public boolean hasNext() {
+        return !elements.isEmpty() && stepCount.isUnder();
+    }
+
+    @Override
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        final long step = stepOf(stepCount.getAsInt());
+        final T element = elements.get(indexOf(step));
+        currentStep = step;
+        stepCount.count();
+        return element;
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+    // PartitionedCircularIterator methods
+    ///////////////////////////////////////////////////////////////////////////
+    @Override
+    public T at() {
+        return elements.get(atIndex());
+    }
+
+    @Override
+    public int atIndex() {
+        return indexOf(atStep());
+    }
+
+    @Override
+    public long atStep() {
+        if (NOT_INITIALIZED == currentStep) {
+            throw new IllegalStateException("Iterator not initialized, call next first.");
+        }
+        return currentStep;
+    }
+
+    @Override
+    public int epoch() {
+        return elements.isEmpty() ? 0 : (int) (stepOf(stepCount.getAsInt()) / elements.size());
+    }
+
+    @Override
+    public int worker() {
+        return worker;
+    }
+
+    @Override
+    public int workerCount() {
+        return workerCount;
+    }
+
+    @Override
+    public List<T> elements() {
+        return elements;
+    }
+
+    @Override
+    public void reset() {
+        currentStep = NOT_INITIALIZED;
+        stepCount.resetCount();
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+    // Countable methods
+    ///////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Returns the number of steps this worker has taken, the limit being its share of the steps of the whole pass.
+     */
+    @Override
+    public Integer getCount() {
+        return stepCount.getCount();
+    }
+
+    @Override
+    public Integer getLimit() {
+        return stepCount.getLimit();
+    }
+
+    @Override
+    public void resetCount() {
+        stepCount.resetCount();
+    }
+
+    @Override
+    public boolean isUnder() {
+        return stepCount.isUnder();
+    }
+
+    @Override
+    public boolean isOver() {
+        return stepCount.isOver();
+    }
+
+    @Override
+    public boolean isAt() {
+        return stepCount.isAt();
+    }
+
+    @Override
+    public boolean isAtOrUnder() {
+        return stepCount.isAtOrUnder();
+    }
+
+    @Override
+    public boolean isAtOrOver() {
+        return stepCount.isAtOrOver();
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+    // Private utility methods
+    ///////////////////////////////////////////////////////////////////////////
+    private long stepOf(final int localStep) {
+        return first + localStep * stride;
+    }
+
+    private int indexOf(final long step) {
+        return (int) ((starterIdx + step) % elements.size());
+    }
+}
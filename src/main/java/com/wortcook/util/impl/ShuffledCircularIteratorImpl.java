@@ -0,0 +1,200 @@
+package com.wortcook.util.impl;
+
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import com.wortcook.util.Counter;
+import com.wortcook.util.Hashing;
+import com.wortcook.util.IntCounter;
+import com.wortcook.util.ShuffledCircularIterator;
+
+/**
+ * An implementation of ShuffledCircularIterator permuting the indexes with a Feistel network. The indexes are split
+ * into two halves of equal width and put through four rounds, each mixing one half into the other with a round key,
+ * which is a bijection on the smallest even-width power of two holding the list. Results past the end of the list
+ * are put through the network again, cycle walking, until one lands inside it; as the power of two is at most four
+ * times the size of the list this takes at most four passes on average.
+ * <br><br>
+ * The round keys are worked out from the seed and the epoch when the iterator enters the epoch, so a step costs a
+ * few multiplies and the iterator holds nothing but the keys of the current epoch.
+ */
+public class ShuffledCircularIteratorImpl<T> implements ShuffledCircularIterator<T> {
+    private static final int NOT_INITIALIZED = -1;
+    private static final int ROUNDS = 4;
+
+    private final List<T> elements;
+    private final int size;
+    private final long seed;
+    private final int halfBits;
+    private final long halfMask;
+    private final IntCounter stepCount;
+    private final long[] keys = new long[ROUNDS];
+    private int keyedEpoch = NOT_INITIALIZED;
+    private int currentIndex = NOT_INITIALIZED;
+
+    /////////////////////////////////////////////////////////////////
+    // Constructors
+    /////////////////////////////////////////////////////////////////
+
+    /**
+     * Creates a ShuffledCircularIterator over the passed list, which is used in place.
+     * @param elements - The list of elements to iterate over.
+     * @param seed - Chooses the order of every epoch.
+     * @param maxSteps - The maximum number of steps the iterator can take before hasNext() returns false.
+     */
+    public ShuffledCircularIteratorImpl(final List<T> elements, final long seed, final int maxSteps) {
+        assert null != elements : "Elements cannot be null.";
+        assert maxSteps > 0 : "Max steps must be greater than 0.";
+
+        this.elements = elements;
+        this.size = elements.size();
+        this.seed = seed;
+        this.stepCount = Counter.of(maxSteps);
+        //the width of the largest index rounded up to an even number of bits, at least 2
+        final int bits = 64 - Long.numberOfLeadingZeros(Math.max(1, size - 1));
+        this.halfBits = Math.max(1, (bits + 1) / 2);
+        this.halfMask = (1L << halfBits) - 1;
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+    // Iterator methods
+    ///////////////////////////////////////////////////////////////////////////
+    @Override
+    public boolean hasNext() {
+        return 0 != size && stepCount.isUnder();
+    }
+
+    @Override
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        final int step = stepCount.getAsInt();
+        final int index = indexOf(step / size, step % size);
+        final T element = elements.get(index);
+        currentIndex = index;
+        stepCount.count();
+        return element;
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+    // ShuffledCircularIterator methods
+    ///////////////////////////////////////////////////////////////////////////
+    @Override
+    public T at() {
+        return elements.get(atIndex());
+    }
+
+    @Override
+    public int atIndex() {
+        if (NOT_INITIALIZED == currentIndex) {
+            throw new IllegalStateException("Iterator not initialized, call next first.");
+        }
+        return currentIndex;
+    }
+
+    @Override
+    public int epoch() {
+        return (0 == size) ? 0 : stepCount.getAsInt() / size;
+    }
+
+    @Override
+    public int indexOf(final int epoch, final int position) {
+        assert epoch >= 0 : "Epoch must be greater than or equal to 0.";
+        if (position < 0 || position >= size) {
+            throw new IndexOutOfBoundsException("Position " + position + " out of bounds for length " + size);
+        }
+        keyFor(epoch);
+        long index = position;
+        do {
+            index = feistel(index);
+        } while (index >= size);
+        return (int) index;
+    }
+
+    @Override
+    public void seekEpoch(final int epoch) {
+        assert epoch >= 0 : "Epoch must be greater than or equal to 0.";
+        reset();
+        stepCount.add((int) Math.min((long) epoch * size, stepCount.getLimitAsInt()));
+    }
+
+    @Override
+    public List<T> elements() {
+        return elements;
+    }
+
+    @Override
+    public void reset() {
+        currentIndex = NOT_INITIALIZED;
+        stepCount.resetCount();
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+    // Countable methods
+    ///////////////////////////////////////////////////////////////////////////
+    @Override
+    public Integer getCount() {
+        return stepCount.getCount();
+    }
+
+    @Override
+    public Integer getLimit() {
+        return stepCount.getLimit();
+    }
+
+    @Override
+    public void resetCount() {
+        stepCount.resetCount();
+    }
+
+    @Override
+    public boolean isUnder() {
+        return stepCount.isUnder();
+    }
+
+    @Override
+    public boolean isOver() {
+        return stepCount.isOver();
+    }
+
+    @Override
+    public boolean isAt() {
+        return stepCount.isAt();
+    }
+
+    @Override
+    public boolean isAtOrUnder() {
+        return stepCount.isAtOrUnder();
+    }
+
+    @Override
+    public boolean isAtOrOver() {
+        return stepCount.isAtOrOver();
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+    // Private utility methods
+    ///////////////////////////////////////////////////////////////////////////
+    private void keyFor(final int epoch) {
+        if (epoch == keyedEpoch) {
+            return;
+        }
+        final long epochKey = Hashing.mix(seed + (epoch + 1) * Hashing.GOLDEN);
+        for (int round = 0; round < ROUNDS; round++) {
+            keys[round] = Hashing.mix(epochKey + (round + 1) * Hashing.GOLDEN);
+        }
+        keyedEpoch = epoch;
+    }
+
+    private long feistel(final long index) {
+        long left = index >>> halfBits;
+        long right = index & halfMask;
+        for (int round = 0; round < ROUNDS; round++) {
+            final long mixed = left ^ (Hashing.mix(right ^ keys[round]) & halfMask);
+            left = right;
+            right = mixed;
+        }
+        return (left << halfBits) | right;
+    }
+}
@@ -0,0 +1,614 @@
+package com.wortcook.util.impl;
+
+import static com.wortcook.Wort.withLock;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+import com.wortcook.util.CircularListIterator;
+
+/**
+ * A thread-safe implementation of the CircularListIterator interface for lists that are read far more often than they
+ * are changed, e.g. a ring of backends that changes once a minute and is read millions of times a second.
+ * <br><br>
+ * The whole state of the iterator, an immutable array snapshot of the elements together with the current index and
+ * the step count, is one immutable object published through an AtomicReference. Every move, including moves past the
+ * maximum number of steps, reset() and resetCount(), reads the state and swaps in the moved state with a single
+ * compare-and-set, so moving never blocks and never takes a lock; a move that loses a race simply tries again.
+ * <br><br>
+ * Changes made through the iterator (add, remove, set, ...) are written through to the list passed in, copied into a
+ * new snapshot and swapped in. Writers are serialized among themselves by a lock so each change copies the elements
+ * once. A change is applied to the element that was current when the writer read the state. Should moves land before
+ * the swap, the position of the latest state is carried over: the current index names the same element in the new
+ * snapshot as in the old one, moved up past inserted elements and down past the removed one. If the removed element is
+ * still current the iterator is left uninitialized with a hole where the element was, as for the other
+ * implementations. The starting index used by reset() is an index rather than an element and is not moved by changes,
+ * also as for the other implementations, so after an insert before it reset() starts at whatever element is now at
+ * that index. Changes made to the list other than through the iterator are not seen until the next change made
+ * through the iterator.
+ */
+public class SnapshotCircularListIteratorImpl<T> implements CircularListIterator<T> {
+    private static final int NOT_INITIALIZED = -1;
+
+    private final List<T> elements;
+    private final int maxSteps;
+    private final AtomicReference<State> state;
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    /////////////////////////////////////////////////////////////////
+    // Constructors
+    /////////////////////////////////////////////////////////////////
+
+    /**
+     * Creates a CircularListIterator that starts at the specified index of the passed list.
+     * @param elements - The list of elements to iterate through.
+     * @param index - The index to start at. When next or previous is first called this will be the index of the element returned.
+     * @param maxSteps - The maximum number of steps the iterator can take before hasNext() and hasPrevious() return false defined
+     *                   as calls to next() or previous().
+     */
+    public SnapshotCircularListIteratorImpl(final List<T> elements, final int index, final int maxSteps) {
+        assert null != elements : "Elements cannot be null.";
+        assert index >= 0 : "Index must be greater than or equal to 0.";
+        assert maxSteps > 0 : "Max steps must be greater than 0.";
+
+        this.elements = elements;
+        this.maxSteps = maxSteps;
+        final int starterIdx = elements.isEmpty() ? 0 : (index % elements.size());
+        this.state = new AtomicReference<>(new State(elements.toArray(), NOT_INITIALIZED, starterIdx, 0));
+    }
+
+    ///////////////////////////////////////////////////////////////////
+    // CircularListIterator methods
+    ///////////////////////////////////////////////////////////////////
+    /**
+     * The 'traditional' version of hasNext for an iterator. If the iterator is at the end of the list, this will return false.
+     * If the list is empty this will return false.
+     * @return true if there is a next element, false otherwise, false if the list is empty.
+     */
+    @Override
+    public boolean hasNextNoWrap() {
+        return hasNextNoWrap(state.get());
+    }
+
+    /**
+     * The 'traditional' version of hasPrevious for an iterator. If the iterator is at the beginning of the list, this will return false.
+     * @return true if there is a previous element, false otherwise, false if the list is empty.
+     */
+    @Override
+    public boolean hasPreviousNoWrap() {
+        return hasPreviousNoWrap(state.get());
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+    // Iterator methods
+    ///////////////////////////////////////////////////////////////////////////
+    /**
+     * Returns the next element in the list. If hasNext() returns false, this will throw a NoSuchElementException.
+     * @return The next element in the list.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public T next() {
+        while (true) {
+            final State current = state.get();
+            if (!hasNext(current)) {
+                throw new NoSuchElementException();
+            }
+            final int index = nextIndex(current);
+            if (state.compareAndSet(current, current.movedTo(index, 1))) {
+                return (T) current.items[index];
+            }
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        return hasNext(state.get());
+    }
+
+    /**
+     * Claims the batch with a single compare-and-set and copies the elements from the snapshot they were claimed in.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public int nextBatch(final T[] dest, final int n) {
+        assert null != dest : "Destination cannot be null.";
+        assert n >= 0 && n <= dest.length : "Batch size must be between 0 and the length of the destination.";
+        return claim(n, (i, element) -> dest[i] = (T) element);
+    }
+
+    /**
+     * Claims the batch with a single compare-and-set and passes the elements to the consumer from the snapshot they
+     * were claimed in.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public int drainTo(final Consumer<? super T> consumer, final int n) {
+        assert null != consumer : "Consumer cannot be null.";
+        assert n >= 0 : "Batch size must be greater than or equal to 0.";
+        return claim(n, (i, element) -> consumer.accept((T) element));
+    }
+
+    /**
+     * Moves forward with a single compare-and-set, see claimable(State, long) for where the iterator stops.
+     */
+    @Override
+    public long advance(final long steps) {
+        assert steps >= 0 : "Steps must be greater than or equal to 0.";
+        while (true) {
+            final State current = state.get();
+            final long taken = claimable(current, steps);
+            if (0 == taken || state.compareAndSet(current, advanced(current, taken))) {
+                return taken;
+            }
+        }
+    }
+
+    /**
+     * Moves back with a single compare-and-set, see rewindable(State, long) for where the iterator stops.
+     */
+    @Override
+    public long rewind(final long steps) {
+        assert steps >= 0 : "Steps must be greater than or equal to 0.";
+        while (true) {
+            final State current = state.get();
+            final long taken = rewindable(current, steps);
+            if (0 == taken) {
+                return 0;
+            }
+            final int index = (int) Math.floorMod(previousIndex(current) - taken + 1, (long) current.items.length);
+            if (state.compareAndSet(current, current.movedTo(index, (int) taken))) {
+                return taken;
+            }
+        }
+    }
+
+    /**
+     * Resets and moves the iterator with a single compare-and-set, so no other move comes in between.
+     */
+    @Override
+    public void seekEpoch(final int epoch) {
+        assert epoch >= 0 : "Epoch must be greater than or equal to 0.";
+        while (true) {
+            final State current = state.get();
+            final State reset = current.reset();
+            final long taken = claimable(reset, (long) epoch * current.items.length);
+            if (state.compareAndSet(current, (0 == taken) ? reset : advanced(reset, taken))) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Removes the current element from the list. If the iterator is not initialized by either calling next(), previous(),
+     * nextElement(), or previousElement() first, this will throw an IllegalStateException.
+     * After remove is called the iterator is no longer initialized and a call to next(), previous(), nextElement(),
+     * or previousElement() must be made before any further changes can be made; remove(), set(), or add().
+     */
+    @Override
+    public void remove() {
+        withLock(writeLock, () -> {
+            final State read = state.get();
+            final int removed = checkIndex(read);
+            elements.remove(removed);
+            final Object[] items = new Object[read.items.length - 1];
+            System.arraycopy(read.items, 0, items, 0, removed);
+            System.arraycopy(read.items, removed + 1, items, removed, items.length - removed);
+
+            State current;
+            State swapped;
+            do {
+                current = state.get();
+                if (current.current == removed) {
+                    //leave a hole where the element was, next() returns the element after it and previous() the one before it
+                    swapped = new State(items, NOT_INITIALIZED, removed, current.steps);
+                } else {
+                    swapped = new State(items, shiftedDown(current.current, removed), current.starter, current.steps);
+                }
+            } while (!state.compareAndSet(current, swapped));
+        });
+    }
+
+
+    /////////////////////////////////////////////////////////////////
+    // ListIterator methods
+    /////////////////////////////////////////////////////////////////
+    @Override
+    public void add(final T t) {
+        addPrevious(t);
+    }
+
+    /**
+     * Returns the index of the next element in the list. If the iterator is at the end of the list, this will return 0.
+     * @return The index of the next element in the list.
+     */
+    @Override
+    public int nextIndex() {
+        return nextIndex(state.get());
+    }
+
+    /**
+     * Returns if there is a previous element in the list. If the maximum number of steps is reached, this will return false
+     * if the iterator is at the beginning of the list. If the list is empty this will return false.
+     * @return true if there is a previous element, false otherwise, false if the list is empty.
+     */
+    @Override
+    public boolean hasPrevious() {
+        return hasPrevious(state.get());
+    }
+
+    /**
+     * Returns the previous element in the list. If hasPrevious() returns false, this will throw a NoSuchElementException.
+     * If the iterator is at the beginning of the list, this will return the last element in the list.
+     * @return The previous element in the list.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public T previous() {
+        while (true) {
+            final State current = state.get();
+            if (!hasPrevious(current)) {
+                throw new NoSuchElementException();
+            }
+            final int index = previousIndex(current);
+            if (state.compareAndSet(current, current.movedTo(index, 1))) {
+                return (T) current.items[index];
+            }
+        }
+    }
+
+    /**
+     * Returns the index of the previous element in the list. If the iterator is at the beginning of the list, this will return the last index.
+     * @return The index of the previous element in the list.
+     */
+    @Override
+    public int previousIndex() {
+        return previousIndex(state.get());
+    }
+
+    /**
+     * Sets the current element to the passed element. If the iterator is not initialized by either calling next(), previous(),
+     * nextElement(), or previousElement() first, this will throw an IllegalStateException.
+     * @param t - The element to set the current element to.
+     */
+    @Override
+    public void set(final T t) {
+        withLock(writeLock, () -> {
+            final State read = state.get();
+            final int index = checkIndex(read);
+            elements.set(index, t);
+            final Object[] items = read.items.clone();
+            items[index] = t;
+            swap(items, 0, 0);
+        });
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////
+    // PositionalListIterator methods
+    ///////////////////////////////////////////////////////////////////////////
+    /**
+     * Returns the current element in the list. If the iterator is not initialized by either calling next(), previous(),
+     * nextElement(), or previousElement() first, this will throw an IllegalStateException.
+     * @return The current element in the list.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public T at() {
+        final State current = state.get();
+        return (T) current.items[checkIndex(current)];
+    }
+
+    @Override
+    public void addNext(final T t) {
+        addAllNext(Collections.singletonList(t));
+    }
+
+    @Override
+    public void addAllNext(final Collection<T> c) {
+        withLock(writeLock, () -> {
+            final int index = checkIndex(state.get());
+            elements.addAll(index + 1, c);
+            insert(index + 1, c.toArray());
+        });
+    }
+
+    /**
+     * Writes the passed element before the current element. If the iterator is at the beginning of the list
+     * the element is added at the end of the list.
+     * @param element - The element to write before the current element.
+     */
+    @Override
+    public void addPrevious(final T element) {
+        addAllPrevious(Collections.singletonList(element));
+    }
+
+    /**
+     * Writes the passed elements before the current element. If the iterator is at the beginning of the list
+     * the elements are added at the end of the list.
+     * @param c - The collection of elements to add to the list.
+     */
+    @Override
+    public void addAllPrevious(final Collection<T> c) {
+        withLock(writeLock, () -> {
+            final State read = state.get();
+            final int index = checkIndex(read);
+            if (0 == index) {
+                elements.addAll(c);
+                insert(read.items.length, c.toArray());
+            } else {
+                elements.addAll(index, c);
+                insert(index, c.toArray());
+            }
+        });
+    }
+
+    /**
+     * Returns a read-only view of the current snapshot of the elements. Unlike the other implementations this is not
+     * the list passed in, though changes made through the iterator are written through to that list as well.
+     * @return
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<T> elements() {
+        return Collections.unmodifiableList(Arrays.asList((T[]) state.get().items));
+    }
+
+    /**
+     * Resets the iterator to the same state as if it were newly created. The iterator will start at the "beginning" of the list
+     * and the step count will be reset to 0.
+     */
+    @Override
+    public void reset() {
+        State current;
+        do {
+            current = state.get();
+        } while (!state.compareAndSet(current, current.reset()));
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+    // Counter methods
+    ///////////////////////////////////////////////////////////////////////////
+    /**
+     * Returns the current step count, i.e. how many times next(), nextElement(), previous(), or previousElement() has been called.
+     * @return The current step count.
+     */
+    @Override
+    public Integer getCount() {
+        return state.get().steps;
+    }
+
+    @Override
+    public Integer getLimit() {
+        return maxSteps;
+    }
+
+    /**
+     * Resets the step count to 0 without moving the iterator.
+     */
+    @Override
+    public void resetCount() {
+        State current;
+        do {
+            current = state.get();
+        } while (!state.compareAndSet(current, new State(current.items, current.current, current.starter, 0)));
+    }
+
+    @Override
+    public boolean isUnder() {
+        return state.get().steps < maxSteps;
+    }
+
+    @Override
+    public boolean isOver() {
+        return state.get().steps > maxSteps;
+    }
+
+    @Override
+    public boolean isAt() {
+        return state.get().steps == maxSteps;
+    }
+
+    @Override
+    public boolean isAtOrUnder() {
+        return state.get().steps <= maxSteps;
+    }
+
+    @Override
+    public boolean isAtOrOver() {
+        return state.get().steps >= maxSteps;
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+    // Private utility methods
+    ///////////////////////////////////////////////////////////////////////////
+    //These work on one state read once so that every answer is about the same snapshot and position.
+    private boolean hasNext(final State current) {
+        return 0 != current.items.length && (current.steps < maxSteps || hasNextNoWrap(current));
+    }
+
+    private boolean hasPrevious(final State current) {
+        return 0 != current.items.length && (current.steps < maxSteps || hasPreviousNoWrap(current));
+    }
+
+    private static boolean hasNextNoWrap(final State current) {
+        return (NOT_INITIALIZED == current.current) ?
+            0 != current.items.length :
+            current.current < current.items.length - 1;
+    }
+
+    private static boolean hasPreviousNoWrap(final State current) {
+        return NOT_INITIALIZED != current.current && current.current > 0;
+    }
+
+    private int nextIndex(final State current) {
+        final int size = current.items.length;
+        if (0 == size) {
+            return -1; //the last index of an empty list, as the other implementations return
+        }
+        return (NOT_INITIALIZED == current.current) ?
+            current.starter % size :
+            (current.steps < maxSteps) ?
+                (current.current + 1) % size :
+                (current.current < size - 1) ?
+                    current.current + 1 :
+                    size; //we are at the end of the list so return elements.size() per ListIterator spec
+    }
+
+    private int previousIndex(final State current) {
+        final int size = current.items.length;
+        if (0 == size) {
+            return -1; //the last index of an empty list, as the other implementations return
+        }
+        return (NOT_INITIALIZED == current.current) ?
+            (0 == current.starter) ?
+                size - 1 :
+                (current.starter - 1) % size
+            :
+            (0 == current.current) ?
+                (current.steps < maxSteps) ?
+                    size - 1 :
+                    -1 //we are at the beginning of the list so return -1 per ListIterator spec
+                :
+                current.current - 1;
+    }
+
+    /**
+     * Returns how many of the next n calls to next() would succeed from the passed state, using the rule of
+     * CircularListIteratorImpl.claimable(long).
+     */
+    private long claimable(final State current, final long n) {
+        if (n <= 0 || !hasNext(current)) {
+            return 0;
+        }
+        return CircularListIteratorImpl.claimable(n, current.items.length, nextIndex(current),
+                NOT_INITIALIZED != current.current, (long) maxSteps - current.steps, current.steps);
+    }
+
+    /**
+     * Returns how many of the next n calls to previous() would succeed from the passed state, the same rule as
+     * CircularListIteratorImpl.rewindable(long).
+     */
+    private long rewindable(final State current, final long n) {
+        if (n <= 0 || !hasPrevious(current)) {
+            return 0;
+        }
+        final long under = Math.max(0L, (long) maxSteps - current.steps);
+        final long room = (long) Integer.MAX_VALUE - current.steps;
+        if (n <= under) {
+            return Math.min(n, room);
+        }
+        final int size = current.items.length;
+        final long lastUnder = Math.floorMod(previousIndex(current) - under + 1, (long) size);
+        return Math.min(Math.min(n, under + lastUnder), room);
+    }
+
+    /**
+     * Returns the passed state moved forward by the passed number of steps, which must be claimable.
+     */
+    private State advanced(final State current, final long steps) {
+        final int index = (int) ((nextIndex(current) + steps - 1) % current.items.length);
+        return current.movedTo(index, (int) steps);
+    }
+
+    /**
+     * Moves forward by up to n steps with one compare-and-set and then passes the elements moved over to the sink from
+     * the snapshot they were claimed in.
+     */
+    private int claim(final int n, final Sink sink) {
+        while (true) {
+            final State current = state.get();
+            final long taken = claimable(current, n);
+            if (0 == taken) {
+                return 0;
+            }
+            if (state.compareAndSet(current, advanced(current, taken))) {
+                final int size = current.items.length;
+                int index = nextIndex(current);
+                for (int i = 0; i < taken; i++) {
+                    sink.accept(i, current.items[index]);
+                    index = (index == size - 1) ? 0 : index + 1;
+                }
+                return (int) taken;
+            }
+        }
+    }
+
+    /**
+     * Receives the elements of a batch along with their position in it.
+     */
+    private interface Sink {
+        void accept(int position, Object element);
+    }
+
+    /**
+     * Writes a snapshot with the passed items and carries the position of the latest state over to it, moving the
+     * current index by the passed count if it is at or after the passed index. The starting index is left where it is.
+     */
+    private void swap(final Object[] items, final int from, final int count) {
+        State current;
+        do {
+            current = state.get();
+        } while (!state.compareAndSet(current,
+            new State(items, shiftedUp(current.current, from, count), current.starter, current.steps)));
+    }
+
+    private void insert(final int at, final Object[] added) {
+        final Object[] old = state.get().items;
+        final Object[] items = new Object[old.length + added.length];
+        System.arraycopy(old, 0, items, 0, at);
+        System.arraycopy(added, 0, items, at, added.length);
+        System.arraycopy(old, at, items, at + added.length, old.length - at);
+        swap(items, at, added.length);
+    }
+
+    private static int shiftedUp(final int index, final int from, final int count) {
+        return (index >= from) ? index + count : index;
+    }
+
+    private static int shiftedDown(final int index, final int removed) {
+        return (index > removed) ? index - 1 : index;
+    }
+
+    /**
+     * Returns the index of the current element or throws an IllegalStateException if the iterator is not initialized.
+     */
+    private static int checkIndex(final State current) {
+        if (NOT_INITIALIZED == current.current) {
+            throw new IllegalStateException("Iterator not initialized, call next or previous first.");
+        }
+        return current.current;
+    }
+
+    /**
+     * An immutable snapshot of the elements along with the position of the iterator in it.
+     */
+    private static final class State {
+        final Object[] items;
+        final int current;
+        //the index next() returns while the iterator is not initialized
+        final int starter;
+        final int steps;
+
+        State(final Object[] items, final int current, final int starter, final int steps) {
+            this.items = items;
+            this.current = current;
+            this.starter = starter;
+            this.steps = steps;
+        }
+
+        State movedTo(final int index, final int taken) {
+            return new State(items, index, starter, steps + taken);
+        }
+
+        State reset() {
+            return new State(items, NOT_INITIALIZED, starter, 0);
+        }
+    }
+}
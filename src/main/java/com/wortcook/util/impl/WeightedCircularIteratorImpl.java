@@ -0,0 +1,390 @@
+package com.wortcook.util.impl;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.TreeMap;
+import java.util.function.ToIntFunction;
+
+import com.wortcook.util.Counter;
+import com.wortcook.util.IntCounter;
+import com.wortcook.util.WeightedCircularIterator;
+
+/**
+ * An implementation of WeightedCircularIterator giving the same sequence as nginx's smooth weighted round-robin.
+ * There each pick adds every element's weight to its current weight, picks the element with the highest current
+ * weight, the first in the list on a tie, and takes the total weight off it. After t picks an element's current weight
+ * is t times its weight less its base, the totals taken off it, so the current weights are worked out when needed
+ * rather than all moved on every pick.
+ * <br><br>
+ * Elements of the same weight keep their order as t grows, so each weight is given a binary heap ordered by base. A
+ * pick compares the head of each weight's heap, costing O(w + log n) for w distinct weights, and changing a weight
+ * only moves that element between heaps. This beats the O(n) scan of nginx's version when many elements share a
+ * weight, e.g. a few tiers of backends, but when every weight is different w is n and a pick is the same O(n) scan.
+ * The heads cannot be kept in a heap of their own as heads of different weights overtake each other as t grows.
+ * <br><br>
+ * The weights are kept in a TreeMap, so the heads are compared in order of weight and a tie on the current weight
+ * goes to the element added first whatever the order of the weights.
+ */
+public class WeightedCircularIteratorImpl<T> implements WeightedCircularIterator<T> {
+    //the number of picks after which the bases are brought back down so they stay well inside a long
+    private static final long RENORMALIZE_AT = 1L << 31;
+
+    private final List<T> elements;
+    private final ToIntFunction<? super T> weights;
+    private final Map<T, Node<T>> nodes = new HashMap<>();
+    private final Map<Integer, WeightClass<T>> classes = new TreeMap<>();
+    private final IntCounter stepCount;
+    private long total = 0;
+    private int order = 0;
+    private long picks = 0;
+    private Node<T> current = null;
+
+    /////////////////////////////////////////////////////////////////
+    // Constructors
+    /////////////////////////////////////////////////////////////////
+
+    /**
+     * Creates a WeightedCircularIterator over the passed list, which is used in place.
+     * @param elements - The list of elements to pick from.
+     * @param weights - Gives the weight of each element, must not be negative.
+     * @param maxSteps - The maximum number of steps the iterator can take before hasNext() returns false.
+     */
+    public WeightedCircularIteratorImpl(final List<T> elements, final ToIntFunction<? super T> weights, final int maxSteps) {
+        assert null != elements : "Elements cannot be null.";
+        assert null != weights : "Weights cannot be null.";
+        assert maxSteps > 0 : "Max steps must be greater than 0.";
+
+        this.elements = elements;
+        this.weights = weights;
+        this.stepCount = Counter.of(maxSteps);
+        for (T element : elements) {
+            track(element);
+        }
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+    // Iterator methods
+    ///////////////////////////////////////////////////////////////////////////
+    @Override
+    public boolean hasNext() {
+        return !classes.isEmpty() && stepCount.isUnder();
+    }
+
+    /**
+     * Picks the element with the highest current weight, the first added on a tie, and takes the total weight off it.
+     * This compares the head of every weight's heap, O(w + log n) for w distinct weights.
+     * @return The next element.
+     */
+    @Override
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        final long t = picks + 1;
+        Node<T> picked = null;
+        long highest = 0;
+        for (WeightClass<T> weightClass : classes.values()) {
+            final Node<T> head = weightClass.heap[0];
+            final long weight = head.weight * t - head.base;
+            if (null == picked || weight > highest || (weight == highest && head.order < picked.order)) {
+                picked = head;
+                highest = weight;
+            }
+        }
+        picked.base += total;
+        classes.get(picked.weight).siftDown(0);
+        picks = t;
+        if (picks >= RENORMALIZE_AT) {
+            renormalize();
+        }
+        current = picked;
+        stepCount.count();
+        return picked.element;
+    }
+
+    /**
+     * Removes the current element from the list. If the iterator is not initialized by calling next() first, this
+     * will throw an IllegalStateException.
+     */
+    @Override
+    public void remove() {
+        final Node<T> node = checkCurrent();
+        unschedule(node);
+        nodes.remove(node.element);
+        elements.remove(node.element);
+        current = null;
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+    // WeightedCircularIterator methods
+    ///////////////////////////////////////////////////////////////////////////
+    @Override
+    public T at() {
+        return checkCurrent().element;
+    }
+
+    @Override
+    public int weightOf(final T element) {
+        return nodeOf(element).weight;
+    }
+
+    /**
+     * Changes the weight of the element. As in nginx the element keeps its current weight, which from then on grows
+     * by the new weight each pick. An element given a weight after having none starts from a current weight of 0.
+     */
+    @Override
+    public void setWeight(final T element, final int weight) {
+        reweigh(nodeOf(element), weight);
+    }
+
+    @Override
+    public void reweigh() {
+        for (Node<T> node : nodes.values()) {
+            reweigh(node, weights.applyAsInt(node.element));
+        }
+    }
+
+    /**
+     * Adds the element to the end of the list with a current weight of 0, the same as every element when the iterator
+     * is created.
+     */
+    @Override
+    public void add(final T element) {
+        elements.add(element);
+        track(element);
+    }
+
+    @Override
+    public List<T> elements() {
+        return elements;
+    }
+
+    @Override
+    public void reset() {
+        picks = 0;
+        current = null;
+        stepCount.resetCount();
+        for (Node<T> node : nodes.values()) {
+            node.base = 0;
+        }
+        for (WeightClass<T> weightClass : classes.values()) {
+            weightClass.heapify();
+        }
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+    // Countable methods
+    ///////////////////////////////////////////////////////////////////////////
+    @Override
+    public Integer getCount() {
+        return stepCount.getCount();
+    }
+
+    @Override
+    public Integer getLimit() {
+        return stepCount.getLimit();
+    }
+
+    @Override
+    public void resetCount() {
+        stepCount.resetCount();
+    }
+
+    @Override
+    public boolean isUnder() {
+        return stepCount.isUnder();
+    }
+
+    @Override
+    public boolean isOver() {
+        return stepCount.isOver();
+    }
+
+    @Override
+    public boolean isAt() {
+        return stepCount.isAt();
+    }
+
+    @Override
+    public boolean isAtOrUnder() {
+        return stepCount.isAtOrUnder();
+    }
+
+    @Override
+    public boolean isAtOrOver() {
+        return stepCount.isAtOrOver();
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+    // Private utility methods
+    ///////////////////////////////////////////////////////////////////////////
+    private void track(final T element) {
+        final Node<T> node = new Node<>(element, order++);
+        nodes.put(element, node);
+        final int weight = weights.applyAsInt(element);
+        assert weight >= 0 : "Weight must be greater than or equal to 0.";
+        if (0 != weight) {
+            node.weight = weight;
+            node.base = weight * picks;
+            schedule(node);
+        }
+    }
+
+    private void reweigh(final Node<T> node, final int weight) {
+        assert weight >= 0 : "Weight must be greater than or equal to 0.";
+        if (weight == node.weight) {
+            return;
+        }
+        final long currentWeight = (0 == node.weight) ? 0 : node.weight * picks - node.base;
+        unschedule(node);
+        node.weight = weight;
+        if (0 != weight) {
+            node.base = weight * picks - currentWeight;
+            schedule(node);
+        }
+    }
+
+    private Node<T> nodeOf(final T element) {
+        final Node<T> node = nodes.get(element);
+        if (null == node) {
+            throw new NoSuchElementException("Element is not in the list.");
+        }
+        return node;
+    }
+
+    private Node<T> checkCurrent() {
+        if (null == current) {
+            throw new IllegalStateException("Iterator not initialized, call next first.");
+        }
+        return current;
+    }
+
+    /**
+     * Takes the picks so far off every base, the current weights and the order within each heap are unchanged.
+     */
+    private void renormalize() {
+        for (Node<T> node : nodes.values()) {
+            node.base -= node.weight * picks;
+        }
+        picks = 0;
+    }
+
+    private void schedule(final Node<T> node) {
+        classes.computeIfAbsent(node.weight, weight -> new WeightClass<>()).add(node);
+        total += node.weight;
+    }
+
+    private void unschedule(final Node<T> node) {
+        if (node.heapIndex < 0) {
+            return;
+        }
+        final WeightClass<T> weightClass = classes.get(node.weight);
+        weightClass.remove(node);
+        if (0 == weightClass.size) {
+            classes.remove(node.weight);
+        }
+        total -= node.weight;
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+    // Heap
+    ///////////////////////////////////////////////////////////////////////////
+
+    /**
+     * The elements of one weight in a binary heap, the highest current weight, i.e. the lowest base, at the top.
+     */
+    private static final class WeightClass<T> {
+        Node<T>[] heap;
+        int size = 0;
+
+        WeightClass() {
+            @SuppressWarnings("unchecked")
+            final Node<T>[] initial = (Node<T>[]) new Node<?>[4];
+            this.heap = initial;
+        }
+
+        void add(final Node<T> node) {
+            if (size == heap.length) {
+                heap = Arrays.copyOf(heap, size * 2);
+            }
+            place(node, size++);
+            siftUp(node.heapIndex);
+        }
+
+        void remove(final Node<T> node) {
+            final int index = node.heapIndex;
+            final Node<T> last = heap[--size];
+            heap[size] = null;
+            node.heapIndex = -1;
+            if (last != node) {
+                place(last, index);
+                siftUp(index);
+                siftDown(last.heapIndex);
+            }
+        }
+
+        void heapify() {
+            for (int i = size / 2 - 1; i >= 0; i--) {
+                siftDown(i);
+            }
+        }
+
+        void siftUp(int index) {
+            final Node<T> node = heap[index];
+            while (index > 0) {
+                final int parent = (index - 1) >>> 1;
+                if (!node.before(heap[parent])) {
+                    break;
+                }
+                place(heap[parent], index);
+                index = parent;
+            }
+            place(node, index);
+        }
+
+        void siftDown(int index) {
+            final Node<T> node = heap[index];
+            while (true) {
+                int child = 2 * index + 1;
+                if (child >= size) {
+                    break;
+                }
+                if (child + 1 < size && heap[child + 1].before(heap[child])) {
+                    child++;
+                }
+                if (!heap[child].before(node)) {
+                    break;
+                }
+                place(heap[child], index);
+                index = child;
+            }
+            place(node, index);
+        }
+
+        private void place(final Node<T> node, final int index) {
+            heap[index] = node;
+            node.heapIndex = index;
+        }
+    }
+
+    private static final class Node<T> {
+        final T element;
+        //ties on the current weight go to the element that was added first, as nginx picks the first in its list
+        final int order;
+        int weight = 0;
+        long base = 0;
+        int heapIndex = -1;
+
+        Node(final T element, final int order) {
+            this.element = element;
+            this.order = order;
+        }
+
+        boolean before(final Node<T> other) {
+            return base < other.base || (base == other.base && order < other.order);
+        }
+    }
+}
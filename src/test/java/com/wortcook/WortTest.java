@@ -6,6 +6,7 @@ import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.concurrent.locks.StampedLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock.ReadLock;
 
 import org.junit.jupiter.api.Test;
@@ -74,4 +75,25 @@ public class WortTest {
 
         assertThrows(java.lang.RuntimeException.class, () -> Wort.withLock(lock, () -> {throw new RuntimeException();}));
     }
+
+    @Test
+    void withOptimisticRead(){
+        final StampedLock lock = new StampedLock();
+
+        assertEquals("A", Wort.withOptimisticRead(lock, () -> "A"));
+        assertThrows(IllegalStateException.class, () -> Wort.withOptimisticRead(lock, () -> {throw new IllegalStateException();}));
+
+        //a write while reading sends the read round again under the read lock
+        final int[] calls = {0};
+        final String s = Wort.withOptimisticRead(lock, () -> {
+            if (0 == calls[0]++) {
+                lock.unlockWrite(lock.writeLock());
+                throw new IllegalStateException();
+            }
+            return "B";
+        });
+        assertEquals("B", s);
+        assertEquals(2, calls[0]);
+    }
 }
+
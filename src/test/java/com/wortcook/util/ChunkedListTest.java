@@ -0,0 +1,98 @@
+package com.wortcook.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+public class ChunkedListTest {
+
+    @Test
+    void basics(){
+        final List<String> list = new ChunkedList<>(Arrays.asList("A", "B", "C"));
+        list.add(1, "X");
+        assertEquals(Arrays.asList("A", "X", "B", "C"), list);
+        list.add(0, "Y");
+        list.add("Z");
+        assertEquals(Arrays.asList("Y", "A", "X", "B", "C", "Z"), list);
+        assertEquals("X", list.remove(2));
+        assertEquals("Y", list.remove(0));
+        assertEquals("Z", list.remove(3));
+        assertEquals(Arrays.asList("A", "B", "C"), list);
+        assertEquals("B", list.set(1, "W"));
+        assertEquals("W", list.get(1));
+
+        list.addAll(1, Arrays.asList("1", "2", "3"));
+        assertEquals(Arrays.asList("A", "1", "2", "3", "W", "C"), list);
+        list.subList(1, 4).clear();
+        assertEquals(Arrays.asList("A", "W", "C"), list);
+
+        assertThrows(IndexOutOfBoundsException.class, () -> list.get(3));
+        assertThrows(IndexOutOfBoundsException.class, () -> list.add(4, "Q"));
+        list.clear();
+        assertTrue(list.isEmpty());
+        list.add("Q");
+        assertEquals(Arrays.asList("Q"), list);
+    }
+
+    @Test
+    void matchesArrayList(){
+        final Random random = new Random(42);
+        final List<Integer> expected = new ArrayList<>();
+        //small chunks so that cutting, joining and dropping chunks all happen often
+        final List<Integer> actual = new ChunkedList<>(4);
+        for(int i = 0; i < 100_000; i++){
+            final int op = random.nextInt(20);
+            final int at = random.nextInt(expected.size() + 1);
+            if(op < 10 || expected.isEmpty()){
+                expected.add(at, i);
+                actual.add(at, i);
+            }else if(op < 18){
+                final int index = Math.min(at, expected.size() - 1);
+                assertEquals(expected.remove(index), actual.remove(index));
+            }else if(op < 19){
+                final List<Integer> bulk = new ArrayList<>();
+                for(int b = random.nextInt(20); b > 0; b--){
+                    bulk.add(-i - b);
+                }
+                expected.addAll(at, bulk);
+                actual.addAll(at, bulk);
+            }else{
+                final int to = Math.min(expected.size(), at + random.nextInt(10));
+                expected.subList(at, to).clear();
+                actual.subList(at, to).clear();
+            }
+            if(0 == i % 1000){
+                assertEquals(expected, actual);
+                assertEquals(expected.size(), actual.size());
+            }
+        }
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    void largeBulkInsert(){
+        final List<Integer> list = new ChunkedList<>();
+        final List<Integer> bulk = new ArrayList<>();
+        for(int i = 0; i < 1_000_000; i++){
+            bulk.add(i);
+        }
+        list.addAll(bulk);
+        list.addAll(500_000, Arrays.asList(-1, -2, -3));
+        assertEquals(1_000_003, list.size());
+        assertEquals(499_999, list.get(499_999));
+        assertEquals(-1, list.get(500_000));
+        assertEquals(-3, list.get(500_002));
+        assertEquals(500_000, list.get(500_003));
+
+        long sum = 0;
+        for(int value : list){
+            sum += value;
+        }
+        assertEquals(499_999_500_000L - 6, sum);
+    }
+}
@@ -699,6 +699,88 @@ public class CircularListIteratorTest {
         assertEquals("E", iterator.next());
     }
 
+    @Test
+    void view(){
+        final String[] array = {"A", "B", "C", "D", "E"};
+        CircularListIterator<String> iterator = CircularListIterator.<String>builder().view(array).withEpochs(1).build();
+
+        assertEquals("A", iterator.next());
+        assertThrows(java.lang.UnsupportedOperationException.class, () -> iterator.add("Z"));
+        assertThrows(java.lang.UnsupportedOperationException.class, () -> iterator.remove());
+        assertThrows(java.lang.UnsupportedOperationException.class, () -> iterator.set("Z"));
+
+        //the array is not copied, writes to it are seen
+        array[1] = "Z";
+        assertEquals("Z", iterator.next());
+
+        final List<String> list = new ArrayList<>(Arrays.asList("A", "B", "C"));
+        CircularListIterator<String> listIterator = CircularListIterator.<String>builder().view(list).build();
+        list.set(0, "Y");
+        assertEquals("Y", listIterator.next());
+        assertThrows(java.lang.UnsupportedOperationException.class, () -> listIterator.remove());
+    }
+
+    @Test
+    void generating(){
+        final int[] calls = {0};
+        final CircularListIterator.Builder<String> builder = CircularListIterator.<String>builder()
+            .generating(4, i -> {
+                calls[0]++;
+                return "shard-" + i;
+            })
+            .startingAt(1)
+            .withEpochs(2);
+        assertEquals(0, calls[0]);
+
+        final CircularListIterator<String> iterator = builder.build();
+        assertEquals("shard-1", iterator.next());
+        assertEquals("shard-2", iterator.next());
+        assertEquals("shard-1", iterator.previous());
+        assertEquals("shard-1", iterator.at());
+        assertEquals(4, iterator.elements().size());
+        assertThrows(java.lang.UnsupportedOperationException.class, () -> iterator.set("Z"));
+        assertThrows(java.lang.UnsupportedOperationException.class, () -> iterator.remove());
+        assertThrows(java.lang.UnsupportedOperationException.class, () -> iterator.add("Z"));
+
+        //past the limit next() still moves on to the end of the sequence
+        final List<String> streamed = builder.stream().collect(java.util.stream.Collectors.toList());
+        assertEquals(Arrays.asList("shard-1", "shard-2", "shard-3", "shard-0", "shard-1", "shard-2", "shard-3", "shard-0",
+            "shard-1", "shard-2", "shard-3"), streamed);
+        assertEquals(streamed, builder.parallelStream().collect(java.util.stream.Collectors.toList()));
+        final List<String> looped = new ArrayList<>();
+        builder.iterable().forEach(looped::add);
+        assertEquals(streamed, looped);
+
+        assertFalse(CircularListIterator.<String>builder().generating(0, i -> "x").build().hasNext());
+    }
+
+    @Test
+    void iterableSnapshot(){
+        final List<String> elements = new ArrayList<>(Arrays.asList("A", "B", "C", "D", "E"));
+        final Iterable<String> iterable = CircularListIterator.<String>builder().over(elements).startingAt(1).withEpochs(2).iterable();
+
+        //the elements are taken when iterable() is called
+        elements.set(1, "Z");
+        elements.add("F");
+
+        final List<String> first = new ArrayList<>();
+        for(String s : iterable){
+            first.add(s);
+        }
+        final List<String> second = new ArrayList<>();
+        iterable.forEach(second::add);
+
+        //10 steps end on "A", then next() still moves on to the end of the list
+        assertEquals(Arrays.asList("B", "C", "D", "E", "A", "B", "C", "D", "E", "A", "B", "C", "D", "E"), first);
+        assertEquals(first, second);
+        assertNotSame(iterable.iterator(), iterable.iterator());
+        assertThrows(java.lang.UnsupportedOperationException.class, () -> {
+            java.util.Iterator<String> iterator = iterable.iterator();
+            iterator.next();
+            iterator.remove();
+        });
+    }
+
     @Test
     void elements(){
         List<String> elements = Arrays.asList("A", "B", "C", "D", "E");
@@ -707,6 +789,326 @@ public class CircularListIteratorTest {
         assertEquals(elements, iterator.elements());
     }
 
+    @Test
+    void nextBatch(){
+        CircularListIterator<String> iterator = getBuilderWithElements().startingAt(3).withLimit(9).build();
+        String[] batch = new String[4];
+
+        assertEquals(4, iterator.nextBatch(batch, 4));
+        assertArrayEquals(new String[]{"D", "E", "A", "B"}, batch);
+        assertEquals(4, iterator.getCount());
+        assertEquals("B", iterator.at());
+
+        assertEquals(0, iterator.nextBatch(batch, 0));
+        assertEquals(4, iterator.nextBatch(batch, 4));
+        assertArrayEquals(new String[]{"C", "D", "E", "A"}, batch);
+
+        //one step left under the limit, then moves stop at the end of the list as next() does
+        batch = new String[10];
+        assertEquals(4, iterator.nextBatch(batch, 10));
+        assertEquals(Arrays.asList("B", "C", "D", "E"), Arrays.asList(batch).subList(0, 4));
+        assertEquals(12, iterator.getCount());
+        assertEquals("E", iterator.at());
+        assertFalse(iterator.hasNext());
+        assertEquals(0, iterator.nextBatch(batch, 10));
+
+        //a fresh iterator past its limit still takes its first step from the start index
+        iterator = getBuilderWithElements().startingAt(2).withLimit(1).build();
+        assertEquals(3, iterator.nextBatch(batch, 10));
+        assertEquals(Arrays.asList("C", "D", "E"), Arrays.asList(batch).subList(0, 3));
+        assertFalse(iterator.hasNext());
+    }
+
+    /**
+     * Builds an iterator over the ints 0 to size - 1 that has taken limit steps and removed the last element it
+     * returned, leaving it on a hole past its limit. A null concurrency builds the plain iterator.
+     */
+    private static CircularListIterator<Integer> removedAtLimit(final int size, final int limit, final CircularListIterator.Concurrency concurrency){
+        final CircularListIterator.Builder<Integer> builder = CircularListIterator.<Integer>builder().over(Iterators.range(size)).withLimit(limit);
+        if(null != concurrency){
+            builder.withConcurrency(concurrency);
+        }
+        final CircularListIterator<Integer> iterator = builder.build();
+        for(int i = 0; i < limit; i++){
+            iterator.next();
+        }
+        iterator.remove();
+        return iterator;
+    }
+
+    @Test
+    void batchAfterRemoveAtLimit(){
+        final List<CircularListIterator.Concurrency> modes = new ArrayList<>(Arrays.asList(CircularListIterator.Concurrency.values()));
+        modes.add(null);
+        for(CircularListIterator.Concurrency concurrency : modes){
+            for(int limit = 1; limit <= 6; limit++){
+                for(int size = 1; size <= 7; size++){
+                    final String label = concurrency + " limit " + limit + " size " + size;
+                    final CircularListIterator<Integer> stepping = removedAtLimit(size, limit, concurrency);
+                    final List<Integer> expected = new ArrayList<>();
+                    while(stepping.hasNext()){
+                        expected.add(stepping.next());
+                    }
+
+                    final Integer[] batch = new Integer[16];
+                    final int claimed = removedAtLimit(size, limit, concurrency).nextBatch(batch, batch.length);
+                    assertEquals(expected, Arrays.asList(batch).subList(0, claimed), label);
+
+                    final List<Integer> drained = new ArrayList<>();
+                    removedAtLimit(size, limit, concurrency).drainTo(drained::add, 16);
+                    assertEquals(expected, drained, label);
+
+                    final CircularListIterator<Integer> advancing = removedAtLimit(size, limit, concurrency);
+                    assertEquals(expected.size(), advancing.advance(100), label);
+                    assertEquals(stepping.getCount(), advancing.getCount(), label);
+                    assertEquals(stepping.hasNext(), advancing.hasNext(), label);
+                    if(!expected.isEmpty()){
+                        assertEquals(stepping.at(), advancing.at(), label);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void startAfterInsert(){
+        final List<CircularListIterator.Concurrency> modes = new ArrayList<>(Arrays.asList(CircularListIterator.Concurrency.values()));
+        modes.add(0, null);
+        List<String> expected = null;
+        for(CircularListIterator.Concurrency concurrency : modes){
+            final CircularListIterator.Builder<String> builder = CircularListIterator.<String>builder()
+                .over(new ArrayList<>(Arrays.asList("A", "B", "C", "D")))
+                .startingAt(2);
+            if(null != concurrency){
+                builder.withConcurrency(concurrency);
+            }
+            final CircularListIterator<String> iterator = builder.build();
+            final List<String> seen = new ArrayList<>();
+            iterator.advance(3);
+            iterator.addPrevious("X");
+            iterator.add("Y");
+            iterator.addNext("Z");
+            seen.addAll(iterator.elements());
+            iterator.reset();
+            seen.add(iterator.next());
+            iterator.seekEpoch(1);
+            seen.add(iterator.next());
+
+            if(null == expected){
+                //the starting index stays at 2 while C moves up past the inserted Z
+                assertEquals(Arrays.asList("A", "Z", "B", "C", "D", "X", "Y", "B", "B"), seen);
+                expected = seen;
+            }else{
+                assertEquals(expected, seen, String.valueOf(concurrency));
+            }
+        }
+    }
+
+    @Test
+    void emptiedByRemove(){
+        final List<CircularListIterator.Concurrency> modes = new ArrayList<>(Arrays.asList(CircularListIterator.Concurrency.values()));
+        modes.add(null);
+        for(CircularListIterator.Concurrency concurrency : modes){
+            final CircularListIterator.Builder<String> builder = CircularListIterator.<String>builder().over(new ArrayList<>(Arrays.asList("A")));
+            if(null != concurrency){
+                builder.withConcurrency(concurrency);
+            }
+            final CircularListIterator<String> iterator = builder.build();
+            assertEquals("A", iterator.next());
+            iterator.remove();
+
+            assertTrue(iterator.elements().isEmpty(), String.valueOf(concurrency));
+            assertFalse(iterator.hasNext(), String.valueOf(concurrency));
+            assertFalse(iterator.hasPrevious(), String.valueOf(concurrency));
+            assertEquals(-1, iterator.previousIndex(), String.valueOf(concurrency));
+            iterator.resetCount();
+            assertEquals(0, iterator.getCount(), String.valueOf(concurrency));
+            assertEquals(0, iterator.advance(3), String.valueOf(concurrency));
+        }
+    }
+
+    @Test
+    void drainTo(){
+        final CircularListIterator<String> iterator = getBuilderWithElements().withEpochs(2).build();
+        final List<String> drained = new ArrayList<>();
+
+        assertEquals(7, iterator.drainTo(drained::add, 7));
+        assertEquals(Arrays.asList("A", "B", "C", "D", "E", "A", "B"), drained);
+        assertEquals("B", iterator.at());
+        assertEquals("C", iterator.next());
+
+        drained.clear();
+        assertEquals(2, iterator.drainTo(drained::add, Integer.MAX_VALUE));
+        assertEquals(Arrays.asList("D", "E"), drained);
+        assertEquals(10, iterator.getCount());
+        assertFalse(iterator.hasNext());
+
+        iterator.reset();
+        drained.clear();
+        assertEquals(3, iterator.drainTo(drained::add, 3));
+        assertEquals(Arrays.asList("A", "B", "C"), drained);
+
+        assertEquals(0, CircularListIterator.<String>builder().over(new ArrayList<>()).build().drainTo(drained::add, 3));
+    }
+
+    @Test
+    void advanceAndRewind(){
+        CircularListIterator<String> iterator = getBuilderWithElements().startingAt(1).withLimit(20).build();
+        assertEquals(7, iterator.advance(7));
+        assertEquals("C", iterator.at());
+        assertEquals(7, iterator.getCount());
+        assertEquals(3, iterator.rewind(3));
+        assertEquals("E", iterator.at());
+        assertEquals(10, iterator.getCount());
+
+        //10 steps left under the limit end on "E", after that next() stops at the end of the list
+        assertEquals(10, iterator.advance(1_000_000_000_000L));
+        assertEquals("E", iterator.at());
+        assertFalse(iterator.hasNext());
+        assertEquals(0, iterator.advance(1));
+        //and previous() stops at the start
+        assertEquals(4, iterator.rewind(100));
+        assertEquals("A", iterator.at());
+        assertFalse(iterator.hasPrevious());
+
+        //a fresh iterator steps back from the start index, wrapping to the end
+        iterator = getBuilderWithElements().startingAt(1).build();
+        assertEquals(2, iterator.rewind(2));
+        assertEquals("E", iterator.at());
+
+        final CircularListIterator<String> empty = CircularListIterator.<String>builder().over(new ArrayList<>()).build();
+        assertEquals(0, empty.advance(5));
+        assertEquals(0, empty.rewind(5));
+    }
+
+    @Test
+    void advanceFromHolePastLimit(){
+        //"B" is removed on the last step under the limit, next() can still go on over "C", "D" and "E"
+        final CircularListIterator<String> iterator = getBuilderWithElements().startingAt(1).withLimit(1).build();
+        assertEquals("B", iterator.next());
+        iterator.remove();
+        assertTrue(iterator.hasNext());
+        assertEquals(3, iterator.advance(100));
+        assertEquals("E", iterator.at());
+        assertEquals(4, iterator.getCount());
+        assertFalse(iterator.hasNext());
+        assertThrows(NoSuchElementException.class, iterator::next);
+
+        //down to one element the hole is at its index, advance used to stop there while next() went on
+        final CircularListIterator<String> pair = CircularListIterator.<String>builder().over(new ArrayList<>(Arrays.asList("A", "B"))).withLimit(1).build();
+        assertEquals("A", pair.next());
+        pair.remove();
+        assertEquals(1, pair.advance(100));
+        assertEquals("B", pair.at());
+        assertFalse(pair.hasNext());
+
+        //removing the last element leaves the hole at the front, next() then goes over the whole list
+        final CircularListIterator<String> last = getBuilderWithElements().startingAt(4).withLimit(1).build();
+        assertEquals("E", last.next());
+        last.remove();
+        assertEquals(4, last.advance(100));
+        assertEquals("D", last.at());
+        assertFalse(last.hasNext());
+
+        //seeking an epoch from the hole lands where as many calls to next() do: "D", "E", "A" then past the limit "B"
+        final CircularListIterator<String> seeking = getBuilderWithElements().withLimit(3).build();
+        seeking.advance(3);
+        seeking.remove();
+        seeking.seekEpoch(1);
+        assertEquals(4, seeking.getCount());
+        assertEquals("B", seeking.at());
+        assertEquals("D", seeking.next());
+        assertEquals("E", seeking.next());
+        assertFalse(seeking.hasNext());
+    }
+
+    @Test
+    void advanceMatchesNext(){
+        final java.util.Random random = new java.util.Random(7);
+        for(int round = 0; round < 200; round++){
+            final int start = random.nextInt(5);
+            final int limit = 1 + random.nextInt(40);
+            final CircularListIterator<String> jumping = getBuilderWithElements().startingAt(start).withLimit(limit).build();
+            final CircularListIterator<String> stepping = getBuilderWithElements().startingAt(start).withLimit(limit).build();
+            for(int op = 0; op < 10; op++){
+                final int steps = random.nextInt(15);
+                long taken = 0;
+                if(random.nextBoolean()){
+                    while(taken < steps && stepping.hasNext()){
+                        stepping.next();
+                        taken++;
+                    }
+                    assertEquals(taken, jumping.advance(steps));
+                }else{
+                    while(taken < steps && stepping.hasPrevious()){
+                        stepping.previous();
+                        taken++;
+                    }
+                    assertEquals(taken, jumping.rewind(steps));
+                }
+                assertEquals(stepping.getCount(), jumping.getCount());
+                assertEquals(stepping.elementAt(), jumping.elementAt());
+                assertEquals(stepping.hasNext(), jumping.hasNext());
+                assertEquals(stepping.hasPrevious(), jumping.hasPrevious());
+                assertEquals(stepping.nextIndex(), jumping.nextIndex());
+                assertEquals(stepping.previousIndex(), jumping.previousIndex());
+            }
+        }
+    }
+
+    @Test
+    void seekEpoch(){
+        CircularListIterator<String> iterator = getBuilderWithElements().startingAt(2).build();
+        iterator.next();
+        iterator.seekEpoch(3);
+        assertEquals(15, iterator.getCount());
+        assertEquals("C", iterator.next());
+
+        iterator = getBuilderWithElements().startingAt(2).withEpochs(2).build();
+        iterator.seekEpoch(1);
+        assertEquals(5, iterator.getCount());
+        assertEquals("C", iterator.next());
+        //past the limit the iterator stops at the end of the list
+        iterator.seekEpoch(4);
+        assertEquals(13, iterator.getCount());
+        assertEquals("E", iterator.at());
+        assertFalse(iterator.hasNext());
+    }
+
+    @Test
+    void stream(){
+        final List<String> iterated = new ArrayList<>();
+        for(String s : getBuilderWithElements().startingAt(2).withEpochs(3).iterable()){
+            iterated.add(s);
+        }
+        assertEquals(iterated, getBuilderWithElements().startingAt(2).withEpochs(3).stream().collect(java.util.stream.Collectors.toList()));
+        assertEquals(iterated, getBuilderWithElements().startingAt(2).withEpochs(3).parallelStream().collect(java.util.stream.Collectors.toList()));
+        assertEquals(18, iterated.size());
+
+        //7 steps end on "B", then next() still moves on to the end of the list
+        assertEquals(10, getBuilderWithElements().withLimit(7).stream().count());
+        assertEquals(0, CircularListIterator.<String>builder().over(new ArrayList<>()).stream().count());
+
+        final java.util.Spliterator<String> spliterator = getBuilderWithElements().withEpochs(1000).spliterator();
+        assertTrue(spliterator.hasCharacteristics(java.util.Spliterator.SIZED | java.util.Spliterator.SUBSIZED | java.util.Spliterator.ORDERED));
+        assertEquals(5000, spliterator.getExactSizeIfKnown());
+        final java.util.Spliterator<String> prefix = spliterator.trySplit();
+        assertEquals(2500, prefix.getExactSizeIfKnown());
+        assertEquals(2500, spliterator.getExactSizeIfKnown());
+        assertTrue(prefix.tryAdvance(s -> assertEquals("A", s)));
+        assertTrue(spliterator.tryAdvance(s -> assertEquals("A", s)));
+    }
+
+    @Test
+    void parallelStreamOverManyPasses(){
+        final List<Integer> elements = new ArrayList<>();
+        for(int i = 0; i < 1000; i++){
+            elements.add(i);
+        }
+        final long sum = CircularListIterator.<Integer>builder().over(elements).withEpochs(1000).parallelStream().mapToLong(Integer::longValue).sum();
+        assertEquals(1000L * 999 * 1000 / 2, sum);
+    }
+
     @Test
     void reset(){
         List<String> elements = new ArrayList<>(Arrays.asList("A", "B", "C", "D", "E"));
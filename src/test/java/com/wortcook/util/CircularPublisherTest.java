@@ -0,0 +1,172 @@
+package com.wortcook.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+public class CircularPublisherTest {
+
+    /**
+     * Records what it is sent and requests more only when told to.
+     */
+    private static class Recorder implements Flow.Subscriber<String> {
+        final List<String> received = new ArrayList<>();
+        final CountDownLatch done = new CountDownLatch(1);
+        Flow.Subscription subscription;
+        Throwable error;
+        boolean completed;
+
+        @Override
+        public void onSubscribe(final Flow.Subscription subscription) {
+            this.subscription = subscription;
+        }
+
+        @Override
+        public void onNext(final String item) {
+            received.add(item);
+        }
+
+        @Override
+        public void onError(final Throwable throwable) {
+            error = throwable;
+            done.countDown();
+        }
+
+        @Override
+        public void onComplete() {
+            completed = true;
+            done.countDown();
+        }
+    }
+
+    private static CircularPublisher<String> publisherOf(final int epochs) {
+        return CircularListIterator.<String>builder().using(Arrays.asList("A", "B", "C")).withEpochs(epochs).publisher();
+    }
+
+    @Test
+    void respectsDemand(){
+        final Recorder recorder = new Recorder();
+        publisherOf(2).subscribe(recorder);
+        assertTrue(recorder.received.isEmpty());
+
+        recorder.subscription.request(2);
+        assertEquals(Arrays.asList("A", "B"), recorder.received);
+        assertFalse(recorder.completed);
+
+        recorder.subscription.request(3);
+        assertEquals(Arrays.asList("A", "B", "C", "A", "B"), recorder.received);
+        assertFalse(recorder.completed);
+
+        //the last element reaches the limit and completes the subscriber
+        recorder.subscription.request(Long.MAX_VALUE);
+        recorder.subscription.request(Long.MAX_VALUE);
+        assertEquals(Arrays.asList("A", "B", "C", "A", "B", "C"), recorder.received);
+        assertTrue(recorder.completed);
+        assertNull(recorder.error);
+    }
+
+    @Test
+    void eachSubscriberHasItsOwnCursor(){
+        final CircularPublisher<String> publisher = publisherOf(1);
+        final Recorder first = new Recorder();
+        final Recorder second = new Recorder();
+        publisher.subscribe(first);
+        publisher.subscribe(second);
+        first.subscription.request(10);
+        second.subscription.request(10);
+
+        assertTrue(first.completed);
+        assertTrue(second.completed);
+        assertEquals(Arrays.asList("A", "B", "C"), first.received);
+        //the second cursor starts at its own staggered position, past the limit it still moves on to the end of the
+        //list as a CircularListIterator does
+        assertEquals(Arrays.asList("B", "C", "A", "B", "C"), second.received);
+    }
+
+    @Test
+    void requestFromOnNextDoesNotRecurse(){
+        //a whole number of passes so the last step falls on the end of the list
+        final int count = 99_999;
+        final List<String> received = new ArrayList<>();
+        final boolean[] completed = {false};
+        CircularListIterator.<String>builder().using(Arrays.asList("A", "B", "C")).withLimit(count).publisher().subscribe(new Flow.Subscriber<String>() {
+            Flow.Subscription subscription;
+
+            @Override
+            public void onSubscribe(final Flow.Subscription subscription) {
+                this.subscription = subscription;
+                subscription.request(1);
+            }
+
+            @Override
+            public void onNext(final String item) {
+                received.add(item);
+                subscription.request(1);
+            }
+
+            @Override
+            public void onError(final Throwable throwable) {
+                fail(throwable);
+            }
+
+            @Override
+            public void onComplete() {
+                completed[0] = true;
+            }
+        });
+        assertEquals(count, received.size());
+        assertTrue(completed[0]);
+    }
+
+    @Test
+    void invalidRequestAndCancel(){
+        final Recorder invalid = new Recorder();
+        publisherOf(1).subscribe(invalid);
+        invalid.subscription.request(0);
+        assertTrue(invalid.error instanceof IllegalArgumentException);
+        assertFalse(invalid.completed);
+
+        final Recorder cancelled = new Recorder();
+        publisherOf(5).subscribe(cancelled);
+        cancelled.subscription.request(2);
+        cancelled.subscription.cancel();
+        cancelled.subscription.request(2);
+        assertEquals(2, cancelled.received.size());
+        assertFalse(cancelled.completed);
+
+        assertThrows(NullPointerException.class, () -> publisherOf(1).subscribe(null));
+    }
+
+    @Test
+    void emptyRingCompletesAtOnce(){
+        final Recorder recorder = new Recorder();
+        CircularListIterator.<String>builder().over(new ArrayList<>()).withEpochs(1).publisher().subscribe(recorder);
+        assertTrue(recorder.completed);
+        assertTrue(recorder.received.isEmpty());
+    }
+
+    @Test
+    void deliversOnExecutor() throws InterruptedException {
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            final SharedRing<String> ring = CircularListIterator.<String>builder().using(Arrays.asList("A", "B", "C")).withEpochs(100).shared();
+            final Recorder recorder = new Recorder();
+            new CircularPublisher<>(ring, executor).subscribe(recorder);
+            recorder.subscription.request(1000);
+            assertTrue(recorder.done.await(5, TimeUnit.SECONDS));
+            assertEquals(300, recorder.received.size());
+            assertTrue(recorder.completed);
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package com.wortcook.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+public class CircularTickerTest {
+    private static final long MS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final long[] now = {1_000 * MS};
+    private final List<String> received = new ArrayList<>();
+
+    private CircularTicker.Builder<String> tickerOf(final int epochs) {
+        return CircularListIterator.<String>builder().using(Arrays.asList("A", "B", "C")).withEpochs(epochs).ticker()
+            .withPeriod(Duration.ofMillis(10))
+            .withClock(() -> now[0]);
+    }
+
+    @Test
+    void ticksOnDeadlines(){
+        final CircularTicker<String> ticker = tickerOf(10).build(received::add).start();
+
+        assertEquals(1, ticker.tick());
+        assertEquals(0, ticker.tick()); //the next deadline has not come
+        assertEquals(10 * MS, ticker.nanosUntilNextTick());
+
+        now[0] += 11 * MS;
+        assertEquals(1, ticker.tick());
+        assertEquals(MS, ticker.getLastJitterNanos());
+
+        //the deadlines do not move with a late tick, the next is 9ms away rather than 10ms
+        assertEquals(9 * MS, ticker.nanosUntilNextTick());
+        now[0] += 9 * MS;
+        assertEquals(1, ticker.tick());
+        assertEquals(0, ticker.getLastJitterNanos());
+
+        assertEquals(Arrays.asList("A", "B", "C"), received);
+        assertEquals(3, ticker.getTicks());
+        assertEquals(0, ticker.getMissed());
+        assertEquals(MS, ticker.getMaxJitterNanos());
+        assertEquals(MS / 3, ticker.getMeanJitterNanos());
+    }
+
+    @Test
+    void lateTickCountsMissed(){
+        final CircularTicker<String> ticker = tickerOf(10).build(received::add).start();
+        ticker.tick();
+
+        //four deadlines pass, the last 2ms ago
+        now[0] += 42 * MS;
+        assertEquals(1, ticker.tick());
+        assertEquals(3, ticker.getMissed());
+        assertEquals(32 * MS, ticker.getLastJitterNanos());
+        assertEquals(8 * MS, ticker.nanosUntilNextTick());
+        assertEquals(Arrays.asList("A", "B"), received);
+    }
+
+    @Test
+    void lateTickCatchesUp(){
+        final CircularTicker<String> ticker = tickerOf(10).withCatchUp(3).build(received::add).start();
+        ticker.tick();
+
+        now[0] += 20 * MS;
+        assertEquals(2, ticker.tick());
+        now[0] += 50 * MS;
+        //five deadlines pass, three elements are handed out
+        assertEquals(3, ticker.tick());
+        assertEquals(2, ticker.getMissed());
+        assertEquals(6, ticker.getDelivered());
+        assertEquals(Arrays.asList("A", "B", "C", "A", "B", "C"), received);
+    }
+
+    @Test
+    void stopsWhenExhausted(){
+        final CircularTicker<String> ticker = tickerOf(1).withCatchUp(10).build(received::add).start();
+        assertTrue(ticker.isRunning());
+        now[0] += 100 * MS;
+        assertEquals(3, ticker.tick());
+        assertFalse(ticker.isRunning());
+        now[0] += 100 * MS;
+        assertEquals(0, ticker.tick());
+
+        final CircularTicker<String> stopped = tickerOf(1).build(received::add).start();
+        stopped.stop();
+        assertEquals(0, stopped.tick());
+    }
+
+    @Test
+    void failingActionIsCounted(){
+        final CircularTicker<String> ticker = tickerOf(2).withCatchUp(3).build(s -> {
+            if ("B".equals(s)) {
+                throw new IllegalStateException(s);
+            }
+            received.add(s);
+        }).start();
+
+        assertEquals(1, ticker.tick());
+        now[0] += 20 * MS;
+        //the batch carries on past the element that threw
+        assertEquals(2, ticker.tick());
+        assertTrue(ticker.isRunning());
+        assertEquals(10 * MS, ticker.nanosUntilNextTick());
+
+        now[0] += 30 * MS;
+        assertEquals(3, ticker.tick());
+        assertFalse(ticker.isRunning());
+        assertEquals(Arrays.asList("A", "C", "A", "C"), received);
+        assertEquals(6, ticker.getDelivered());
+        assertEquals(2, ticker.getFailed());
+    }
+
+    @Test
+    void failingActionKeepsScheduling() throws InterruptedException {
+        final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+        try {
+            final CountDownLatch done = new CountDownLatch(30);
+            final CircularTicker<String> ticker = CircularListIterator.<String>builder()
+                .using(Arrays.asList("A", "B", "C")).withEpochs(10).ticker()
+                .withRate(2000)
+                .withCatchUp(4)
+                .withScheduler(scheduler)
+                .build(s -> {
+                    done.countDown();
+                    throw new IllegalStateException(s);
+                })
+                .start();
+            assertTrue(done.await(5, TimeUnit.SECONDS));
+            final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (ticker.isRunning() && System.nanoTime() < deadline) {
+                Thread.sleep(1);
+            }
+            assertFalse(ticker.isRunning());
+            assertEquals(30, ticker.getDelivered());
+            assertEquals(30, ticker.getFailed());
+        } finally {
+            scheduler.shutdownNow();
+        }
+    }
+
+    @Test
+    void runsOnScheduler() throws InterruptedException {
+        final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+        try {
+            final CountDownLatch done = new CountDownLatch(30);
+            final CircularTicker<String> ticker = CircularListIterator.<String>builder()
+                .using(Arrays.asList("A", "B", "C")).withEpochs(10).ticker()
+                .withRate(2000)
+                .withCatchUp(4)
+                .withScheduler(scheduler)
+                .build(s -> done.countDown())
+                .start();
+            assertTrue(done.await(5, TimeUnit.SECONDS));
+            //ticks late enough to miss deadlines still hand out every element in the end
+            final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (ticker.isRunning() && System.nanoTime() < deadline) {
+                Thread.sleep(1);
+            }
+            assertFalse(ticker.isRunning());
+            assertEquals(30, ticker.getDelivered());
+        } finally {
+            scheduler.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.wortcook.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+public class ConcurrentCounterTest {
+    private static final int THREADS = 8;
+    private static final int PER_THREAD = 100_000;
+
+    private static void inParallel(final Runnable task) throws Exception {
+        final ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        try {
+            final List<Future<?>> futures = new ArrayList<>();
+            for(int i = 0; i < THREADS; i++){
+                futures.add(pool.submit(task));
+            }
+            for(Future<?> f : futures){
+                f.get();
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void striped() throws Exception {
+        final StripedCounter c = Counter.concurrent(THREADS * PER_THREAD);
+        assertTrue(c.isUnder());
+        assertFalse(c.isAtOrOver());
+
+        inParallel(() -> {
+            for(int i = 0; i < PER_THREAD; i++){
+                c.count();
+            }
+        });
+
+        assertEquals(THREADS * PER_THREAD, c.getAsLong());
+        assertTrue(c.isAt());
+        assertTrue(c.isAtOrOver());
+        assertFalse(c.isUnder());
+
+        c.resetCount();
+        assertEquals(0L, c.getCount());
+        assertTrue(c.isUnder());
+    }
+
+    @Test
+    void atomic() throws Exception {
+        final AtomicCounter c = Counter.atomic(THREADS * PER_THREAD / 2);
+        final AtomicInteger granted = new AtomicInteger();
+
+        inParallel(() -> {
+            for(int i = 0; i < PER_THREAD; i++){
+                if(c.tryCount()){
+                    granted.incrementAndGet();
+                }
+            }
+        });
+
+        assertEquals(THREADS * PER_THREAD / 2, granted.get());
+        assertTrue(c.isAt());
+        assertFalse(c.tryCount());
+        c.count();
+        assertTrue(c.isOver());
+        c.resetCount();
+        assertEquals(0L, c.getAsLong());
+    }
+}
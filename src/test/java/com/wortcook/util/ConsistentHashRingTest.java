@@ -0,0 +1,116 @@
+package com.wortcook.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+public class ConsistentHashRingTest {
+
+    private static ConsistentHashRing<String> ringOf(final String... nodes) {
+        final ConsistentHashRing<String> ring = new ConsistentHashRing<>();
+        for (String node : nodes) {
+            assertTrue(ring.add(node));
+        }
+        return ring;
+    }
+
+    @Test
+    void empty(){
+        final ConsistentHashRing<String> ring = new ConsistentHashRing<>();
+        assertTrue(ring.isEmpty());
+        assertNull(ring.nodeFor("key"));
+        assertFalse(ring.iterator("key").hasNext());
+    }
+
+    @Test
+    void membership(){
+        final ConsistentHashRing<String> ring = ringOf("A", "B", "C");
+        assertFalse(ring.add("B"));
+        assertEquals(Arrays.asList("A", "B", "C"), ring.nodes());
+        assertTrue(ring.remove("B"));
+        assertFalse(ring.remove("B"));
+        assertEquals(Arrays.asList("A", "C"), ring.nodes());
+        assertEquals(2, ring.size());
+        for (int key = 0; key < 1000; key++) {
+            assertNotEquals("B", ring.nodeFor("key" + key));
+        }
+    }
+
+    @Test
+    void spreadsKeys(){
+        final ConsistentHashRing<String> ring = ringOf("A", "B", "C", "D");
+        final Map<String, Integer> counts = new HashMap<>();
+        for (int key = 0; key < 40000; key++) {
+            counts.merge(ring.nodeFor("key" + key), 1, Integer::sum);
+        }
+        assertEquals(4, counts.size());
+        for (int count : counts.values()) {
+            assertTrue(count > 7000 && count < 13000, "count " + count);
+        }
+    }
+
+    @Test
+    void addingMovesKeysOnlyToTheNewNode(){
+        final ConsistentHashRing<String> ring = ringOf("A", "B", "C", "D");
+        final List<String> before = new ArrayList<>();
+        for (int key = 0; key < 10000; key++) {
+            before.add(ring.nodeFor("key" + key));
+        }
+
+        ring.add("E");
+        int moved = 0;
+        for (int key = 0; key < 10000; key++) {
+            final String now = ring.nodeFor("key" + key);
+            if (!now.equals(before.get(key))) {
+                assertEquals("E", now);
+                moved++;
+            }
+        }
+        assertTrue(moved > 1000 && moved < 3000, "moved " + moved);
+
+        ring.remove("E");
+        for (int key = 0; key < 10000; key++) {
+            assertEquals(before.get(key), ring.nodeFor("key" + key));
+        }
+    }
+
+    @Test
+    void intKeysAreHashed(){
+        //an int key is boxed and hashed like any other key, not taken as a position on the ring
+        final ConsistentHashRing<String> ring = ringOf("A", "B", "C", "D");
+        final Map<String, Integer> counts = new HashMap<>();
+        for (int key = 0; key < 1000; key++) {
+            final String node = ring.nodeFor(key);
+            assertEquals(ring.nodeFor(Integer.valueOf(key)), node);
+            counts.merge(node, 1, Integer::sum);
+        }
+        assertEquals(4, counts.size());
+    }
+
+    @Test
+    void rawPositions(){
+        final ConsistentHashRing<String> ring = ringOf("A", "B", "C");
+        assertEquals(ring.nodeForHash(Long.MIN_VALUE), ring.nodeForHash(Long.MIN_VALUE + 1));
+        assertEquals(ring.nodeForHash(42L), ring.iteratorFromHash(42L).next());
+    }
+
+    @Test
+    void iteratorWalksDistinctNodes(){
+        final ConsistentHashRing<String> ring = ringOf("A", "B", "C", "D", "E");
+        for (int key = 0; key < 100; key++) {
+            final CircularListIterator<String> it = ring.iterator("key" + key);
+            final List<String> replicas = new ArrayList<>();
+            it.forEachRemaining(replicas::add);
+            assertEquals(5, replicas.size());
+            assertEquals(5, new HashSet<>(replicas).size());
+            assertEquals(ring.nodeFor("key" + key), replicas.get(0));
+        }
+    }
+}
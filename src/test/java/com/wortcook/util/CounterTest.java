@@ -39,4 +39,36 @@ public class CounterTest {
         assertTrue(c.isAtOrOver());
     }
 
+    @Test
+    void testIntCounter(){
+        IntCounter c = Counter.of(2);
+        assertEquals(0, c.getAsInt());
+        assertEquals(2, c.getLimitAsInt());
+        c.count();
+        c.count();
+        assertEquals(2, c.getAsInt());
+        assertTrue(c.isAt());
+        c.count();
+        assertTrue(c.isOver());
+        c.resetCount();
+        assertEquals(0, c.getAsInt());
+        assertTrue(c.isUnder());
+        c.add(2);
+        assertTrue(c.isAt());
+    }
+
+    @Test
+    void testLongCounter(){
+        LongCounter c = Counter.of(3_000_000_000L);
+        assertEquals(0L, c.getAsLong());
+        assertEquals(3_000_000_000L, c.getLimitAsLong());
+        c.count();
+        assertEquals(1L, c.getAsLong());
+        assertEquals(Long.valueOf(1L), c.getCount());
+        assertTrue(c.isUnder());
+        assertTrue(c.isAtOrUnder());
+        assertFalse(c.isAtOrOver());
+        c.add(2_999_999_999L);
+        assertTrue(c.isAt());
+    }
 }
@@ -0,0 +1,157 @@
+package com.wortcook.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static com.wortcook.util.Iterators.range;
+import static com.wortcook.util.Iterators.take;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.Test;
+
+public class FilteredCircularIteratorTest {
+
+    @Test
+    void skipsFilteredOut(){
+        final FilteredCircularIterator<Integer> it =
+            CircularListIterator.<Integer>builder().over(range(10)).filter(i -> 0 == i % 3).build();
+
+        assertEquals(4, it.upCount());
+        assertEquals(Arrays.asList(0, 3, 6, 9, 0, 3), take(it, 6));
+        assertEquals(3, it.at());
+        assertEquals(3, it.atIndex());
+        assertTrue(it.isUp(6));
+        assertFalse(it.isUp(7));
+    }
+
+    @Test
+    void markDownAndUp(){
+        final FilteredCircularIterator<Integer> it =
+            CircularListIterator.<Integer>builder().over(range(5)).filter(i -> true).build();
+
+        assertEquals(0, it.next());
+        assertTrue(it.markDown(1));
+        assertFalse(it.markDown(1));
+        assertEquals(4, it.upCount());
+        assertEquals(Arrays.asList(2, 3, 4, 0, 2), take(it, 5));
+
+        assertTrue(it.markUp(1));
+        assertFalse(it.markUp(1));
+        assertEquals(Arrays.asList(3, 4, 0, 1), take(it, 4));
+
+        assertThrows(IndexOutOfBoundsException.class, () -> it.markDown(5));
+        assertThrows(IndexOutOfBoundsException.class, () -> it.markUp(-1));
+    }
+
+    @Test
+    void jumpsAcrossWords(){
+        //only the last of 200 elements is up, the search crosses three empty words and wraps
+        final FilteredCircularIterator<Integer> it =
+            CircularListIterator.<Integer>builder().over(range(200)).startingAt(130).filter(i -> 199 == i).build();
+        assertEquals(Arrays.asList(199, 199, 199), take(it, 3));
+
+        it.markUp(64);
+        it.markUp(63);
+        assertEquals(Arrays.asList(63, 64, 199, 63), take(it, 4));
+
+        it.markDown(199);
+        it.markDown(64);
+        assertEquals(Arrays.asList(63, 63), take(it, 2));
+
+        //a bit behind the cursor in the word it starts in is only found after wrapping
+        it.markUp(60);
+        it.markDown(63);
+        assertEquals(Arrays.asList(60, 60), take(it, 2));
+    }
+
+    @Test
+    void epochsAndLimit(){
+        final FilteredCircularIterator<Integer> it =
+            CircularListIterator.<Integer>builder().over(range(10)).withEpochs(2).filter(i -> i < 3).build();
+        final List<Integer> picks = new ArrayList<>();
+        it.forEachRemaining(picks::add);
+        assertEquals(Arrays.asList(0, 1, 2, 0, 1, 2), picks);
+        assertEquals(6, it.getCount());
+        assertFalse(it.hasNext());
+        assertThrows(NoSuchElementException.class, () -> it.next());
+
+        it.reset();
+        assertTrue(it.hasNext());
+        assertThrows(IllegalStateException.class, () -> it.at());
+        assertEquals(0, it.next());
+
+        final FilteredCircularIterator<Integer> limited =
+            CircularListIterator.<Integer>builder().over(range(10)).filter(i -> true).withLimit(3).build();
+        assertEquals(Arrays.asList(0, 1, 2), take(limited, 3));
+        assertFalse(limited.hasNext());
+    }
+
+    @Test
+    void noneUp(){
+        final FilteredCircularIterator<Integer> it =
+            CircularListIterator.<Integer>builder().over(range(3)).filter(i -> false).build();
+        assertFalse(it.hasNext());
+        assertThrows(NoSuchElementException.class, () -> it.next());
+        assertFalse(it.nextElement().isPresent());
+
+        final FilteredCircularIterator<Integer> empty =
+            CircularListIterator.<Integer>builder().over(new ArrayList<>()).filter(i -> true).build();
+        assertFalse(empty.hasNext());
+        assertThrows(NoSuchElementException.class, () -> empty.next());
+    }
+
+    @Test
+    void refilter(){
+        final AtomicBoolean evens = new AtomicBoolean(true);
+        final FilteredCircularIterator<Integer> it =
+            CircularListIterator.<Integer>builder().over(range(6)).filter(i -> (0 == i % 2) == evens.get()).build();
+        assertEquals(Arrays.asList(0, 2, 4), take(it, 3));
+
+        evens.set(false);
+        it.refilter();
+        assertEquals(3, it.upCount());
+        assertEquals(Arrays.asList(5, 1, 3), take(it, 3));
+    }
+
+    @Test
+    void concurrentMarking() throws InterruptedException {
+        final FilteredCircularIterator<Integer> it =
+            CircularListIterator.<Integer>builder().over(range(256)).filter(i -> true).withConcurrency().build();
+
+        //a checker flips every odd element down and up while other threads pick, evens must always be up
+        final AtomicBoolean failed = new AtomicBoolean(false);
+        final Thread checker = new Thread(() -> {
+            for (int round = 0; round < 200; round++) {
+                for (int i = 1; i < 256; i += 2) {
+                    it.markDown(i);
+                }
+                for (int i = 1; i < 256; i += 2) {
+                    it.markUp(i);
+                }
+            }
+        });
+        final List<Thread> pickers = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            pickers.add(new Thread(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    if (null == it.next()) {
+                        failed.set(true);
+                    }
+                }
+            }));
+        }
+        checker.start();
+        pickers.forEach(Thread::start);
+        checker.join();
+        for (Thread picker : pickers) {
+            picker.join();
+        }
+
+        assertFalse(failed.get());
+        assertEquals(40_000, it.getCount());
+        assertEquals(256, it.upCount());
+    }
+}
@@ -0,0 +1,84 @@
+package com.wortcook.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+public class GapListTest {
+
+    @Test
+    void basics(){
+        final List<String> list = new GapList<>(Arrays.asList("A", "B", "C"));
+        list.add(1, "X");
+        assertEquals(Arrays.asList("A", "X", "B", "C"), list);
+        list.add(0, "Y");
+        list.add("Z");
+        assertEquals(Arrays.asList("Y", "A", "X", "B", "C", "Z"), list);
+        assertEquals("X", list.remove(2));
+        assertEquals("Y", list.remove(0));
+        assertEquals("Z", list.remove(3));
+        assertEquals(Arrays.asList("A", "B", "C"), list);
+        assertEquals("B", list.set(1, "W"));
+        assertEquals("W", list.get(1));
+
+        list.addAll(1, Arrays.asList("1", "2", "3"));
+        assertEquals(Arrays.asList("A", "1", "2", "3", "W", "C"), list);
+
+        assertThrows(IndexOutOfBoundsException.class, () -> list.get(6));
+        assertThrows(IndexOutOfBoundsException.class, () -> list.add(7, "Q"));
+        list.clear();
+        assertTrue(list.isEmpty());
+        list.add("Q");
+        assertEquals(Arrays.asList("Q"), list);
+    }
+
+    @Test
+    void matchesArrayList(){
+        final Random random = new Random(42);
+        final List<Integer> expected = new ArrayList<>();
+        final List<Integer> actual = new GapList<>(1);
+        int cursor = 0;
+        for(int i = 0; i < 200_000; i++){
+            //mostly edits around a wandering cursor with the odd jump and bulk insert, as an iterator would make
+            cursor = (0 == i % 97) ? random.nextInt(expected.size() + 1) : Math.min(Math.max(0, cursor + random.nextInt(3) - 1), expected.size());
+            final int op = random.nextInt(10);
+            if(op < 5 || expected.isEmpty()){
+                expected.add(cursor, i);
+                actual.add(cursor, i);
+            }else if(op < 9){
+                final int at = Math.min(cursor, expected.size() - 1);
+                assertEquals(expected.remove(at), actual.remove(at));
+            }else{
+                final List<Integer> bulk = Arrays.asList(-i, -i - 1, -i - 2);
+                expected.addAll(cursor, bulk);
+                actual.addAll(cursor, bulk);
+            }
+            if(0 == i % 1000){
+                assertEquals(expected, actual);
+            }
+        }
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    void editsAtBothEnds(){
+        final List<Integer> expected = new ArrayList<>();
+        final List<Integer> actual = new GapList<>();
+        for(int i = 0; i < 1000; i++){
+            final int at = (0 == i % 2) ? 0 : expected.size();
+            expected.add(at, i);
+            actual.add(at, i);
+        }
+        assertEquals(expected, actual);
+        for(int i = 0; i < 500; i++){
+            final int at = (0 == i % 3) ? 0 : expected.size() - 1;
+            assertEquals(expected.remove(at), actual.remove(at));
+        }
+        assertEquals(expected, actual);
+    }
+}
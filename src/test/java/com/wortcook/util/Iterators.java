@@ -0,0 +1,34 @@
+package com.wortcook.util;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Fixtures shared by the iterator tests.
+ */
+final class Iterators {
+
+    private Iterators() {
+    }
+
+    /**
+     * @return A modifiable list of the ints 0 to n - 1.
+     */
+    static List<Integer> range(final int n) {
+        return IntStream.range(0, n).boxed().collect(Collectors.toCollection(ArrayList::new));
+    }
+
+    /**
+     * Takes up to n elements from the iterator, fewer if it runs out first.
+     */
+    static <T> List<T> take(final Iterator<T> it, final int n) {
+        final List<T> picks = new ArrayList<>();
+        for (int i = 0; i < n && it.hasNext(); i++) {
+            picks.add(it.next());
+        }
+        return picks;
+    }
+}
@@ -0,0 +1,140 @@
+package com.wortcook.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static com.wortcook.util.Iterators.take;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+public class MultiRingIteratorTest {
+
+    private static CircularListIterator<String> ring(final int steps, final String... elements) {
+        return CircularListIterator.<String>builder().using(Arrays.asList(elements)).withLimit(steps).build();
+    }
+
+    @Test
+    void roundRobin(){
+        final MultiRingIterator<String> it = MultiRingIterator.<String>builder()
+            .add(ring(10, "a1", "a2"))
+            .add(ring(10, "b1", "b2", "b3"))
+            .add(ring(10, "c1"))
+            .build();
+        assertThrows(IllegalStateException.class, () -> it.at());
+
+        assertEquals(Arrays.asList("a1", "b1", "c1", "a2", "b2", "c1", "a1", "b3"), take(it, 8));
+        assertEquals("b3", it.at());
+        assertEquals(3, it.ringCount());
+    }
+
+    @Test
+    void skipsEmptyAndExhausted(){
+        final CircularListIterator<String> shortRing = ring(2, "b1", "b2", "b3");
+        final MultiRingIterator<String> it = MultiRingIterator.<String>builder()
+            .add(ring(5, "a"))
+            .add(CircularListIterator.<String>builder().using(Collections.emptyList()).build())
+            .add(shortRing)
+            .build();
+
+        //the empty ring leaves on its first turn, the short one once it has run on past its limit to its end
+        assertEquals(Arrays.asList("a", "b1", "a", "b2", "a", "b3", "a", "a"), take(it, 10));
+        assertFalse(it.hasNext());
+        assertEquals(0, it.ringCount());
+        assertThrows(java.util.NoSuchElementException.class, () -> it.next());
+        assertFalse(it.nextElement().isPresent());
+    }
+
+    @Test
+    void deficitRoundRobin(){
+        //a quantum of 3 to 1, every element costing 1, is three picks from a to every one from b
+        final MultiRingIterator<String> it = MultiRingIterator.<String>builder()
+            .add(ring(100, "a"), 3)
+            .add(ring(100, "b"))
+            .build();
+        assertEquals(Arrays.asList("a", "a", "a", "b", "a", "a", "a", "b"), take(it, 8));
+    }
+
+    @Test
+    void deficitCarriesOverForLargeElements(){
+        //a's elements cost 5 against a quantum of 2, so a waits out two turns then carries 1 into the next
+        final MultiRingIterator<String> it = MultiRingIterator.<String>builder()
+            .add(ring(10000, "AAAAA"), 2)
+            .add(ring(10000, "b"), 2)
+            .withCost(String::length)
+            .build();
+        assertEquals(Arrays.asList("b", "b", "b", "b", "AAAAA", "b", "b", "b", "b", "AAAAA"), take(it, 10));
+
+        //over a long run the cost handed out follows the quanta
+        int costA = 0;
+        int costB = 0;
+        for (String s : take(it, 1000)) {
+            if (s.length() > 1) {
+                costA += s.length();
+            } else {
+                costB += s.length();
+            }
+        }
+        assertTrue(Math.abs(costA - costB) <= 5, costA + " vs " + costB);
+    }
+
+    @Test
+    void addAndRemoveRings(){
+        final CircularListIterator<String> a = ring(100, "a");
+        final CircularListIterator<String> b = ring(100, "b");
+        final MultiRingIterator<String> it = MultiRingIterator.<String>builder().add(a).build();
+
+        assertEquals(Arrays.asList("a", "a"), take(it, 2));
+        it.addRing(b);
+        assertEquals(Arrays.asList("a", "b", "a", "b"), take(it, 4));
+        assertSame(b, it.atRing());
+
+        assertTrue(it.removeRing(a));
+        assertFalse(it.removeRing(a));
+        assertEquals(Arrays.asList("b", "b"), take(it, 2));
+        assertEquals(1, it.ringCount());
+    }
+
+    @Test
+    void concurrentDispatchers() throws Exception {
+        final int tenants = 4;
+        final int perTenant = 1000;
+        final MultiRingIterator.Builder<String> builder = MultiRingIterator.<String>builder().withConcurrency();
+        for (int t = 0; t < tenants; t++) {
+            builder.add(ring(perTenant, "t" + t));
+        }
+        final MultiRingIterator<String> it = builder.build();
+
+        final ConcurrentMap<String, AtomicInteger> counts = new ConcurrentHashMap<>();
+        final ExecutorService dispatchers = Executors.newFixedThreadPool(4);
+        try {
+            final List<Future<?>> done = new ArrayList<>();
+            for (int d = 0; d < 4; d++) {
+                done.add(dispatchers.submit(() -> {
+                    for (String s = it.nextElement().orElse(null); null != s; s = it.nextElement().orElse(null)) {
+                        counts.computeIfAbsent(s, k -> new AtomicInteger()).incrementAndGet();
+                    }
+                }));
+            }
+            for (Future<?> future : done) {
+                future.get();
+            }
+        } finally {
+            dispatchers.shutdown();
+        }
+
+        assertEquals(tenants, counts.size());
+        for (AtomicInteger count : counts.values()) {
+            assertEquals(perTenant, count.get());
+        }
+        assertEquals(0, it.ringCount());
+    }
+}
@@ -0,0 +1,124 @@
+package com.wortcook.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static com.wortcook.util.Iterators.range;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.Test;
+
+public class PartitionedCircularIteratorTest {
+
+    /**
+     * Runs each worker on its own thread standing in for a node, every worker building its iterator on its own from
+     * the shared settings, and collects the steps of the whole pass each worker took.
+     */
+    private static ConcurrentMap<Long, Integer> runWorkers(final int workerCount,
+            final Function<Integer, PartitionedCircularIterator<Integer>> build) throws Exception {
+        final ConcurrentMap<Long, Integer> taken = new ConcurrentHashMap<>();
+        final ExecutorService nodes = Executors.newFixedThreadPool(workerCount);
+        try {
+            final List<Future<?>> done = new ArrayList<>();
+            for (int w = 0; w < workerCount; w++) {
+                final int worker = w;
+                done.add(nodes.submit(() -> {
+                    final PartitionedCircularIterator<Integer> it = build.apply(worker);
+                    while (it.hasNext()) {
+                        final Integer element = it.next();
+                        assertNull(taken.put(it.atStep(), element), "step taken twice");
+                        assertEquals(element, it.at());
+                    }
+                }));
+            }
+            for (Future<?> future : done) {
+                future.get();
+            }
+        } finally {
+            nodes.shutdown();
+        }
+        return taken;
+    }
+
+    @Test
+    void strideCoversThePassOnce() throws Exception {
+        //10 elements, 3 epochs from index 4, shared by 3 workers
+        final ConcurrentMap<Long, Integer> taken = runWorkers(3, w ->
+            CircularListIterator.<Integer>builder().over(range(10)).startingAt(4).withEpochs(3).partition(w, 3).build());
+
+        assertEquals(30, taken.size());
+        for (long step = 0; step < 30; step++) {
+            assertEquals((int) ((4 + step) % 10), taken.get(step));
+        }
+    }
+
+    @Test
+    void blocksCoverThePassOnce() throws Exception {
+        final ConcurrentMap<Long, Integer> taken = runWorkers(4, w ->
+            CircularListIterator.<Integer>builder().over(range(7)).withLimit(23).partition(w, 4).inBlocks().build());
+
+        assertEquals(23, taken.size());
+        for (long step = 0; step < 23; step++) {
+            assertEquals((int) (step % 7), taken.get(step));
+        }
+    }
+
+    @Test
+    void strideSequence(){
+        final PartitionedCircularIterator<Integer> it =
+            CircularListIterator.<Integer>builder().over(range(5)).withEpochs(2).partition(1, 3).build();
+        final List<Integer> picks = new ArrayList<>();
+        final List<Integer> epochs = new ArrayList<>();
+        while (it.hasNext()) {
+            epochs.add(it.epoch());
+            picks.add(it.next());
+        }
+        //steps 1, 4, 7 of the 10 in the pass, with no tail on to the end of the list
+        assertEquals(Arrays.asList(1, 4, 2), picks);
+        assertEquals(Arrays.asList(0, 0, 1), epochs);
+        assertEquals(3, it.getLimit());
+        assertEquals(7, it.atStep());
+        assertEquals(1, it.worker());
+        assertEquals(3, it.workerCount());
+
+        it.reset();
+        assertThrows(IllegalStateException.class, () -> it.atStep());
+        assertEquals(1, it.next());
+    }
+
+    @Test
+    void blockSequence(){
+        //11 steps over 3 workers in runs of 3, 4 and 4
+        final List<List<Integer>> blocks = new ArrayList<>();
+        for (int w = 0; w < 3; w++) {
+            final PartitionedCircularIterator<Integer> it =
+                CircularListIterator.<Integer>builder().over(range(4)).withLimit(11).partition(w, 3).inBlocks().build();
+            final List<Integer> picks = new ArrayList<>();
+            it.forEachRemaining(picks::add);
+            blocks.add(picks);
+        }
+        assertEquals(Arrays.asList(0, 1, 2), blocks.get(0));
+        assertEquals(Arrays.asList(3, 0, 1, 2), blocks.get(1));
+        assertEquals(Arrays.asList(3, 0, 1, 2), blocks.get(2));
+    }
+
+    @Test
+    void moreWorkersThanSteps(){
+        final PartitionedCircularIterator<Integer> idle =
+            CircularListIterator.<Integer>builder().over(range(3)).withLimit(2).partition(2, 4).build();
+        assertFalse(idle.hasNext());
+        assertEquals(0, idle.getLimit());
+
+        final PartitionedCircularIterator<Integer> empty =
+            CircularListIterator.<Integer>builder().over(new ArrayList<>()).withEpochs(2).partition(0, 2).build();
+        assertFalse(empty.hasNext());
+        assertFalse(empty.nextElement().isPresent());
+    }
+}
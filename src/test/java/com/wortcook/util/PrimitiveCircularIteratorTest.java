@@ -0,0 +1,137 @@
+package com.wortcook.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.lang.management.ManagementFactory;
+import java.util.NoSuchElementException;
+
+import org.junit.jupiter.api.Test;
+
+public class PrimitiveCircularIteratorTest {
+
+    @Test
+    void intWraps(){
+        IntCircularIterator iterator = IntCircularIterator.of(new int[]{1, 2, 3});
+        assertEquals(1, iterator.nextInt());
+        assertEquals(2, iterator.nextInt());
+        assertEquals(3, iterator.nextInt());
+        assertEquals(1, iterator.nextInt());
+        assertEquals(3, iterator.previousInt());
+        assertEquals(2, iterator.previousInt());
+        assertEquals(6, iterator.getCount());
+
+        iterator = IntCircularIterator.of(new int[]{1, 2, 3}, 2);
+        assertEquals(3, iterator.nextInt());
+        assertEquals(1, iterator.nextInt());
+
+        iterator = IntCircularIterator.of(new int[]{1, 2, 3});
+        assertEquals(3, iterator.previousInt());
+        assertEquals(2, iterator.previousInt());
+    }
+
+    @Test
+    void intEpochs(){
+        IntCircularIterator iterator = IntCircularIterator.ofEpochs(new int[]{1, 2, 3}, 2);
+        int sum = 0;
+        while(iterator.hasNext()){
+            sum += iterator.nextInt();
+        }
+        assertEquals(12, sum);
+        assertEquals(6, iterator.getCount());
+        assertTrue(iterator.isAt());
+        assertEquals(3, iterator.nextIndex());
+        assertThrows(NoSuchElementException.class, () -> iterator.nextInt());
+
+        //once at the limit the iterator can still move back without wrapping
+        assertEquals(2, iterator.previousInt());
+        assertEquals(1, iterator.previousInt());
+        assertFalse(iterator.hasPrevious());
+        assertEquals(-1, iterator.previousIndex());
+
+        iterator.reset();
+        assertEquals(0, iterator.getCount());
+        assertEquals(1, iterator.nextInt());
+    }
+
+    @Test
+    void intAtAndSet(){
+        final int[] elements = new int[]{1, 2, 3};
+        final IntCircularIterator iterator = IntCircularIterator.of(elements);
+        assertThrows(IllegalStateException.class, () -> iterator.atInt());
+        assertEquals(1, iterator.nextInt());
+        iterator.setInt(10);
+        assertEquals(10, iterator.atInt());
+        assertEquals(10, elements[0]);
+    }
+
+    @Test
+    void intGenerated(){
+        //port offsets 8000, 8010, 8020, 8030 without an array behind them
+        final IntCircularIterator iterator = IntCircularIterator.generatingEpochs(4, i -> 8000 + 10 * i, 2);
+        int sum = 0;
+        while(iterator.hasNext()){
+            sum += iterator.nextInt();
+        }
+        assertEquals(2 * (4 * 8000 + 60), sum);
+        assertEquals(8, iterator.getCount());
+        assertEquals(8030, iterator.atInt());
+        assertEquals(8020, iterator.previousInt());
+        assertThrows(UnsupportedOperationException.class, () -> iterator.setInt(1));
+
+        final IntCircularIterator started = IntCircularIterator.generating(3, i -> -i, 2, Integer.MAX_VALUE);
+        assertEquals(-2, started.nextInt());
+        assertEquals(0, started.nextInt());
+        assertFalse(IntCircularIterator.generating(0, i -> i, 0, 1).hasNext());
+    }
+
+    @Test
+    void longAndDouble(){
+        final LongCircularIterator longs = LongCircularIterator.ofEpochs(new long[]{10L, 20L}, 2);
+        assertEquals(10L, longs.nextLong());
+        assertEquals(20L, longs.nextLong());
+        assertEquals(10L, longs.nextLong());
+        assertEquals(20L, longs.nextLong());
+        assertFalse(longs.hasNext());
+
+        final DoubleCircularIterator doubles = DoubleCircularIterator.of(new double[]{0.5, 1.5}, 1, 3);
+        assertEquals(1.5, doubles.nextDouble());
+        assertEquals(0.5, doubles.nextDouble());
+        assertEquals(1.5, doubles.nextDouble());
+        assertFalse(doubles.hasNext());
+        assertEquals(0.5, doubles.previousDouble());
+    }
+
+    @Test
+    void empty(){
+        final IntCircularIterator iterator = IntCircularIterator.of(new int[0]);
+        assertFalse(iterator.hasNext());
+        assertFalse(iterator.hasPrevious());
+        assertThrows(NoSuchElementException.class, () -> iterator.nextInt());
+        assertThrows(NoSuchElementException.class, () -> iterator.previousInt());
+        assertThrows(AssertionError.class, () -> IntCircularIterator.of(null));
+    }
+
+    @Test
+    void stepsDoNotAllocate(){
+        assumeTrue(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean);
+        final com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue(threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled());
+        final long threadId = Thread.currentThread().getId();
+
+        final IntCircularIterator ints = IntCircularIterator.of(new int[]{1, 2, 3, 4, 5});
+        final LongCircularIterator longs = LongCircularIterator.of(new long[]{1L, 2L, 3L, 4L, 5L});
+        final DoubleCircularIterator doubles = DoubleCircularIterator.of(new double[]{1, 2, 3, 4, 5});
+        long sum = 0;
+
+        final long before = threads.getThreadAllocatedBytes(threadId);
+        for(int i = 0; i < 1_000_000; i++){
+            sum += ints.nextInt() + longs.nextLong() + (long) doubles.nextDouble();
+        }
+        final long allocated = threads.getThreadAllocatedBytes(threadId) - before;
+
+        assertEquals(9_000_000, sum);
+        //boxing would cost tens of megabytes here, leave a little room for the measurement itself
+        assertTrue(allocated < 64 * 1024, "Allocated " + allocated + " bytes");
+    }
+}
@@ -0,0 +1,97 @@
+package com.wortcook.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static com.wortcook.util.Iterators.range;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+public class SharedRingTest {
+
+    @Test
+    void cursorsAreIndependent(){
+        final List<String> list = new ArrayList<>(Arrays.asList("A", "B", "C", "D", "E"));
+        final SharedRing<String> ring = CircularListIterator.builder(list).withEpochs(1).shared();
+        list.clear(); //the ring keeps its own copy
+
+        final CircularListIterator<String> first = ring.cursor();
+        final CircularListIterator<String> second = ring.cursor();
+        assertEquals("A", first.next());
+        assertEquals("B", first.next());
+        assertEquals("D", second.next());
+        assertEquals(2, first.getCount());
+        assertEquals(1, second.getCount());
+
+        first.forEachRemaining(s -> {});
+        assertFalse(first.hasNext());
+        assertTrue(second.hasNext());
+
+        assertThrows(UnsupportedOperationException.class, () -> second.set("X"));
+        assertThrows(UnsupportedOperationException.class, () -> ring.elements().add("X"));
+        assertEquals(Arrays.asList("A", "B", "C", "D", "E"), ring.elements());
+    }
+
+    @Test
+    void startsAreStaggered(){
+        final SharedRing<Integer> ring = new SharedRing<>(range(1000), Integer.MAX_VALUE);
+        final Set<Integer> starts = new HashSet<>();
+        for (int k = 0; k < 100; k++) {
+            final int start = ring.startOf(k);
+            assertTrue(start >= 0 && start < 1000);
+            starts.add(start);
+            assertEquals(start, ring.cursor(k).next());
+        }
+        assertEquals(100, starts.size());
+
+        //any run of cursors leaves no gap wider than a few times its fair share
+        final List<Integer> sorted = new ArrayList<>(starts);
+        sorted.sort(null);
+        for (int i = 1; i < sorted.size(); i++) {
+            assertTrue(sorted.get(i) - sorted.get(i - 1) <= 30);
+        }
+
+        assertEquals(0, new SharedRing<>(new ArrayList<Integer>(), 1).startOf(7));
+    }
+
+    @Test
+    void threadsIterateOnTheirOwn() throws Exception {
+        final int threads = 8;
+        final int epochs = 100;
+        final SharedRing<Integer> ring = CircularListIterator.builder(range(50)).withEpochs(epochs).shared();
+        final ConcurrentHashMap<Integer, AtomicInteger> seen = new ConcurrentHashMap<>();
+        final Set<CircularListIterator<Integer>> cursors = ConcurrentHashMap.newKeySet();
+
+        final ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            final List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                futures.add(pool.submit(() -> {
+                    final CircularListIterator<Integer> cursor = ring.forThread();
+                    assertSame(cursor, ring.forThread());
+                    cursors.add(cursor);
+                    cursor.drainTo(e -> seen.computeIfAbsent(e, k -> new AtomicInteger()).incrementAndGet(), cursor.getLimit());
+                }));
+            }
+            for (Future<?> f : futures) {
+                f.get();
+            }
+        } finally {
+            pool.shutdown();
+        }
+
+        assertEquals(threads, cursors.size());
+        for (int e = 0; e < 50; e++) {
+            assertEquals(threads * epochs, seen.get(e).get());
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.wortcook.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static com.wortcook.util.Iterators.range;
+import static com.wortcook.util.Iterators.take;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+public class ShuffledCircularIteratorTest {
+
+    @Test
+    void everyEpochIsAPermutation(){
+        //sizes around the powers of two the network works over, the others are reached by cycle walking
+        for (int size : new int[]{1, 2, 3, 5, 10, 16, 17, 1000}) {
+            final ShuffledCircularIterator<Integer> it =
+                CircularListIterator.<Integer>builder().over(range(size)).withEpochs(3).shuffledEachEpoch(42).build();
+            final List<List<Integer>> epochs = new ArrayList<>();
+            for (int epoch = 0; epoch < 3; epoch++) {
+                assertEquals(epoch, it.epoch());
+                final List<Integer> order = take(it, size);
+                assertEquals(new HashSet<>(range(size)), new HashSet<>(order), "size " + size);
+                epochs.add(order);
+            }
+            assertFalse(it.hasNext());
+            assertThrows(NoSuchElementException.class, () -> it.next());
+            if (size >= 10) {
+                assertNotEquals(epochs.get(0), epochs.get(1), "size " + size);
+                assertNotEquals(epochs.get(1), epochs.get(2), "size " + size);
+                assertNotEquals(range(size), epochs.get(0), "size " + size);
+            }
+        }
+    }
+
+    @Test
+    void reproducibleFromSeed(){
+        final List<Integer> first = take(CircularListIterator.<Integer>builder().over(range(100)).shuffledEachEpoch(7).build(), 300);
+        final List<Integer> again = take(CircularListIterator.<Integer>builder().over(range(100)).shuffledEachEpoch(7).build(), 300);
+        final List<Integer> other = take(CircularListIterator.<Integer>builder().over(range(100)).shuffledEachEpoch(8).build(), 300);
+        assertEquals(first, again);
+        assertNotEquals(first, other);
+    }
+
+    @Test
+    void atIndexAndSeek(){
+        final List<String> elements = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            elements.add("e" + i);
+        }
+        final ShuffledCircularIterator<String> it =
+            CircularListIterator.<String>builder().over(elements).withEpochs(4).shuffledEachEpoch(1).build();
+        assertThrows(IllegalStateException.class, () -> it.at());
+
+        final String first = it.next();
+        assertEquals(first, it.at());
+        assertEquals(first, elements.get(it.atIndex()));
+        assertEquals(it.indexOf(0, 0), it.atIndex());
+
+        it.seekEpoch(2);
+        assertEquals(40, it.getCount());
+        assertEquals(2, it.epoch());
+        assertEquals(elements.get(it.indexOf(2, 0)), it.next());
+        assertEquals(elements.get(it.indexOf(2, 1)), it.next());
+
+        //past the limit the iterator stops at it
+        it.seekEpoch(10);
+        assertEquals(80, it.getCount());
+        assertFalse(it.hasNext());
+
+        it.reset();
+        assertEquals(first, it.next());
+        assertThrows(IndexOutOfBoundsException.class, () -> it.indexOf(0, 20));
+    }
+
+    @Test
+    void limitAndEmpty(){
+        final ShuffledCircularIterator<Integer> it =
+            CircularListIterator.<Integer>builder().over(range(10)).shuffledEachEpoch(3).withLimit(15).build();
+        final Set<Integer> firstEpoch = new HashSet<>(take(it, 10));
+        assertEquals(10, firstEpoch.size());
+        take(it, 5);
+        assertFalse(it.hasNext());
+        assertEquals(1, it.epoch());
+
+        final ShuffledCircularIterator<Integer> empty =
+            CircularListIterator.<Integer>builder().over(new ArrayList<>()).withEpochs(2).shuffledEachEpoch(3).build();
+        assertFalse(empty.hasNext());
+        assertFalse(empty.nextElement().isPresent());
+    }
+}
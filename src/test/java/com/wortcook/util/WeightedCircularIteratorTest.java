@@ -0,0 +1,242 @@
+package com.wortcook.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static com.wortcook.util.Iterators.take;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+public class WeightedCircularIteratorTest {
+
+    private static final Map<String, Integer> WEIGHTS = new HashMap<>();
+    static {
+        WEIGHTS.put("A", 5);
+        WEIGHTS.put("B", 1);
+        WEIGHTS.put("C", 1);
+        WEIGHTS.put("D", 3);
+        WEIGHTS.put("E", 0);
+    }
+
+    private static WeightedCircularIterator.Builder<String> builderOf(final String... elements) {
+        return CircularListIterator.<String>builder()
+            .over(new ArrayList<>(Arrays.asList(elements)))
+            .withWeights(WEIGHTS::get);
+    }
+
+    @Test
+    void interleavesSmoothly(){
+        final WeightedCircularIterator<String> it = builderOf("D", "B").build();
+        assertEquals(Arrays.asList("D", "D", "B", "D", "D", "D", "B", "D"), take(it, 8));
+
+        //the sequence nginx gives, the light elements split up the heavy one's run rather than sitting together
+        final WeightedCircularIterator<String> five = builderOf("A", "B", "C").build();
+        assertEquals(Arrays.asList("A", "A", "B", "A", "C", "A", "A"), take(five, 7));
+        assertEquals(Arrays.asList("A", "A", "B", "A", "C", "A", "A"), take(five, 7));
+    }
+
+    /**
+     * nginx's smooth weighted round-robin as it is written there, scanning every element on each pick.
+     */
+    private static List<String> nginx(final List<String> names, final Map<String, Integer> weights,
+                                      final Map<String, Integer> currentWeights, final int n) {
+        final List<String> picks = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            String best = null;
+            int total = 0;
+            for (String name : names) {
+                final int weight = weights.get(name);
+                if (0 == weight) {
+                    continue;
+                }
+                currentWeights.merge(name, weight, Integer::sum);
+                total += weight;
+                if (null == best || currentWeights.get(name) > currentWeights.get(best)) {
+                    best = name;
+                }
+            }
+            currentWeights.merge(best, -total, Integer::sum);
+            picks.add(best);
+        }
+        return picks;
+    }
+
+    @Test
+    void matchesNginx(){
+        final java.util.Random random = new java.util.Random(7);
+        for (int round = 0; round < 50; round++) {
+            final List<String> names = new ArrayList<>();
+            final Map<String, Integer> weights = new HashMap<>();
+            for (int i = 0; i < 2 + random.nextInt(8); i++) {
+                names.add("N" + i);
+                weights.put("N" + i, 1 + random.nextInt(6));
+            }
+            final WeightedCircularIterator<String> it = CircularListIterator.<String>builder()
+                .over(new ArrayList<>(names))
+                .withWeights(weights::get)
+                .build();
+            final Map<String, Integer> currentWeights = new HashMap<>();
+            assertEquals(nginx(names, weights, currentWeights, 50), take(it, 50));
+
+            //a changed weight keeps the element's current weight, as nginx does
+            final String changed = names.get(random.nextInt(names.size()));
+            weights.put(changed, 1 + random.nextInt(6));
+            it.setWeight(changed, weights.get(changed));
+            assertEquals(nginx(names, weights, currentWeights, 50), take(it, 50));
+        }
+    }
+
+    @Test
+    void matchesNginxWithDistinctWeights(){
+        //capacity weights, every one different, so each element is its own weight and ties fall across weights
+        final List<Integer> capacities = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            capacities.add(10 * (i + 1));
+        }
+        java.util.Collections.shuffle(capacities, new java.util.Random(11));
+        final List<String> names = new ArrayList<>();
+        final Map<String, Integer> weights = new HashMap<>();
+        for (int i = 0; i < capacities.size(); i++) {
+            names.add("N" + i);
+            weights.put("N" + i, capacities.get(i));
+        }
+        final WeightedCircularIterator<String> it = CircularListIterator.<String>builder()
+            .over(new ArrayList<>(names))
+            .withWeights(weights::get)
+            .build();
+        assertEquals(nginx(names, weights, new HashMap<>(), 2100), take(it, 2100));
+    }
+
+    @Test
+    void epochsFollowWeights(){
+        final WeightedCircularIterator<String> it = builderOf("A", "B", "C", "D", "E").withEpochs(3).build();
+        final Map<String, Integer> counts = new HashMap<>();
+        it.forEachRemaining(s -> counts.merge(s, 1, Integer::sum));
+
+        assertEquals(30, it.getCount());
+        assertEquals(15, counts.get("A"));
+        assertEquals(3, counts.get("B"));
+        assertEquals(3, counts.get("C"));
+        assertEquals(9, counts.get("D"));
+        assertNull(counts.get("E"));
+        assertFalse(it.hasNext());
+        assertThrows(NoSuchElementException.class, it::next);
+    }
+
+    @Test
+    void limit(){
+        final WeightedCircularIterator<String> it = builderOf("A", "B").withLimit(4).build();
+        assertEquals(4, take(it, 4).size());
+        assertFalse(it.hasNext());
+        it.reset();
+        assertTrue(it.hasNext());
+        assertEquals(0, it.getCount());
+    }
+
+    @Test
+    void setWeight(){
+        final WeightedCircularIterator<String> it = builderOf("B", "C").build();
+        assertEquals(Arrays.asList("B", "C", "B", "C"), take(it, 4));
+
+        it.setWeight("C", 3);
+        assertEquals(3, it.weightOf("C"));
+        final Map<String, Integer> counts = new HashMap<>();
+        for (String s : take(it, 400)) {
+            counts.merge(s, 1, Integer::sum);
+        }
+        assertEquals(100, counts.get("B"));
+        assertEquals(300, counts.get("C"));
+
+        it.setWeight("B", 0);
+        assertEquals(Arrays.asList("C", "C", "C"), take(it, 3));
+        it.setWeight("B", 1);
+        assertTrue(take(it, 4).contains("B"));
+
+        assertThrows(NoSuchElementException.class, () -> it.setWeight("X", 1));
+    }
+
+    @Test
+    void reweigh(){
+        final Map<String, Integer> weights = new HashMap<>();
+        weights.put("A", 1);
+        weights.put("B", 1);
+        final WeightedCircularIterator<String> it = CircularListIterator.<String>builder()
+            .over(new ArrayList<>(Arrays.asList("A", "B")))
+            .withWeights(weights::get)
+            .build();
+        assertEquals(Arrays.asList("A", "B"), take(it, 2));
+
+        weights.put("A", 0);
+        it.reweigh();
+        assertEquals(Arrays.asList("B", "B", "B"), take(it, 3));
+    }
+
+    @Test
+    void addAndRemove(){
+        final List<String> elements = new ArrayList<>(Arrays.asList("A", "B"));
+        final WeightedCircularIterator<String> it = CircularListIterator.<String>builder()
+            .over(elements)
+            .withWeights(WEIGHTS::get)
+            .build();
+
+        assertThrows(IllegalStateException.class, it::remove);
+        assertThrows(IllegalStateException.class, it::at);
+        assertEquals("A", it.next());
+        assertEquals("A", it.at());
+        it.remove();
+        assertEquals(Arrays.asList("B"), elements);
+        assertThrows(IllegalStateException.class, it::at);
+        assertEquals(Arrays.asList("B", "B"), take(it, 2));
+
+        it.add("D");
+        assertEquals(Arrays.asList("B", "D"), elements);
+        final Map<String, Integer> counts = new HashMap<>();
+        for (String s : take(it, 40)) {
+            counts.merge(s, 1, Integer::sum);
+        }
+        assertEquals(10, counts.get("B"));
+        assertEquals(30, counts.get("D"));
+
+        it.add("E");
+        assertEquals(0, it.weightOf("E"));
+        assertFalse(take(it, 8).contains("E"));
+    }
+
+    @Test
+    void noWeight(){
+        final WeightedCircularIterator<String> it = builderOf("E").build();
+        assertFalse(it.hasNext());
+        assertFalse(it.nextElement().isPresent());
+    }
+
+    @Test
+    void concurrentPicksAreExact() throws InterruptedException {
+        final WeightedCircularIterator<String> it = builderOf("A", "B", "C", "D").withEpochs(1000).withConcurrency().build();
+        final Map<String, AtomicInteger> counts = new ConcurrentHashMap<>();
+        final Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            threads[t] = new Thread(() -> {
+                for (String s = it.nextElement().orElse(null); null != s; s = it.nextElement().orElse(null)) {
+                    counts.computeIfAbsent(s, k -> new AtomicInteger()).incrementAndGet();
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(10000, it.getCount());
+        assertEquals(5000, counts.get("A").get());
+        assertEquals(1000, counts.get("B").get());
+        assertEquals(1000, counts.get("C").get());
+        assertEquals(3000, counts.get("D").get());
+    }
+}
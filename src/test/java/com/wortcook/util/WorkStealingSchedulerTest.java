@@ -0,0 +1,125 @@
+package com.wortcook.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Arrays;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+public class WorkStealingSchedulerTest {
+
+    private static Runnable blockOn(final CountDownLatch started, final CountDownLatch release) {
+        return () -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        };
+    }
+
+    @Test
+    void idleWorkerStealsHalf() throws Exception {
+        final WorkStealingScheduler scheduler = WorkStealingScheduler.builder().withWorkers(2).build();
+        final CountDownLatch started = new CountDownLatch(2);
+        final CountDownLatch releaseA = new CountDownLatch(1);
+        final CountDownLatch releaseB = new CountDownLatch(1);
+        scheduler.execute(0, blockOn(started, releaseA));
+        scheduler.execute(1, blockOn(started, releaseB));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        //both workers busy, so ten jobs wait on worker 0's ring
+        final CountDownLatch done = new CountDownLatch(10);
+        final Set<String> ranOn = ConcurrentHashMap.newKeySet();
+        for (int i = 0; i < 10; i++) {
+            scheduler.execute(0, () -> {
+                ranOn.add(Thread.currentThread().getName());
+                done.countDown();
+            });
+        }
+        assertArrayEquals(new int[] {10, 0}, scheduler.queueDepths());
+        assertEquals(10, scheduler.getPending());
+
+        //worker 1 comes free while worker 0 is still stuck, it takes 5, then 3 of the last 5, then 1 and 1
+        releaseB.countDown();
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertEquals(1, ranOn.size());
+        assertEquals(4, scheduler.getSteals(1));
+        assertEquals(0, scheduler.getSteals(0));
+        assertEquals(10, scheduler.getStolen());
+        assertEquals(0, scheduler.queueDepth(0));
+
+        releaseA.countDown();
+        scheduler.shutdown();
+        assertTrue(scheduler.awaitTermination(5, TimeUnit.SECONDS));
+        assertEquals(12, scheduler.getCompleted());
+    }
+
+    @Test
+    void fanOutFromOneWorker() throws Exception {
+        final WorkStealingScheduler scheduler = WorkStealingScheduler.builder().withWorkers(4).build();
+        final int jobs = 2000;
+        final CountDownLatch done = new CountDownLatch(jobs);
+        final long[] sums = new long[jobs];
+
+        //the children go on the ring of the worker running the root, the others have to steal them
+        scheduler.execute(0, () -> {
+            for (int i = 0; i < jobs; i++) {
+                final int job = i;
+                scheduler.execute(() -> {
+                    long sum = 0;
+                    for (int j = 0; j < 10_000; j++) {
+                        sum += j ^ job;
+                    }
+                    sums[job] = sum;
+                    done.countDown();
+                });
+            }
+        });
+        assertTrue(done.await(30, TimeUnit.SECONDS));
+        scheduler.shutdown();
+        assertTrue(scheduler.awaitTermination(5, TimeUnit.SECONDS));
+
+        assertEquals(jobs + 1, scheduler.getCompleted());
+        assertEquals(0, scheduler.getPending());
+        assertArrayEquals(new int[4], scheduler.queueDepths());
+        //the three idle workers wake on the first children, long before the root has queued them all
+        assertTrue(scheduler.getSteals() > 0);
+        assertTrue(scheduler.getStolen() >= scheduler.getSteals());
+        assertNotEquals(0L, Arrays.stream(sums).sum());
+    }
+
+    @Test
+    void shutdownRunsWhatIsQueued() throws Exception {
+        final WorkStealingScheduler scheduler = WorkStealingScheduler.builder().withWorkers(1).build();
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final CountDownLatch done = new CountDownLatch(3);
+        scheduler.execute(blockOn(started, release));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        for (int i = 0; i < 3; i++) {
+            scheduler.execute(done::countDown);
+        }
+        scheduler.execute(() -> {
+            throw new IllegalStateException("job failed");
+        });
+
+        scheduler.shutdown();
+        assertTrue(scheduler.isShutdown());
+        assertThrows(RejectedExecutionException.class, () -> scheduler.execute(done::countDown));
+        assertFalse(scheduler.awaitTermination(50, TimeUnit.MILLISECONDS));
+
+        release.countDown();
+        assertTrue(scheduler.awaitTermination(5, TimeUnit.SECONDS));
+        assertEquals(0, done.getCount());
+        assertEquals(5, scheduler.getCompleted());
+        assertEquals(1, scheduler.getFailed());
+        assertEquals(0, scheduler.getSteals());
+    }
+}
@@ -0,0 +1,33 @@
+package com.wortcook.util.impl;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+import com.wortcook.util.ChunkedList;
+import com.wortcook.util.CircularListIterator;
+import com.wortcook.util.CircularListIterator.Backing;
+import com.wortcook.util.CircularListIteratorTest;
+
+public class ChunkedListCircularListIteratorImplTest extends CircularListIteratorTest{
+    @Override
+    protected CircularListIterator.Builder<String> getBuilderWithElements(){
+        return CircularListIterator.<String>builder().over(new ArrayList<>(Arrays.asList("A", "B", "C", "D", "E"))).withBacking(Backing.CHUNKED);
+    }
+
+    @Test
+    void backedByChunkedList(){
+        final CircularListIterator<String> iterator = getBuilderWithElements().build();
+        assertTrue(iterator.elements() instanceof ChunkedList);
+
+        iterator.next();
+        iterator.next();
+        iterator.addAllNext(Arrays.asList("1", "2", "3"));
+        assertEquals("1", iterator.next());
+        iterator.addAllPrevious(Arrays.asList("x", "y"));
+        assertEquals(Arrays.asList("A", "B", "x", "y", "1", "2", "3", "C", "D", "E"), iterator.elements());
+    }
+}
@@ -1,8 +1,16 @@
 package com.wortcook.util.impl;
 
+import static org.junit.jupiter.api.Assertions.*;
+
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
 
+import com.wortcook.util.BlockingCircularIterator;
 import com.wortcook.util.CircularListIterator;
 import com.wortcook.util.CircularListIteratorTest;
 
@@ -11,4 +19,99 @@ public class ConcurrentCircularListIteratorImplTest extends CircularListIterator
     protected CircularListIterator.Builder<String> getBuilderWithElements(){
         return CircularListIterator.<String>builder().over(new ArrayList<>(Arrays.asList("A", "B", "C", "D", "E"))).withConcurrency();
     }
+
+    private static BlockingCircularIterator<String> emptyRing(){
+        return CircularListIterator.<String>builder().over(new ArrayList<>()).buildBlocking();
+    }
+
+    @Test
+    void takeWaitsForOffer() throws InterruptedException {
+        final BlockingCircularIterator<String> ring = emptyRing();
+        final AtomicReference<String> taken = new AtomicReference<>();
+        final Thread consumer = new Thread(() -> {
+            try {
+                taken.set(ring.take());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        consumer.start();
+
+        //the consumer parks rather than spinning
+        while (Thread.State.WAITING != consumer.getState()) {
+            Thread.sleep(1);
+        }
+        assertNull(taken.get());
+
+        ring.offer("A");
+        consumer.join(5000);
+        assertEquals("A", taken.get());
+        assertEquals(1, ring.getCount());
+    }
+
+    @Test
+    void takeIsInterruptible() throws InterruptedException {
+        final BlockingCircularIterator<String> ring = emptyRing();
+        final AtomicReference<Throwable> thrown = new AtomicReference<>();
+        final Thread consumer = new Thread(() -> {
+            try {
+                ring.take();
+            } catch (InterruptedException e) {
+                thrown.set(e);
+            }
+        });
+        consumer.start();
+        while (Thread.State.WAITING != consumer.getState()) {
+            Thread.sleep(1);
+        }
+        consumer.interrupt();
+        consumer.join(5000);
+        assertTrue(thrown.get() instanceof InterruptedException);
+    }
+
+    @Test
+    void pollTimesOut() throws InterruptedException {
+        final BlockingCircularIterator<String> ring = emptyRing();
+        assertNull(ring.poll(10, TimeUnit.MILLISECONDS));
+        assertNull(ring.poll(0, TimeUnit.MILLISECONDS));
+
+        ring.offer("A");
+        ring.offer("B");
+        assertEquals("A", ring.poll(0, TimeUnit.MILLISECONDS));
+        assertEquals("B", ring.poll(10, TimeUnit.MILLISECONDS));
+        assertEquals("A", ring.poll(10, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    void nextAsync() throws Exception {
+        final BlockingCircularIterator<String> ring = emptyRing();
+        final CompletableFuture<String> first = ring.nextAsync();
+        final CompletableFuture<String> cancelled = ring.nextAsync();
+        final CompletableFuture<String> second = ring.nextAsync();
+        assertFalse(first.isDone());
+        cancelled.cancel(false);
+
+        ring.offer("A");
+        assertEquals("A", first.get(5, TimeUnit.SECONDS));
+        //the cancelled future is passed over without taking a step
+        assertEquals("A", second.get(5, TimeUnit.SECONDS));
+        assertEquals(2, ring.getCount());
+
+        //with an element to hand out the future is completed at once
+        ring.addNext("B");
+        assertEquals("B", ring.nextAsync().getNow(null));
+    }
+
+    @Test
+    void resetCountWakesAfterLimit() throws Exception {
+        final BlockingCircularIterator<String> ring =
+            CircularListIterator.<String>builder().over(new ArrayList<>(Arrays.asList("A"))).withLimit(1).buildBlocking();
+        assertEquals("A", ring.take());
+        assertNull(ring.poll(0, TimeUnit.MILLISECONDS));
+
+        final CompletableFuture<String> waiting = ring.nextAsync();
+        assertFalse(waiting.isDone());
+        ring.resetCount();
+        assertEquals("A", waiting.get(5, TimeUnit.SECONDS));
+    }
 }
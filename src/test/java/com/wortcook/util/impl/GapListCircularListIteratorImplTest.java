@@ -0,0 +1,35 @@
+package com.wortcook.util.impl;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+import com.wortcook.util.CircularListIterator;
+import com.wortcook.util.CircularListIterator.Backing;
+import com.wortcook.util.CircularListIteratorTest;
+import com.wortcook.util.GapList;
+
+public class GapListCircularListIteratorImplTest extends CircularListIteratorTest{
+    @Override
+    protected CircularListIterator.Builder<String> getBuilderWithElements(){
+        return CircularListIterator.<String>builder().over(new ArrayList<>(Arrays.asList("A", "B", "C", "D", "E"))).withBacking(Backing.GAP_BUFFER);
+    }
+
+    @Test
+    void backedByGapList(){
+        final CircularListIterator<String> iterator = getBuilderWithElements().build();
+        assertTrue(iterator.elements() instanceof GapList);
+
+        //splice in and out around the cursor while walking the ring a few times
+        for(int i = 0; i < 15; i++){
+            final String s = iterator.next();
+            iterator.addNext(s.toLowerCase());
+            iterator.next();
+            iterator.remove();
+        }
+        assertEquals(Arrays.asList("A", "B", "C", "D", "E"), iterator.elements());
+    }
+}
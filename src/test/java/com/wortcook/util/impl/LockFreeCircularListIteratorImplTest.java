@@ -0,0 +1,127 @@
+package com.wortcook.util.impl;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import com.wortcook.util.CircularListIterator;
+import com.wortcook.util.CircularListIterator.Concurrency;
+import com.wortcook.util.CircularListIteratorTest;
+
+public class LockFreeCircularListIteratorImplTest extends CircularListIteratorTest{
+    @Override
+    protected CircularListIterator.Builder<String> getBuilderWithElements(){
+        return CircularListIterator.<String>builder().over(new ArrayList<>(Arrays.asList("A", "B", "C", "D", "E"))).withConcurrency(Concurrency.LOCK_FREE);
+    }
+
+    @Test
+    void contendedLimitIsExact() throws Exception {
+        final int threads = 8;
+        final int epochs = 2000;
+        final CircularListIterator<String> iterator = getBuilderWithElements().withEpochs(epochs).build();
+        final ConcurrentHashMap<String, AtomicInteger> seen = new ConcurrentHashMap<>();
+
+        final ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            final List<Future<?>> futures = new ArrayList<>();
+            for(int i = 0; i < threads; i++){
+                futures.add(pool.submit(() -> {
+                    while(true){
+                        final String s = iterator.nextElement().orElse(null);
+                        if(null == s){
+                            return;
+                        }
+                        seen.computeIfAbsent(s, k -> new AtomicInteger()).incrementAndGet();
+                    }
+                }));
+            }
+            for(Future<?> f : futures){
+                f.get();
+            }
+        } finally {
+            pool.shutdown();
+        }
+
+        assertEquals(5 * epochs, iterator.getCount());
+        assertFalse(iterator.hasNext());
+        for(String s : Arrays.asList("A", "B", "C", "D", "E")){
+            assertEquals(epochs, seen.get(s).get());
+        }
+    }
+
+    @Test
+    void contendedBatchesAreExact() throws Exception {
+        final int threads = 8;
+        final int epochs = 2000;
+        final CircularListIterator<String> iterator = getBuilderWithElements().withEpochs(epochs).build();
+        final ConcurrentHashMap<String, AtomicInteger> seen = new ConcurrentHashMap<>();
+
+        final ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            final List<Future<?>> futures = new ArrayList<>();
+            for(int i = 0; i < threads; i++){
+                final int size = 1 + i;
+                futures.add(pool.submit(() -> {
+                    final String[] batch = new String[size];
+                    int claimed;
+                    do {
+                        claimed = (0 == size % 2) ?
+                            iterator.nextBatch(batch, size) :
+                            iterator.drainTo(s -> seen.computeIfAbsent(s, k -> new AtomicInteger()).incrementAndGet(), size);
+                        for(int j = 0; 0 == size % 2 && j < claimed; j++){
+                            seen.computeIfAbsent(batch[j], k -> new AtomicInteger()).incrementAndGet();
+                        }
+                    } while(0 != claimed);
+                }));
+            }
+            for(Future<?> f : futures){
+                f.get();
+            }
+        } finally {
+            pool.shutdown();
+        }
+
+        assertEquals(5 * epochs, iterator.getCount());
+        for(String s : Arrays.asList("A", "B", "C", "D", "E")){
+            assertEquals(epochs, seen.get(s).get());
+        }
+    }
+
+    @Test
+    void changesDoNotDisturbReaders() throws Exception {
+        final CircularListIterator<String> iterator = getBuilderWithElements().build();
+        final ExecutorService pool = Executors.newFixedThreadPool(4);
+        try {
+            final List<Future<?>> readers = new ArrayList<>();
+            for(int i = 0; i < 3; i++){
+                readers.add(pool.submit(() -> {
+                    for(int j = 0; j < 100_000; j++){
+                        assertNotNull(iterator.next());
+                    }
+                }));
+            }
+            final Future<?> writer = pool.submit(() -> {
+                for(int j = 0; j < 1_000; j++){
+                    iterator.next();
+                    iterator.addNext("Z" + j);
+                }
+            });
+            for(Future<?> f : readers){
+                f.get();
+            }
+            writer.get();
+        } finally {
+            pool.shutdown();
+        }
+        assertEquals(1_005, iterator.elements().size());
+    }
+}
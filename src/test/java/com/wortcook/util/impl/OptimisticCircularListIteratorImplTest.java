@@ -0,0 +1,57 @@
+package com.wortcook.util.impl;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+
+import com.wortcook.util.CircularListIterator;
+import com.wortcook.util.CircularListIterator.Concurrency;
+import com.wortcook.util.CircularListIteratorTest;
+
+public class OptimisticCircularListIteratorImplTest extends CircularListIteratorTest{
+    @Override
+    protected CircularListIterator.Builder<String> getBuilderWithElements(){
+        return CircularListIterator.<String>builder().over(new ArrayList<>(Arrays.asList("A", "B", "C", "D", "E"))).withConcurrency(Concurrency.OPTIMISTIC);
+    }
+
+    @Test
+    void readersSeeWholeWrites() throws Exception {
+        final CircularListIterator<String> iterator = getBuilderWithElements().build();
+        iterator.next();
+        final ExecutorService pool = Executors.newFixedThreadPool(4);
+        try {
+            final List<Future<?>> readers = new ArrayList<>();
+            for(int i = 0; i < 3; i++){
+                readers.add(pool.submit(() -> {
+                    for(int j = 0; j < 200_000; j++){
+                        final int next = iterator.nextIndex();
+                        assertTrue(next >= 0 && next < iterator.elements().size() + 1);
+                        assertNotNull(iterator.at());
+                        assertTrue(iterator.hasNext());
+                    }
+                }));
+            }
+            final Future<?> writer = pool.submit(() -> {
+                for(int j = 0; j < 20_000; j++){
+                    iterator.addNext("Z" + j);
+                    iterator.next();
+                    iterator.set("Y" + j);
+                }
+            });
+            for(Future<?> f : readers){
+                f.get();
+            }
+            writer.get();
+        } finally {
+            pool.shutdown();
+        }
+        assertEquals(20_005, iterator.elements().size());
+    }
+}
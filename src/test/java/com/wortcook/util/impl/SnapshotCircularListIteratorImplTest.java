@@ -0,0 +1,117 @@
+package com.wortcook.util.impl;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import com.wortcook.util.CircularListIterator;
+import com.wortcook.util.CircularListIterator.Concurrency;
+import com.wortcook.util.CircularListIteratorTest;
+
+public class SnapshotCircularListIteratorImplTest extends CircularListIteratorTest{
+    @Override
+    protected CircularListIterator.Builder<String> getBuilderWithElements(){
+        return CircularListIterator.<String>builder().over(new ArrayList<>(Arrays.asList("A", "B", "C", "D", "E"))).withConcurrency(Concurrency.SNAPSHOT);
+    }
+
+    @Test
+    void contendedLimitIsExact() throws Exception {
+        final int threads = 8;
+        final int epochs = 2000;
+        final CircularListIterator<String> iterator = getBuilderWithElements().withEpochs(epochs).build();
+        final ConcurrentHashMap<String, AtomicInteger> seen = new ConcurrentHashMap<>();
+
+        final ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            final List<Future<?>> futures = new ArrayList<>();
+            for(int i = 0; i < threads; i++){
+                final int size = i;
+                futures.add(pool.submit(() -> {
+                    int claimed;
+                    do {
+                        claimed = (0 == size) ?
+                            iterator.nextElement().map(s -> seen.computeIfAbsent(s, k -> new AtomicInteger()).incrementAndGet()).map(c -> 1).orElse(0) :
+                            iterator.drainTo(s -> seen.computeIfAbsent(s, k -> new AtomicInteger()).incrementAndGet(), size);
+                    } while(0 != claimed);
+                }));
+            }
+            for(Future<?> f : futures){
+                f.get();
+            }
+        } finally {
+            pool.shutdown();
+        }
+
+        assertEquals(5 * epochs, iterator.getCount());
+        assertFalse(iterator.hasNext());
+        for(String s : Arrays.asList("A", "B", "C", "D", "E")){
+            assertEquals(epochs, seen.get(s).get());
+        }
+    }
+
+    @Test
+    void positionFollowsTheElementAcrossSwaps(){
+        final List<String> list = new ArrayList<>(Arrays.asList("A", "B", "C", "D", "E"));
+        final CircularListIterator<String> iterator = CircularListIterator.<String>builder().over(list).withConcurrency(Concurrency.SNAPSHOT).build();
+        final List<String> before = iterator.elements();
+
+        assertEquals("A", iterator.next());
+        assertEquals("B", iterator.next());
+        iterator.addPrevious("X");
+        assertEquals("B", iterator.at());
+        iterator.addAllNext(Arrays.asList("Y", "Z"));
+        assertEquals(Arrays.asList("A", "X", "B", "Y", "Z", "C", "D", "E"), iterator.elements());
+        assertEquals(list, iterator.elements());
+        //the snapshot handed out before is not changed
+        assertEquals(Arrays.asList("A", "B", "C", "D", "E"), before);
+        assertThrows(UnsupportedOperationException.class, () -> iterator.elements().add("Q"));
+
+        assertEquals("Y", iterator.next());
+        iterator.remove();
+        assertThrows(IllegalStateException.class, iterator::at);
+        assertEquals(2, iterator.previousIndex());
+        assertEquals("Z", iterator.next());
+        iterator.set("W");
+        assertEquals(Arrays.asList("A", "X", "B", "W", "C", "D", "E"), list);
+    }
+
+    @Test
+    void writersDoNotLoseMoves() throws Exception {
+        final int moves = 200_000;
+        final CircularListIterator<String> iterator = getBuilderWithElements().build();
+        iterator.next();
+        final ExecutorService pool = Executors.newFixedThreadPool(4);
+        try {
+            final List<Future<?>> readers = new ArrayList<>();
+            for(int i = 0; i < 3; i++){
+                readers.add(pool.submit(() -> {
+                    for(int j = 0; j < moves; j++){
+                        assertNotNull(iterator.next());
+                    }
+                }));
+            }
+            final Future<?> writer = pool.submit(() -> {
+                for(int j = 0; j < 1_000; j++){
+                    iterator.addNext("Z" + j);
+                }
+            });
+            for(Future<?> f : readers){
+                f.get();
+            }
+            writer.get();
+        } finally {
+            pool.shutdown();
+        }
+        assertEquals(1_005, iterator.elements().size());
+        assertEquals(1 + 3 * moves, iterator.getCount());
+    }
+}